@@ -0,0 +1,117 @@
+package com.arequipa.aire.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parámetros de una corrida, leídos de la línea de comandos.
+ */
+final class Configuracion {
+
+    /**
+     * Tasa pedida para un escenario: ticks por segundo y peticiones por tick.
+     */
+    record Tasa(String escenario, double ticksPorSegundo, int rafaga) {
+        double peticionesPorSegundo() {
+            return ticksPorSegundo * rafaga;
+        }
+    }
+
+    String baseUrl = "http://localhost:8080/api";
+    Duration duracion = Duration.ofSeconds(60);
+    Duration calentamiento = Duration.ofSeconds(10);
+    Duration timeout = Duration.ofSeconds(10);
+    long semilla = 42;
+    int maxEnVuelo = 512;
+    Path salida = Path.of("resultados-carga.json");
+    String token;
+    List<Long> estaciones = new ArrayList<>();
+    int crearEstaciones = 3;
+    List<Tasa> tasas = parsearTasas("dashboard=50,historico=5,ingesta=1x20,alertas=10");
+
+    static Configuracion desdeArgumentos(String[] args) {
+        Configuracion config = new Configuracion();
+        for (int i = 0; i < args.length; i++) {
+            String clave = args[i];
+            if (clave.equals("--ayuda") || clave.equals("--help")) {
+                throw new IllegalArgumentException(uso());
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + clave + "\n" + uso());
+            }
+            String valor = args[++i];
+            switch (clave) {
+                case "--base-url" -> config.baseUrl = valor.replaceAll("/+$", "");
+                case "--duracion" -> config.duracion = duracion(valor);
+                case "--calentamiento" -> config.calentamiento = duracion(valor);
+                case "--timeout" -> config.timeout = duracion(valor);
+                case "--semilla" -> config.semilla = Long.parseLong(valor);
+                case "--max-en-vuelo" -> config.maxEnVuelo = Integer.parseInt(valor);
+                case "--salida" -> config.salida = Path.of(valor);
+                case "--token" -> config.token = valor;
+                case "--estaciones" -> {
+                    for (String id : valor.split(",")) {
+                        config.estaciones.add(Long.parseLong(id.trim()));
+                    }
+                }
+                case "--crear-estaciones" -> config.crearEstaciones = Integer.parseInt(valor);
+                case "--escenarios" -> config.tasas = parsearTasas(valor);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + clave + "\n" + uso());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Formato: nombre=ticks[xrafaga],... por ejemplo "dashboard=50,ingesta=2x20".
+     */
+    static List<Tasa> parsearTasas(String especificacion) {
+        List<Tasa> tasas = new ArrayList<>();
+        for (String parte : especificacion.split(",")) {
+            String[] nombreValor = parte.trim().split("=");
+            if (nombreValor.length != 2) {
+                throw new IllegalArgumentException("Escenario inválido: " + parte);
+            }
+            String[] tasaRafaga = nombreValor[1].split("x");
+            double ticks = Double.parseDouble(tasaRafaga[0]);
+            int rafaga = tasaRafaga.length > 1 ? Integer.parseInt(tasaRafaga[1]) : 1;
+            if (ticks <= 0 || rafaga <= 0) {
+                throw new IllegalArgumentException("La tasa y la ráfaga deben ser positivas: " + parte);
+            }
+            tasas.add(new Tasa(nombreValor[0].trim(), ticks, rafaga));
+        }
+        return tasas;
+    }
+
+    private static Duration duracion(String valor) {
+        if (valor.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(valor.substring(0, valor.length() - 2)));
+        }
+        if (valor.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(valor.substring(0, valor.length() - 1)));
+        }
+        if (valor.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(valor.substring(0, valor.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(valor));
+    }
+
+    static String uso() {
+        return """
+            Uso: java -jar load-test.jar [opciones]
+              --base-url URL           raíz de la API (por defecto http://localhost:8080/api)
+              --escenarios SPEC        nombre=ticks/s[xráfaga],... (dashboard, historico, ingesta, alertas)
+              --duracion 60s           tiempo medido
+              --calentamiento 10s      tiempo inicial no medido
+              --timeout 10s            timeout por petición
+              --semilla 42             semilla para elegir estaciones y valores
+              --max-en-vuelo 512       peticiones simultáneas antes de descartar
+              --estaciones 1,2,3       IDs a usar (si no, se descubren o se crean)
+              --crear-estaciones 3     estaciones a crear si no hay ninguna
+              --token T                autenticación Bearer
+              --salida archivo.json    resultados en JSON
+            """;
+    }
+}
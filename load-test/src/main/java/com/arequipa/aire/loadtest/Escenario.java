@@ -0,0 +1,87 @@
+package com.arequipa.aire.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Escenarios de carga soportados y las peticiones que generan.
+ */
+enum Escenario {
+
+    DASHBOARD("dashboard", "GET /api/calidad-aire/actual") {
+        @Override
+        HttpRequest.Builder peticion(String baseUrl, List<Long> estaciones, Random random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/calidad-aire/actual")).GET();
+        }
+    },
+
+    HISTORICO("historico", "GET /api/historico/estacion/{id}") {
+        @Override
+        HttpRequest.Builder peticion(String baseUrl, List<Long> estaciones, Random random) {
+            LocalDate fin = LocalDate.now();
+            LocalDate inicio = fin.minusDays(1 + random.nextInt(30));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/historico/estacion/" + elegir(estaciones, random)
+                    + "?fechaInicio=" + inicio + "&fechaFin=" + fin)).GET();
+        }
+    },
+
+    INGESTA("ingesta", "POST /api/mediciones") {
+        @Override
+        HttpRequest.Builder peticion(String baseUrl, List<Long> estaciones, Random random) {
+            String cuerpo = String.format(Locale.ROOT,
+                    "{\"estacionId\":%d,\"fechaMedicion\":\"%s\",\"pm25\":%.1f,\"pm10\":%.1f,\"no2\":%.1f,"
+                            + "\"o3\":%.1f,\"co\":%.2f,\"so2\":%.1f,\"temperatura\":%.1f,\"humedad\":%d,\"fuenteDatos\":\"CARGA\"}",
+                    elegir(estaciones, random), LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS),
+                    5 + random.nextDouble() * 75, 10 + random.nextDouble() * 140, random.nextDouble() * 80,
+                    random.nextDouble() * 120, random.nextDouble() * 4, random.nextDouble() * 30,
+                    8 + random.nextDouble() * 18, 15 + random.nextInt(60));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/mediciones"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+        }
+    },
+
+    ALERTAS("alertas", "GET /api/alertas") {
+        @Override
+        HttpRequest.Builder peticion(String baseUrl, List<Long> estaciones, Random random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/alertas?page=" + random.nextInt(3) + "&size=20")).GET();
+        }
+    };
+
+    private final String nombre;
+    private final String endpoint;
+
+    Escenario(String nombre, String endpoint) {
+        this.nombre = nombre;
+        this.endpoint = endpoint;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    abstract HttpRequest.Builder peticion(String baseUrl, List<Long> estaciones, Random random);
+
+    static Escenario porNombre(String nombre) {
+        for (Escenario escenario : values()) {
+            if (escenario.nombre.equalsIgnoreCase(nombre)) {
+                return escenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + nombre);
+    }
+
+    private static long elegir(List<Long> estaciones, Random random) {
+        return estaciones.get(random.nextInt(estaciones.size()));
+    }
+}
@@ -0,0 +1,126 @@
+package com.arequipa.aire.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mide el tiempo hasta la primera petición exitosa de un backend recién lanzado.
+ *
+ * Arranca el comando indicado, consulta la URL cada pocos milisegundos hasta
+ * recibir un 2xx y detiene el proceso; repite varias veces y reporta mínimo,
+ * mediana y máximo, junto al tiempo de arranque que informa Spring.
+ */
+public final class MedicionArranque {
+
+    private static final Pattern ARRANQUE_SPRING = Pattern.compile("Started \\S+ in ([\\d.]+) seconds");
+    private static final Duration INTERVALO_SONDEO = Duration.ofMillis(20);
+
+    private MedicionArranque() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080/api/api/estaciones";
+        int repeticiones = 5;
+        Duration timeout = Duration.ofSeconds(120);
+        List<String> comando = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--repeticiones" -> repeticiones = Integer.parseInt(args[++i]);
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i].replaceAll("s$", "")));
+                case "--" -> {
+                    comando.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                    i = args.length;
+                }
+                default -> {
+                    System.err.println(uso());
+                    System.exit(2);
+                }
+            }
+        }
+        if (comando.isEmpty()) {
+            System.err.println(uso());
+            System.exit(2);
+        }
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        long[] primeraPeticion = new long[repeticiones];
+        double[] spring = new double[repeticiones];
+        for (int r = 0; r < repeticiones; r++) {
+            Path log = Files.createTempFile("arranque-", ".log");
+            long inicio = System.nanoTime();
+            Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            Thread detener = new Thread(proceso::destroyForcibly);
+            Runtime.getRuntime().addShutdownHook(detener);
+            try {
+                primeraPeticion[r] = esperarPrimeraRespuesta(cliente, peticion, proceso, inicio, timeout);
+            } finally {
+                proceso.destroy();
+                if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                    proceso.destroyForcibly().waitFor();
+                }
+                Runtime.getRuntime().removeShutdownHook(detener);
+            }
+            Matcher matcher = ARRANQUE_SPRING.matcher(Files.readString(log));
+            spring[r] = matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : Double.NaN;
+            Files.deleteIfExists(log);
+            System.out.printf(Locale.ROOT, "corrida %d: primera petición %d ms, Spring %.0f ms%n",
+                    r + 1, primeraPeticion[r], spring[r]);
+        }
+
+        long[] ordenados = primeraPeticion.clone();
+        Arrays.sort(ordenados);
+        double[] springOrdenados = spring.clone();
+        Arrays.sort(springOrdenados);
+        System.out.printf(Locale.ROOT, "primera petición ms: min %d, mediana %d, max %d%n",
+                ordenados[0], ordenados[ordenados.length / 2], ordenados[ordenados.length - 1]);
+        System.out.printf(Locale.ROOT, "Spring ms:           min %.0f, mediana %.0f, max %.0f%n",
+                springOrdenados[0], springOrdenados[springOrdenados.length / 2], springOrdenados[springOrdenados.length - 1]);
+    }
+
+    /**
+     * Milisegundos desde el lanzamiento hasta el primer 2xx.
+     */
+    private static long esperarPrimeraRespuesta(HttpClient cliente, HttpRequest peticion, Process proceso,
+                                                long inicio, Duration timeout) throws InterruptedException {
+        long limite = inicio + timeout.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("El proceso terminó con código " + proceso.exitValue() + " antes de responder");
+            }
+            try {
+                HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() / 100 == 2) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                }
+            } catch (IOException e) {
+                // Todavía no escucha
+            }
+            Thread.sleep(INTERVALO_SONDEO.toMillis());
+        }
+        throw new IllegalStateException("Sin respuesta exitosa de " + peticion.uri() + " en " + timeout.toSeconds() + " s");
+    }
+
+    static String uso() {
+        return """
+            Uso: java -cp load-test.jar com.arequipa.aire.loadtest.MedicionArranque [opciones] -- comando...
+              --url URL            petición a sondear (por defecto http://localhost:8080/api/api/estaciones)
+              --repeticiones 5     arranques a medir
+              --timeout 120s       espera máxima por arranque
+            """;
+    }
+}
@@ -0,0 +1,223 @@
+package com.arequipa.aire.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generador de carga de lazo abierto contra una instancia local del backend.
+ *
+ * Cada escenario dispara ráfagas a una tasa fija, independiente de lo que
+ * tarde el servidor; las elecciones aleatorias usan una semilla fija para que
+ * dos corridas envíen la misma secuencia de peticiones.
+ */
+public final class PruebaCarga {
+
+    private static final Pattern ID_ESTACION = Pattern.compile("\"id\"\\s*:\\s*(\\d+)\\s*,\\s*\"nombre\"");
+
+    private final Configuracion config;
+    private final HttpClient cliente;
+    private final String autorizacion;
+
+    private PruebaCarga(Configuracion config) {
+        this.config = config;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2)))
+                .build();
+        this.autorizacion = config.token != null ? "Bearer " + config.token : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuracion config;
+        try {
+            config = Configuracion.desdeArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new PruebaCarga(config).ejecutar();
+        System.exit(0);
+    }
+
+    private void ejecutar() throws Exception {
+        List<Long> estaciones = prepararEstaciones();
+        System.out.printf("Estaciones: %s%n", estaciones);
+
+        Map<Escenario, Registro> registros = new LinkedHashMap<>();
+        for (Configuracion.Tasa tasa : config.tasas) {
+            registros.put(Escenario.porNombre(tasa.escenario()), new Registro());
+        }
+
+        Semaphore enVuelo = new Semaphore(config.maxEnVuelo);
+        ScheduledExecutorService planificador = Executors.newScheduledThreadPool(config.tasas.size());
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + config.calentamiento.toNanos();
+        long fin = inicioMedicion + config.duracion.toNanos();
+
+        int orden = 0;
+        for (Configuracion.Tasa tasa : config.tasas) {
+            Escenario escenario = Escenario.porNombre(tasa.escenario());
+            Registro registro = registros.get(escenario);
+            Random random = new Random(config.semilla + orden++);
+            long periodo = (long) (TimeUnit.SECONDS.toNanos(1) / tasa.ticksPorSegundo());
+            planificador.scheduleAtFixedRate(() -> {
+                long previsto = System.nanoTime();
+                if (previsto >= fin) {
+                    return;
+                }
+                boolean medir = previsto >= inicioMedicion;
+                for (int i = 0; i < tasa.rafaga(); i++) {
+                    disparar(escenario, estaciones, random, registro, enVuelo, previsto, medir);
+                }
+            }, 0, periodo, TimeUnit.NANOSECONDS);
+        }
+
+        System.out.printf("Calentamiento %ds, medición %ds...%n",
+                config.calentamiento.toSeconds(), config.duracion.toSeconds());
+        TimeUnit.NANOSECONDS.sleep(fin - System.nanoTime());
+        planificador.shutdownNow();
+        enVuelo.tryAcquire(config.maxEnVuelo, config.timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        double segundos = config.duracion.toNanos() / 1e9;
+        Map<Escenario, Registro.Resumen> resumenes = new LinkedHashMap<>();
+        registros.forEach((escenario, registro) -> resumenes.put(escenario, registro.resumir(segundos)));
+        imprimir(resumenes);
+        escribirJson(resumenes);
+    }
+
+    private void disparar(Escenario escenario, List<Long> estaciones, Random random, Registro registro,
+                          Semaphore enVuelo, long previsto, boolean medir) {
+        HttpRequest.Builder builder = escenario.peticion(config.baseUrl, estaciones, random).timeout(config.timeout);
+        if (!enVuelo.tryAcquire()) {
+            if (medir) {
+                registro.descartada();
+            }
+            return;
+        }
+        if (medir) {
+            registro.enviada();
+        }
+        cliente.sendAsync(autorizar(builder).build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((respuesta, error) -> {
+                    enVuelo.release();
+                    if (!medir) {
+                        return;
+                    }
+                    long latencia = System.nanoTime() - previsto;
+                    if (error != null) {
+                        Throwable causa = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        registro.registrar(latencia, causa.getClass().getSimpleName(), false);
+                    } else {
+                        int estado = respuesta.statusCode();
+                        registro.registrar(latencia, String.valueOf(estado), estado < 400);
+                    }
+                });
+    }
+
+    private HttpRequest.Builder autorizar(HttpRequest.Builder builder) {
+        return autorizacion != null ? builder.header("Authorization", autorizacion) : builder;
+    }
+
+    private List<Long> prepararEstaciones() throws IOException, InterruptedException {
+        if (!config.estaciones.isEmpty()) {
+            return config.estaciones;
+        }
+        List<Long> ids = new ArrayList<>();
+        HttpResponse<String> respuesta = cliente.send(
+                autorizar(HttpRequest.newBuilder(URI.create(config.baseUrl + "/api/estaciones"))).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() == 200) {
+            Matcher matcher = ID_ESTACION.matcher(respuesta.body());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        Random random = new Random(config.semilla);
+        for (int i = ids.size(); i < config.crearEstaciones; i++) {
+            String cuerpo = String.format(Locale.ROOT,
+                    "{\"nombre\":\"Carga %d\",\"latitud\":%.5f,\"longitud\":%.5f,\"distrito\":\"Carga\",\"activa\":true}",
+                    i + 1, -16.45 + random.nextDouble() * 0.1, -71.60 + random.nextDouble() * 0.1);
+            HttpResponse<String> creada = cliente.send(
+                    autorizar(HttpRequest.newBuilder(URI.create(config.baseUrl + "/api/estaciones")))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ID_ESTACION.matcher(creada.body());
+            if (creada.statusCode() >= 300 || !matcher.find()) {
+                throw new IllegalStateException("No se pudo crear una estación de prueba: HTTP " + creada.statusCode());
+            }
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No hay estaciones disponibles para la prueba");
+        }
+        return ids;
+    }
+
+    private void imprimir(Map<Escenario, Registro.Resumen> resumenes) {
+        System.out.printf("%n%-10s %8s %8s %7s %8s %9s %9s %9s %9s%n",
+                "escenario", "enviadas", "errores", "descart", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        resumenes.forEach((escenario, r) -> System.out.printf(Locale.ROOT, "%-10s %8d %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f%n",
+                escenario.nombre(), r.enviadas(), r.errores(), r.descartadas(), r.throughput(),
+                r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs()));
+    }
+
+    private void escribirJson(Map<Escenario, Registro.Resumen> resumenes) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"fecha\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"baseUrl\": \"").append(config.baseUrl).append("\",\n");
+        json.append("  \"duracionSegundos\": ").append(config.duracion.toSeconds()).append(",\n");
+        json.append("  \"calentamientoSegundos\": ").append(config.calentamiento.toSeconds()).append(",\n");
+        json.append("  \"semilla\": ").append(config.semilla).append(",\n");
+        json.append("  \"escenarios\": [");
+        int i = 0;
+        for (Configuracion.Tasa tasa : config.tasas) {
+            Escenario escenario = Escenario.porNombre(tasa.escenario());
+            Registro.Resumen r = resumenes.get(escenario);
+            json.append(i++ == 0 ? "\n" : ",\n");
+            json.append("    {\n");
+            json.append("      \"nombre\": \"").append(escenario.nombre()).append("\",\n");
+            json.append("      \"endpoint\": \"").append(escenario.endpoint()).append("\",\n");
+            json.append(String.format(Locale.ROOT, "      \"tasaObjetivo\": %.2f,%n", tasa.peticionesPorSegundo()));
+            json.append("      \"enviadas\": ").append(r.enviadas()).append(",\n");
+            json.append("      \"completadas\": ").append(r.completadas()).append(",\n");
+            json.append("      \"errores\": ").append(r.errores()).append(",\n");
+            json.append("      \"descartadas\": ").append(r.descartadas()).append(",\n");
+            json.append(String.format(Locale.ROOT, "      \"throughput\": %.2f,%n", r.throughput()));
+            json.append(String.format(Locale.ROOT,
+                    "      \"latenciaMs\": {\"p50\": %.3f, \"p95\": %.3f, \"p99\": %.3f, \"max\": %.3f, \"media\": %.3f},%n",
+                    r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs(), r.mediaMs()));
+            json.append("      \"estados\": {");
+            int j = 0;
+            for (Map.Entry<String, Long> estado : r.estados().entrySet()) {
+                json.append(j++ == 0 ? "" : ", ").append('"').append(estado.getKey()).append("\": ").append(estado.getValue());
+            }
+            json.append("}\n    }");
+        }
+        json.append("\n  ]\n}\n");
+        Files.writeString(config.salida, json.toString());
+        System.out.printf("%nResultados escritos en %s%n", config.salida.toAbsolutePath());
+    }
+}
@@ -0,0 +1,82 @@
+package com.arequipa.aire.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resultados medidos de un escenario.
+ *
+ * La latencia se mide desde el instante en que la petición debía enviarse
+ * según la tasa, no desde que salió, para no ocultar la espera cuando el
+ * servidor se satura (omisión coordinada).
+ */
+final class Registro {
+
+    private long[] latenciasNanos = new long[1024];
+    private int cantidad;
+    private final Map<String, Long> estados = new TreeMap<>();
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private long errores;
+
+    void enviada() {
+        enviadas.incrementAndGet();
+    }
+
+    void descartada() {
+        descartadas.incrementAndGet();
+    }
+
+    synchronized void registrar(long latenciaNanos, String estado, boolean exito) {
+        if (cantidad == latenciasNanos.length) {
+            latenciasNanos = Arrays.copyOf(latenciasNanos, cantidad * 2);
+        }
+        latenciasNanos[cantidad++] = latenciaNanos;
+        estados.merge(estado, 1L, Long::sum);
+        if (!exito) {
+            errores++;
+        }
+    }
+
+    /**
+     * Resumen inmutable al final de la corrida.
+     */
+    record Resumen(long enviadas, long completadas, long errores, long descartadas, double throughput,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs, double mediaMs, Map<String, Long> estados) {
+    }
+
+    synchronized Resumen resumir(double segundos) {
+        long[] ordenadas = Arrays.copyOf(latenciasNanos, cantidad);
+        Arrays.sort(ordenadas);
+        double suma = 0;
+        for (long latencia : ordenadas) {
+            suma += latencia;
+        }
+        return new Resumen(
+                enviadas.get(),
+                cantidad,
+                errores,
+                descartadas.get(),
+                (cantidad - errores) / segundos,
+                ms(percentil(ordenadas, 0.50)),
+                ms(percentil(ordenadas, 0.95)),
+                ms(percentil(ordenadas, 0.99)),
+                ms(cantidad > 0 ? ordenadas[cantidad - 1] : 0),
+                cantidad > 0 ? ms(suma / cantidad) : 0,
+                new TreeMap<>(estados));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    private static double ms(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
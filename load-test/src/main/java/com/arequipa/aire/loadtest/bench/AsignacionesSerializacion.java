@@ -0,0 +1,156 @@
+package com.arequipa.aire.loadtest.bench;
+
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.dto.MedicionesRespuestaSerializer;
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.util.AQICalculator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mide los bytes asignados por medición al serializar el histórico y la
+ * calidad del aire actual: con los mapas que armaban antes los controladores
+ * y con {@code MedicionesRespuestaSerializer}.
+ *
+ * Se ejecuta con el perfil {@code bench} (ver README.md):
+ * <pre>
+ * mvn -f load-test/pom.xml -Pbench compile exec:java \
+ *   -Dmain.class=com.arequipa.aire.loadtest.bench.AsignacionesSerializacion -Dexec.args="[mediciones] [repeticiones]"
+ * </pre>
+ */
+public final class AsignacionesSerializacion {
+
+    private static final OutputStream DESCARTE = OutputStream.nullOutputStream();
+
+    private static final AQICalculator AQI = new AQICalculator();
+
+    private AsignacionesSerializacion() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(new MedicionesRespuestaSerializer(AQI)))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        List<Medicion> mediciones = mediciones(total);
+
+        System.out.printf("%d mediciones, %d repeticiones%n", total, repeticiones);
+        System.out.printf("%-10s %16s %16s%n", "formato", "mapas B/fila", "streaming B/fila");
+        for (MedicionesRespuesta.Formato formato : MedicionesRespuesta.Formato.values()) {
+            boolean actual = formato == MedicionesRespuesta.Formato.ACTUAL;
+            MedicionesRespuesta respuesta = new MedicionesRespuesta(mediciones, formato);
+            double mapas = bytesPorFila(repeticiones, total, () -> mapper.writeValue(DESCARTE, mapas(mediciones, actual)));
+            double streaming = bytesPorFila(repeticiones, total, () -> mapper.writeValue(DESCARTE, respuesta));
+            System.out.printf("%-10s %16.1f %16.1f%n", formato, mapas, streaming);
+        }
+    }
+
+    private interface Tarea {
+        void ejecutar() throws IOException;
+    }
+
+    /**
+     * Bytes asignados por fila en el hilo actual, tras una ronda de calentamiento.
+     */
+    private static double bytesPorFila(int repeticiones, int filas, Tarea tarea) throws IOException {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < repeticiones; i++) {
+            tarea.ejecutar();
+        }
+        long antes = hilos.getThreadAllocatedBytes(id);
+        for (int i = 0; i < repeticiones; i++) {
+            tarea.ejecutar();
+        }
+        return (double) (hilos.getThreadAllocatedBytes(id) - antes) / repeticiones / filas;
+    }
+
+    private static List<Medicion> mediciones(int total) {
+        Random random = new Random(42);
+        List<Estacion> estaciones = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            Estacion estacion = new Estacion();
+            estacion.setId(i);
+            estacion.setNombre("Estación " + i);
+            estacion.setLatitud(-16.4 + random.nextDouble() * 0.1);
+            estacion.setLongitud(-71.5 + random.nextDouble() * 0.1);
+            estaciones.add(estacion);
+        }
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Medicion> mediciones = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Medicion medicion = new Medicion(estaciones.get(i % estaciones.size()), inicio.plusMinutes(15L * i));
+            medicion.setId((long) i + 1);
+            medicion.setPm25(redondear(random.nextDouble() * 80));
+            medicion.setPm10(redondear(random.nextDouble() * 150));
+            medicion.setNo2(redondear(random.nextDouble() * 60));
+            medicion.setO3(redondear(random.nextDouble() * 90));
+            medicion.setCo(redondear(random.nextDouble() * 2));
+            medicion.setSo2(redondear(random.nextDouble() * 20));
+            medicion.setTemperatura(redondear(10 + random.nextDouble() * 15));
+            medicion.setHumedad(20 + random.nextInt(60));
+            mediciones.add(medicion);
+        }
+        return mediciones;
+    }
+
+    /**
+     * Dos decimales, como las lecturas que registran las estaciones y el generador de datos.
+     */
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    /**
+     * Estructura que armaban los controladores antes de {@link MedicionesRespuesta}.
+     */
+    private static List<Object> mapas(List<Medicion> mediciones, boolean actual) {
+        List<Object> datos = new ArrayList<>();
+        for (Medicion medicion : mediciones) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", medicion.getId());
+            if (actual) {
+                item.put("estacionId", medicion.getEstacion().getId());
+                item.put("estacion", Map.of(
+                    "id", medicion.getEstacion().getId(),
+                    "nombre", medicion.getEstacion().getNombre(),
+                    "latitud", medicion.getEstacion().getLatitud(),
+                    "longitud", medicion.getEstacion().getLongitud()
+                ));
+            }
+            item.put("fechaHora", medicion.getFechaMedicion().toString());
+            item.put("pm25", medicion.getPm25());
+            item.put("pm10", medicion.getPm10());
+            item.put("no2", medicion.getNo2());
+            item.put("o3", medicion.getO3());
+            item.put("co", medicion.getCo());
+            item.put("so2", medicion.getSo2());
+            if (!actual) {
+                item.put("temperatura", medicion.getTemperatura());
+                item.put("humedad", medicion.getHumedad());
+            }
+            Integer aqi = AQI.calcularAQI(medicion);
+            item.put("aqi", aqi);
+            item.put("categoria", AQI.obtenerCategoria(medicion.getCategoriaAqi(), aqi));
+            datos.add(item);
+        }
+        return datos;
+    }
+}
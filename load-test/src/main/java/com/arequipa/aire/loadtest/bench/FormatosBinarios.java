@@ -0,0 +1,136 @@
+package com.arequipa.aire.loadtest.bench;
+
+import com.arequipa.aire.backend.config.FormatosBinariosConfig;
+import com.arequipa.aire.backend.dto.CalidadAireDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compara JSON con CBOR y Smile (con y sin el esquema compacto) al escribir y
+ * leer una lista de {@link CalidadAireDTO}: bytes, bytes con gzip y tiempo por
+ * operación, con mappers configurados como los de la aplicación.
+ *
+ * Se ejecuta con el perfil {@code bench} (ver README.md):
+ * <pre>
+ * mvn -f load-test/pom.xml -Pbench compile exec:java \
+ *   -Dmain.class=com.arequipa.aire.loadtest.bench.FormatosBinarios -Dexec.args="[mediciones] [repeticiones]"
+ * </pre>
+ */
+public final class FormatosBinarios {
+
+    private static final TypeReference<List<CalidadAireDTO>> LISTA = new TypeReference<>() {
+    };
+
+    private FormatosBinarios() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<CalidadAireDTO> mediciones = mediciones(total);
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", builder().build());
+        mappers.put("cbor", builder().factory(new CBORFactory()).build());
+        mappers.put("cbor-compacto", FormatosBinariosConfig.compacto(builder().factory(new CBORFactory()).build()));
+        mappers.put("smile", builder().factory(new SmileFactory()).build());
+        mappers.put("smile-compacto", FormatosBinariosConfig.compacto(builder().factory(new SmileFactory()).build()));
+
+        System.out.printf("%d mediciones, %d repeticiones%n", total, repeticiones);
+        System.out.printf("%-15s %10s %10s %14s %14s%n", "formato", "bytes", "gzip", "escritura ms", "lectura ms");
+        for (Map.Entry<String, ObjectMapper> entrada : mappers.entrySet()) {
+            ObjectMapper mapper = entrada.getValue();
+            byte[] cuerpo = mapper.writeValueAsBytes(mediciones);
+            if (mapper.readValue(cuerpo, LISTA).size() != total) {
+                throw new IllegalStateException("Lectura incompleta con " + entrada.getKey());
+            }
+            double escritura = milisPorOperacion(repeticiones, () -> mapper.writeValueAsBytes(mediciones));
+            double lectura = milisPorOperacion(repeticiones, () -> mapper.readValue(cuerpo, LISTA));
+            System.out.printf("%-15s %10d %10d %14.3f %14.3f%n",
+                    entrada.getKey(), cuerpo.length, gzip(cuerpo), escritura, lectura);
+        }
+    }
+
+    private interface Tarea {
+        Object ejecutar() throws IOException;
+    }
+
+    /**
+     * Milisegundos por operación tras una ronda de calentamiento.
+     */
+    private static double milisPorOperacion(int repeticiones, Tarea tarea) throws IOException {
+        Object resultado = null;
+        for (int i = 0; i < repeticiones; i++) {
+            resultado = tarea.ejecutar();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            resultado = tarea.ejecutar();
+        }
+        long nanos = System.nanoTime() - inicio;
+        if (resultado == null) {
+            throw new IllegalStateException();
+        }
+        return nanos / 1e6 / repeticiones;
+    }
+
+    /**
+     * Mapper con la configuración de Jackson de application.yml.
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().timeZone(TimeZone.getTimeZone("America/Lima"));
+    }
+
+    private static int gzip(byte[] cuerpo) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(cuerpo);
+        }
+        return salida.size();
+    }
+
+    private static List<CalidadAireDTO> mediciones(int total) {
+        Random random = new Random(42);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<CalidadAireDTO> mediciones = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            CalidadAireDTO dto = new CalidadAireDTO();
+            dto.setEstacionId((long) (i % 10) + 1);
+            dto.setEstacionNombre("Estación " + (i % 10 + 1));
+            dto.setFechaMedicion(inicio.plusHours(i / 10));
+            dto.setPm25(redondear(random.nextDouble() * 80));
+            dto.setPm10(redondear(random.nextDouble() * 150));
+            dto.setNo2(redondear(random.nextDouble() * 60));
+            dto.setO3(redondear(random.nextDouble() * 90));
+            dto.setCo(redondear(random.nextDouble() * 2));
+            dto.setSo2(redondear(random.nextDouble() * 20));
+            dto.setAqi(random.nextInt(200));
+            dto.setCategoriaAqi(dto.getAqi() <= 50 ? "Bueno" : dto.getAqi() <= 100 ? "Moderado" : "Insalubre");
+            dto.setTemperatura(redondear(10 + random.nextDouble() * 15));
+            dto.setHumedad(20 + random.nextInt(60));
+            dto.setPresion(redondear(755 + random.nextDouble() * 10));
+            dto.setVelocidadViento(redondear(random.nextDouble() * 5));
+            dto.setDireccionViento(random.nextInt(360));
+            mediciones.add(dto);
+        }
+        return mediciones;
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
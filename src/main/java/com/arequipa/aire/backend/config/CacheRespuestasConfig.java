@@ -0,0 +1,31 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.service.VersionDatosService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra la caché de respuestas después de la seguridad y del limitador de
+ * tasa, para que los aciertos sigan contando contra el límite del cliente.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(CacheRespuestasProperties.class)
+public class CacheRespuestasConfig {
+
+    @Bean
+    public FilterRegistrationBean<CacheRespuestasFilter> cacheRespuestasFilter(CacheRespuestasProperties properties,
+                                                                             VersionDatosService versionDatosService,
+                                                                             MeterRegistry meterRegistry) {
+        FilterRegistrationBean<CacheRespuestasFilter> registro = new FilterRegistrationBean<>(
+                new CacheRespuestasFilter(properties, versionDatosService, meterRegistry));
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+}
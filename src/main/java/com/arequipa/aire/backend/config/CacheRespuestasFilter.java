@@ -0,0 +1,146 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.service.VersionDatosService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de cuerpos de respuesta ya serializados para lecturas públicas.
+ *
+ * Guarda el cuerpo de la primera respuesta de cada ruta sin comprimir y en
+ * gzip, asociado a la versión de datos vigente al empezar la petición. Las
+ * siguientes peticiones con la misma versión se responden copiando esos bytes
+ * al stream de salida, sin pasar por el controlador, Jackson ni la compresión
+ * del servidor. Si los datos cambian mientras se genera una respuesta, esta
+ * queda guardada con la versión anterior y nunca se sirve. La clave incluye la
+ * cabecera Accept, para no mezclar JSON con las codificaciones binarias.
+ */
+public class CacheRespuestasFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * Cuerpo serializado en ambas codificaciones.
+     */
+    private record Respuesta(long version, String contentType, String etag, byte[] plano, byte[] gzip) {
+    }
+
+    private final CacheRespuestasProperties properties;
+    private final VersionDatosService versionDatosService;
+    private final Set<String> rutas;
+    private final Cache<String, Respuesta> cache;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public CacheRespuestasFilter(CacheRespuestasProperties properties, VersionDatosService versionDatosService,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.versionDatosService = versionDatosService;
+        this.rutas = new HashSet<>(properties.getRutas());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .<String, Respuesta>weigher((clave, r) -> clave.length() + r.plano().length + r.gzip().length)
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.aciertos = Counter.builder("app.cache.respuestas")
+                .description("Peticiones atendidas por la caché de respuestas")
+                .tag("resultado", "acierto").register(meterRegistry);
+        this.fallos = Counter.builder("app.cache.respuestas")
+                .description("Peticiones atendidas por la caché de respuestas")
+                .tag("resultado", "fallo").register(meterRegistry);
+        Gauge.builder("app.cache.respuestas.entradas", cache, Cache::estimatedSize)
+                .description("Respuestas guardadas en la caché")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isHabilitado()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !rutas.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String query = request.getQueryString();
+        String aceptados = request.getHeader(HttpHeaders.ACCEPT);
+        String clave = (query != null ? request.getRequestURI() + "?" + query : request.getRequestURI())
+                + (aceptados != null ? "|" + aceptados : "");
+        long version = versionDatosService.getVersion();
+
+        Respuesta respuesta = cache.getIfPresent(clave);
+        if (respuesta != null && respuesta.version() == version) {
+            aciertos.increment();
+            escribir(request, response, respuesta);
+            return;
+        }
+
+        fallos.increment();
+        ContentCachingResponseWrapper envoltura = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, envoltura);
+        if (envoltura.getStatus() == HttpServletResponse.SC_OK && envoltura.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && !request.isAsyncStarted()) {
+            byte[] plano = envoltura.getContentAsByteArray();
+            Respuesta nueva = new Respuesta(version, envoltura.getContentType(), etag(version, plano), plano, comprimir(plano));
+            cache.put(clave, nueva);
+            envoltura.setHeader(HttpHeaders.ETAG, nueva.etag());
+            envoltura.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            envoltura.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        envoltura.copyBodyToResponse();
+    }
+
+    private static void escribir(HttpServletRequest request, HttpServletResponse response, Respuesta respuesta)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, respuesta.etag());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (respuesta.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        String aceptadas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] cuerpo = respuesta.plano();
+        if (aceptadas != null && aceptadas.contains(GZIP)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            cuerpo = respuesta.gzip();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(respuesta.contentType());
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    private static String etag(long version, byte[] plano) {
+        CRC32 crc = new CRC32();
+        crc.update(plano);
+        return "\"" + Long.toHexString(version) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    private static byte[] comprimir(byte[] plano) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, plano.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(plano);
+        }
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.arequipa.aire.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de la caché de respuestas serializadas.
+ */
+@ConfigurationProperties(prefix = "app.cache-respuestas")
+public class CacheRespuestasProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Rutas GET cacheadas (sin el context path), por ejemplo "/api/estaciones".
+     */
+    private List<String> rutas = new ArrayList<>();
+
+    /**
+     * Vida máxima de una respuesta, para cambios que no pasan por los eventos de la aplicación.
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    private long maxBytes = 16 * 1024 * 1024;
+
+    // Getters and Setters
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public List<String> getRutas() {
+        return rutas;
+    }
+
+    public void setRutas(List<String> rutas) {
+        this.rutas = rutas;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+}
@@ -0,0 +1,214 @@
+package com.arequipa.aire.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de consultas lentas a nivel JDBC.
+ *
+ * Envuelve el DataSource con proxies que miden cada ejecución de sentencia;
+ * las que superan el umbral se registran con su SQL y la forma de sus
+ * parámetros (tipo por posición, nunca el valor) y se cuentan en
+ * {@code app.sql.consultas.lentas}. Cubre tanto JPA como JdbcTemplate.
+ */
+@Component
+public class ConsultasLentasPostProcessor implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultasLentasPostProcessor.class);
+
+    private final boolean habilitado;
+
+    private final long umbralNanos;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile Counter contadorLentas;
+
+    public ConsultasLentasPostProcessor(
+            @Value("${app.observabilidad.consultas-lentas.habilitado:true}") boolean habilitado,
+            @Value("${app.observabilidad.consultas-lentas.umbral-ms:250}") long umbralMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.habilitado = habilitado;
+        this.umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (habilitado && bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            logger.info("Registro de consultas lentas activo en '{}' (umbral {} ms)",
+                    beanName, TimeUnit.NANOSECONDS.toMillis(umbralNanos));
+            return proxy(DataSource.class, new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    private void registrarLenta(String sql, String parametros, long nanos) {
+        logger.warn("Consulta lenta ({} ms) parámetros {}: {}",
+                TimeUnit.NANOSECONDS.toMillis(nanos), parametros, sql);
+        Counter contador = contadorLentas;
+        if (contador == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            contador = Counter.builder("app.sql.consultas.lentas")
+                    .description("Sentencias SQL que superaron el umbral de consulta lenta")
+                    .register(registry);
+            contadorLentas = contador;
+        }
+        contador.increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ConsultasLentasPostProcessor.class.getClassLoader(), new Class<?>[] {tipo}, handler);
+    }
+
+    private static String nombreTipoSql(int tipoSql) {
+        try {
+            return JDBCType.valueOf(tipoSql).getName();
+        } catch (IllegalArgumentException e) {
+            return String.valueOf(tipoSql);
+        }
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class DataSourceHandler implements InvocationHandler {
+        private final DataSource destino;
+
+        private DataSourceHandler(DataSource destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(destino, metodo, args);
+            if (resultado instanceof Connection conexion && metodo.getName().equals("getConnection")) {
+                return proxy(Connection.class, new ConnectionHandler(conexion));
+            }
+            return resultado;
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection destino;
+
+        private ConnectionHandler(Connection destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(destino, metodo, args);
+            if (resultado instanceof CallableStatement sentencia) {
+                return proxy(CallableStatement.class, new StatementHandler(sentencia, (String) args[0]));
+            }
+            if (resultado instanceof PreparedStatement sentencia) {
+                return proxy(PreparedStatement.class, new StatementHandler(sentencia, (String) args[0]));
+            }
+            if (resultado instanceof Statement sentencia) {
+                return proxy(Statement.class, new StatementHandler(sentencia, null));
+            }
+            return resultado;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement destino;
+        private final String sql;
+        private String[] parametros = new String[8];
+        private int cantidadParametros;
+        private int lotes;
+
+        private StatementHandler(Statement destino, String sql) {
+            this.destino = destino;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                registrarParametro(indice, nombre, args[1]);
+                return invocar(destino, metodo, args);
+            }
+            if (nombre.equals("clearParameters")) {
+                cantidadParametros = 0;
+            } else if (nombre.equals("addBatch") && (args == null || args.length == 0)) {
+                lotes++;
+            }
+            if (!nombre.startsWith("execute")) {
+                return invocar(destino, metodo, args);
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                return invocar(destino, metodo, args);
+            } finally {
+                long duracion = System.nanoTime() - inicio;
+                if (duracion > umbralNanos) {
+                    String sentencia = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "?";
+                    registrarLenta(sentencia, forma(), duracion);
+                }
+                if (nombre.equals("executeBatch")) {
+                    lotes = 0;
+                }
+            }
+        }
+
+        private void registrarParametro(int indice, String setter, Object valor) {
+            if (indice > parametros.length) {
+                parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+            }
+            String tipo = setter.substring(3);
+            if (setter.equals("setNull") && valor instanceof Integer tipoSql) {
+                parametros[indice - 1] = "null(" + nombreTipoSql(tipoSql) + ")";
+            } else {
+                parametros[indice - 1] = valor == null ? "null(" + tipo + ")" : tipo;
+            }
+            cantidadParametros = Math.max(cantidadParametros, indice);
+        }
+
+        private String forma() {
+            StringBuilder forma = new StringBuilder("[");
+            for (int i = 0; i < cantidadParametros; i++) {
+                if (i > 0) {
+                    forma.append(", ");
+                }
+                forma.append(i + 1).append(':').append(parametros[i]);
+            }
+            forma.append(']');
+            if (lotes > 0) {
+                forma.append(" x").append(lotes).append(" lotes");
+            }
+            return forma.toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.arequipa.aire.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Contador de sentencias SQL por petición.
+ *
+ * Hibernate llama al inspector por cada sentencia que prepara; el conteo solo
+ * se acumula en hilos donde una petición lo inició, así que las tareas
+ * programadas no se ven afectadas.
+ */
+public final class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    /**
+     * Empieza a contar en el hilo actual.
+     */
+    public static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    /**
+     * Devuelve las sentencias contadas en el hilo actual, o -1 si no se está contando.
+     */
+    public static int actual() {
+        int[] contador = CONTADOR.get();
+        return contador != null ? contador[0] : -1;
+    }
+
+    /**
+     * Deja de contar y devuelve el total.
+     */
+    public static int finalizar() {
+        int total = actual();
+        CONTADOR.remove();
+        return total;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,41 @@
+package com.arequipa.aire.backend.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubeta de tokens sin bloqueos (algoritmo GCRA).
+ *
+ * Todo el estado es un único instante teórico de llegada en nanosegundos,
+ * actualizado con compareAndSet: consumir un token no reserva memoria ni
+ * toma locks, y la recarga está implícita en el paso del tiempo.
+ */
+final class CubetaTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong llegadaTeorica;
+
+    CubetaTokens(int capacidad, double porSegundo, long ahoraNanos) {
+        this.intervaloNanos = Math.max(1L, Math.round(1_000_000_000d / porSegundo));
+        this.toleranciaNanos = intervaloNanos * (Math.max(1, capacidad) - 1);
+        this.llegadaTeorica = new AtomicLong(ahoraNanos);
+    }
+
+    /**
+     * Intenta consumir un token. Devuelve 0 si se permitió o los nanosegundos
+     * que faltan para que haya uno disponible.
+     */
+    long consumir(long ahoraNanos) {
+        while (true) {
+            long actual = llegadaTeorica.get();
+            long base = Math.max(actual, ahoraNanos);
+            long espera = base - ahoraNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (llegadaTeorica.compareAndSet(actual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+}
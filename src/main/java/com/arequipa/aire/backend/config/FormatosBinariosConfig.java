@@ -0,0 +1,69 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.dto.CalidadAireDTO;
+import com.arequipa.aire.backend.dto.PrediccionDTO;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Codificaciones binarias negociadas por {@code Accept}: CBOR
+ * ({@code application/cbor}) y Smile ({@code application/x-jackson-smile}).
+ *
+ * Usan la misma configuración de Jackson que JSON (zona horaria, fechas,
+ * módulos). Además, {@link CalidadAireDTO} y {@link PrediccionDTO} se escriben
+ * como arreglos posicionales en el orden de {@link CalidadAireCompacto} y
+ * {@link PrediccionCompacto}, que es el esquema que deben seguir los clientes.
+ * Los convertidores reemplazan a los que Spring registra por defecto, así que
+ * JSON sigue siendo la respuesta cuando el cliente no pide otra cosa.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    /**
+     * Esquema compacto de {@link CalidadAireDTO}: posición de cada campo en el arreglo.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"estacionId", "estacionNombre", "distrito", "latitud", "longitud", "fechaMedicion",
+            "pm25", "pm10", "no2", "o3", "co", "so2", "aqi", "categoriaAqi", "colorAqi", "recomendacion",
+            "temperatura", "humedad", "presion", "velocidadViento", "direccionViento", "fuenteDatos", "confiabilidad",
+            "contaminantePrincipal"})
+    abstract static class CalidadAireCompacto {
+    }
+
+    /**
+     * Esquema compacto de {@link PrediccionDTO}: posición de cada campo en el arreglo.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "estacionId", "estacionNombre", "fechaPrediccion", "horizonteHoras",
+            "pm25Predicho", "pm10Predicho", "no2Predicho", "o3Predicho", "coPredicho", "aqiPredicho",
+            "categoriaAqiPredicha", "colorAqiPredicho", "confianzaPm25", "confianzaPm10", "confianzaGlobal",
+            "modeloUtilizado", "versionModelo", "estado", "errorMensaje", "fechaCalculo", "fechaCreacion"})
+    abstract static class PrediccionCompacto {
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compacto(builder.factory(new CBORFactory()).build()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(compacto(builder.factory(new SmileFactory()).build()));
+    }
+
+    /**
+     * Aplica los esquemas compactos a un mapper binario.
+     */
+    public static ObjectMapper compacto(ObjectMapper mapper) {
+        return mapper.addMixIn(CalidadAireDTO.class, CalidadAireCompacto.class)
+                .addMixIn(PrediccionDTO.class, PrediccionCompacto.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.service.FrescuraDatosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Componente {@code frescuraDatos} del health: {@code UP} si todas las
+ * estaciones activas reportaron dentro del umbral y {@code DEGRADADO} si
+ * alguna no, aunque sean todas. Nunca es {@code DOWN}: datos viejos no son
+ * motivo para que el balanceador saque la instancia, y el health agregado
+ * seguiría devolviendo 503. No participa en las sondas de liveness ni de
+ * readiness.
+ */
+@Component
+public class FrescuraDatosHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADADO = new Status("DEGRADADO", "Hay estaciones sin mediciones recientes");
+
+    @Autowired
+    private FrescuraDatosService frescuraDatosService;
+
+    @Override
+    public Health health() {
+        FrescuraDatosService.Resumen resumen = frescuraDatosService.getResumen();
+        int total = resumen.estaciones().size();
+        Health.Builder builder = resumen.desactualizadas() == 0 ? Health.up() : Health.status(DEGRADADO);
+        Map<String, Object> porDistrito = new LinkedHashMap<>();
+        resumen.distritos().forEach((distrito, conteo) -> porDistrito.put(distrito, Map.of(
+                "estaciones", conteo.estaciones(), "desactualizadas", conteo.desactualizadas())));
+        List<Map<String, Object>> desactualizadas = resumen.estaciones().values().stream()
+                .filter(FrescuraDatosService.EstadoEstacion::desactualizada)
+                .map(estado -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("estacionId", estado.estacionId());
+                    item.put("nombre", estado.nombre());
+                    item.put("distrito", estado.distrito());
+                    item.put("ultimaMedicion", estado.ultimaMedicion() != null ? estado.ultimaMedicion().toString() : null);
+                    item.put("antiguedadSegundos", estado.antiguedadSegundos());
+                    return item;
+                })
+                .toList();
+        return builder
+                .withDetail("umbral", resumen.umbral().toString())
+                .withDetail("estaciones", total)
+                .withDetail("desactualizadas", resumen.desactualizadas())
+                .withDetail("todasDesactualizadas", total > 0 && resumen.desactualizadas() == total)
+                .withDetail("distritos", porDistrito)
+                .withDetail("estacionesDesactualizadas", desactualizadas)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.dto.MedicionesRespuestaSerializer;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serializadores de Jackson que dependen de beans de la aplicación.
+ *
+ * Se registran en el {@code Jackson2ObjectMapperBuilder}, así que los usan el
+ * ObjectMapper de JSON, los de CBOR y Smile y el de las lecturas reactivas.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer serializadorMediciones(AQICalculator aqiCalculator) {
+        MedicionesRespuestaSerializer serializador = new MedicionesRespuestaSerializer(aqiCalculator);
+        return builder -> builder
+                .serializerByType(MedicionesRespuesta.class, serializador)
+                .serializerByType(MedicionesRespuesta.Fila.class, new MedicionesRespuestaSerializer.FilaSerializer(serializador));
+    }
+}
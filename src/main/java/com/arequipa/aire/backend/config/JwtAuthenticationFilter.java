@@ -0,0 +1,47 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.util.JwtUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Autentica las peticiones con un token Bearer emitido por {@link JwtUtils}.
+ *
+ * El token lleva el usuario y su rol, así que no se consulta la base de datos
+ * ni se calcula ningún hash por petición.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtUtils jwtUtils;
+
+    public JwtAuthenticationFilter(JwtUtils jwtUtils) {
+        this.jwtUtils = jwtUtils;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = jwtUtils.extractTokenFromHeader(request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && jwtUtils.validateToken(token)) {
+            String role = jwtUtils.getRoleFromToken(token);
+            List<SimpleGrantedAuthority> autoridades = role != null
+                    ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                    : List.of();
+            UsernamePasswordAuthenticationToken autenticacion = new UsernamePasswordAuthenticationToken(
+                    jwtUtils.getUsernameFromToken(token), null, autoridades);
+            SecurityContextHolder.getContext().setAuthentication(autenticacion);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.arequipa.aire.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el limitador de tasa justo después de Spring Security, para que
+ * el usuario del token JWT ya esté disponible al identificar al cliente.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(LimiteTasaProperties.class)
+public class LimiteTasaConfig {
+
+    @Bean
+    public FilterRegistrationBean<LimiteTasaFilter> limiteTasaFilter(LimiteTasaProperties properties,
+                                                                     MeterRegistry meterRegistry,
+                                                                     ObjectMapper objectMapper) {
+        FilterRegistrationBean<LimiteTasaFilter> registro = new FilterRegistrationBean<>(
+                new LimiteTasaFilter(properties, meterRegistry, objectMapper));
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+}
@@ -0,0 +1,181 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limita la tasa de peticiones a {@code /api/**} por cliente.
+ *
+ * El cliente es la clave API si es una de las configuradas, el usuario del
+ * token JWT si la petición está autenticada, o la IP en otro caso. Detrás de
+ * un proxy de confianza ({@code server.tomcat.remoteip.internal-proxies}),
+ * Tomcat ya resolvió esa IP a partir de X-Forwarded-For. Cada ruta
+ * configurada tiene su propio mapa acotado de cubetas; el camino habitual es
+ * una búsqueda en Caffeine más un compareAndSet.
+ */
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO_API = "/api/";
+    private static final String RUTA_POR_DEFECTO = "default";
+    private static final String PREFIJO_CLAVE_API = "clave-api:";
+
+    /**
+     * Ruta limitada: patrón, límite, cubetas por cliente y métricas.
+     */
+    private static final class Ruta {
+        private final String nombre;
+        private final PathPattern patron;
+        private final LimiteTasaProperties.Limite limite;
+        private final Cache<String, CubetaTokens> cubetas;
+        private final Counter permitidas;
+        private final Counter rechazadas;
+
+        private Ruta(String nombre, PathPattern patron, LimiteTasaProperties.Limite limite,
+                     LimiteTasaProperties properties, MeterRegistry meterRegistry) {
+            this.nombre = nombre;
+            this.patron = patron;
+            this.limite = limite;
+            this.cubetas = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxClientes())
+                    .expireAfterAccess(inactividad(limite))
+                    .build();
+            this.permitidas = Counter.builder("app.limite.tasa.peticiones")
+                    .description("Peticiones evaluadas por el limitador de tasa")
+                    .tag("ruta", nombre).tag("resultado", "permitida")
+                    .register(meterRegistry);
+            this.rechazadas = Counter.builder("app.limite.tasa.peticiones")
+                    .description("Peticiones evaluadas por el limitador de tasa")
+                    .tag("ruta", nombre).tag("resultado", "rechazada")
+                    .register(meterRegistry);
+            Gauge.builder("app.limite.tasa.clientes", cubetas, Cache::estimatedSize)
+                    .description("Clientes con cubeta activa")
+                    .tag("ruta", nombre)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Tras este tiempo sin peticiones la cubeta estaría llena de nuevo, así que se puede descartar.
+         */
+        private static Duration inactividad(LimiteTasaProperties.Limite limite) {
+            double segundos = Math.max(1, limite.getCapacidad()) / limite.getPorSegundo();
+            return Duration.ofMillis(Math.max(1000L, (long) Math.ceil(segundos * 1000)));
+        }
+    }
+
+    private final LimiteTasaProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<Ruta> rutas = new ArrayList<>();
+    private final Ruta porDefecto;
+    private final Map<String, Ruta> porClaveApi = new HashMap<>();
+
+    public LimiteTasaFilter(LimiteTasaProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        properties.getRutas().forEach((patron, limite) -> rutas.add(
+                new Ruta(patron, PathPatternParser.defaultInstance.parse(patron), limite, properties, meterRegistry)));
+        this.porDefecto = new Ruta(RUTA_POR_DEFECTO, null, properties.getPorDefecto(), properties, meterRegistry);
+        properties.getClavesApi().forEach((alias, clave) -> {
+            if (clave.getClave() == null || clave.getClave().isBlank()) {
+                throw new IllegalStateException("La clave API '" + alias + "' no tiene valor");
+            }
+            porClaveApi.put(clave.getClave(),
+                    new Ruta(PREFIJO_CLAVE_API + alias, null, clave, properties, meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isHabilitado() || !ruta(request).startsWith(PREFIJO_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Ruta ruta;
+        String cliente;
+        String claveApi = request.getHeader(properties.getCabeceraClaveApi());
+        Ruta rutaClave = claveApi != null ? porClaveApi.get(claveApi) : null;
+        if (rutaClave != null) {
+            ruta = rutaClave;
+            cliente = claveApi;
+        } else {
+            ruta = resolver(ruta(request));
+            cliente = cliente(request);
+        }
+
+        long ahora = System.nanoTime();
+        long espera = ruta.cubetas.get(cliente, c -> new CubetaTokens(
+                ruta.limite.getCapacidad(), ruta.limite.getPorSegundo(), ahora)).consumir(ahora);
+        if (espera == 0) {
+            ruta.permitidas.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ruta.rechazadas.increment();
+        long segundos = Math.max(1L, (espera + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Límite de peticiones excedido, intente nuevamente en " + segundos + " s",
+                "uri=" + request.getRequestURI()));
+    }
+
+    private Ruta resolver(String ruta) {
+        if (!rutas.isEmpty()) {
+            PathContainer camino = PathContainer.parsePath(ruta);
+            for (Ruta candidata : rutas) {
+                if (candidata.patron.matches(camino)) {
+                    return candidata;
+                }
+            }
+        }
+        return porDefecto;
+    }
+
+    /**
+     * Usuario autenticado (prefijado para no chocar con una IP) o IP del cliente.
+     */
+    private static String cliente(HttpServletRequest request) {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion != null && autenticacion.isAuthenticated()
+                && !(autenticacion instanceof AnonymousAuthenticationToken)) {
+            return "sub:" + autenticacion.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String ruta(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
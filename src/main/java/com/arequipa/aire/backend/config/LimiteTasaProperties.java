@@ -0,0 +1,115 @@
+package com.arequipa.aire.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del limitador de tasa por cliente.
+ */
+@ConfigurationProperties(prefix = "app.limite-tasa")
+public class LimiteTasaProperties {
+
+    /**
+     * Cubeta de tokens: ráfaga máxima y tokens repuestos por segundo.
+     */
+    public static class Limite {
+        private int capacidad = 60;
+        private double porSegundo = 20;
+
+        public Limite() {}
+
+        public Limite(int capacidad, double porSegundo) {
+            this.capacidad = capacidad;
+            this.porSegundo = porSegundo;
+        }
+
+        public int getCapacidad() { return capacidad; }
+        public void setCapacidad(int capacidad) { this.capacidad = capacidad; }
+        public double getPorSegundo() { return porSegundo; }
+        public void setPorSegundo(double porSegundo) { this.porSegundo = porSegundo; }
+    }
+
+    /**
+     * Clave API con su límite propio. El alias identifica la clave en las
+     * métricas sin exponer su valor.
+     */
+    public static class ClaveApi extends Limite {
+        private String clave;
+
+        public String getClave() { return clave; }
+        public void setClave(String clave) { this.clave = clave; }
+    }
+
+    private boolean habilitado = true;
+
+    private Limite porDefecto = new Limite();
+
+    /**
+     * Límites por patrón de ruta (por ejemplo "/api/auth/**"); gana el primero que coincide.
+     */
+    private Map<String, Limite> rutas = new LinkedHashMap<>();
+
+    /**
+     * Claves API reconocidas en la cabecera {@code cabeceraClaveApi}, por alias, con su límite propio.
+     * Una clave desconocida se ignora y la petición se limita por IP.
+     */
+    private Map<String, ClaveApi> clavesApi = new LinkedHashMap<>();
+
+    private String cabeceraClaveApi = "X-API-Key";
+
+    /**
+     * Cantidad máxima de clientes con cubeta por ruta; los menos usados se descartan.
+     */
+    private long maxClientes = 100_000;
+
+    // Getters and Setters
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Limite getPorDefecto() {
+        return porDefecto;
+    }
+
+    public void setPorDefecto(Limite porDefecto) {
+        this.porDefecto = porDefecto;
+    }
+
+    public Map<String, Limite> getRutas() {
+        return rutas;
+    }
+
+    public void setRutas(Map<String, Limite> rutas) {
+        this.rutas = rutas;
+    }
+
+    public Map<String, ClaveApi> getClavesApi() {
+        return clavesApi;
+    }
+
+    public void setClavesApi(Map<String, ClaveApi> clavesApi) {
+        this.clavesApi = clavesApi;
+    }
+
+    public String getCabeceraClaveApi() {
+        return cabeceraClaveApi;
+    }
+
+    public void setCabeceraClaveApi(String cabeceraClaveApi) {
+        this.cabeceraClaveApi = cabeceraClaveApi;
+    }
+
+    public long getMaxClientes() {
+        return maxClientes;
+    }
+
+    public void setMaxClientes(long maxClientes) {
+        this.maxClientes = maxClientes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.arequipa.aire.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Limitador de tasa por IP para el servidor de lecturas reactivas.
+ *
+ * Ese servidor solo atiende lecturas públicas, así que no hay usuario ni
+ * clave API que identificar: aplica el límite por defecto de
+ * {@code app.limite-tasa} por IP del cliente, con las mismas cubetas y
+ * métricas que {@link LimiteTasaFilter} bajo la ruta "reactiva". La IP se
+ * resuelve como en Tomcat: X-Forwarded-For solo se lee si la conexión viene
+ * de un proxy de confianza, y se toma la última dirección que no lo es.
+ */
+public class LimiteTasaWebFilter implements WebFilter {
+
+    private static final String RUTA = "reactiva";
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final LimiteTasaProperties properties;
+    private final LimiteTasaProperties.Limite limite;
+    private final Cache<String, CubetaTokens> cubetas;
+    private final Counter permitidas;
+    private final Counter rechazadas;
+    private final Pattern proxiesConfiables;
+
+    public LimiteTasaWebFilter(LimiteTasaProperties properties, MeterRegistry meterRegistry,
+                               Pattern proxiesConfiables) {
+        this.properties = properties;
+        this.proxiesConfiables = proxiesConfiables;
+        this.limite = properties.getPorDefecto();
+        double segundos = Math.max(1, limite.getCapacidad()) / limite.getPorSegundo();
+        this.cubetas = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClientes())
+                .expireAfterAccess(Duration.ofMillis(Math.max(1000L, (long) Math.ceil(segundos * 1000))))
+                .build();
+        this.permitidas = Counter.builder("app.limite.tasa.peticiones")
+                .description("Peticiones evaluadas por el limitador de tasa")
+                .tag("ruta", RUTA).tag("resultado", "permitida")
+                .register(meterRegistry);
+        this.rechazadas = Counter.builder("app.limite.tasa.peticiones")
+                .description("Peticiones evaluadas por el limitador de tasa")
+                .tag("ruta", RUTA).tag("resultado", "rechazada")
+                .register(meterRegistry);
+        Gauge.builder("app.limite.tasa.clientes", cubetas, Cache::estimatedSize)
+                .description("Clientes con cubeta activa")
+                .tag("ruta", RUTA)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isHabilitado()) {
+            return chain.filter(exchange);
+        }
+        long ahora = System.nanoTime();
+        long espera = cubetas.get(cliente(exchange), c -> new CubetaTokens(
+                limite.getCapacidad(), limite.getPorSegundo(), ahora)).consumir(ahora);
+        if (espera == 0) {
+            permitidas.increment();
+            return chain.filter(exchange);
+        }
+
+        rechazadas.increment();
+        long segundos = Math.max(1L, (espera + 999_999_999L) / 1_000_000_000L);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        return exchange.getResponse().setComplete();
+    }
+
+    private String cliente(ServerWebExchange exchange) {
+        InetSocketAddress remota = exchange.getRequest().getRemoteAddress();
+        if (remota == null) {
+            return "desconocido";
+        }
+        String ip = remota.getAddress() != null ? remota.getAddress().getHostAddress() : remota.getHostString();
+        if (!proxiesConfiables.matcher(ip).matches()) {
+            return ip;
+        }
+        List<String> reenviadas = exchange.getRequest().getHeaders().get(X_FORWARDED_FOR);
+        if (reenviadas == null) {
+            return ip;
+        }
+        String[] saltos = String.join(",", reenviadas).split(",");
+        for (int i = saltos.length - 1; i >= 0; i--) {
+            String salto = saltos[i].trim();
+            if (salto.isEmpty()) {
+                continue;
+            }
+            ip = salto;
+            if (!proxiesConfiables.matcher(salto).matches()) {
+                break;
+            }
+        }
+        return ip;
+    }
+}
@@ -0,0 +1,72 @@
+package com.arequipa.aire.backend.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Etiquetas adicionales para las métricas de endpoints y repositorios.
+ *
+ * Los timers de {@code http.server.requests} llevan el método de controlador
+ * que atendió la petición ({@code handler}) y los de
+ * {@code spring.data.repository.invocations} el endpoint que los originó
+ * ({@code endpoint}), para poder separar el tiempo de SQL del resto.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MetricasConfig {
+
+    private static final String SIN_ENDPOINT = "none";
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context.getCarrier()));
+            }
+        };
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation)).and("endpoint", endpointActual());
+            }
+        };
+    }
+
+    private static KeyValue handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return KeyValue.of("handler", metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+        }
+        return KeyValue.of("handler", SIN_ENDPOINT);
+    }
+
+    private static String endpointActual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return SIN_ENDPOINT;
+        }
+        Object patron = atributos.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return patron != null ? patron.toString() : SIN_ENDPOINT;
+    }
+}
@@ -0,0 +1,158 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.PresupuestoSentenciasExcedidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Presupuesto de sentencias SQL por petición.
+ *
+ * Cuenta las sentencias que Hibernate prepara durante cada petición, las
+ * expone en la cabecera {@code X-SQL-Statements} y en la métrica
+ * {@code app.sql.sentencias.peticion}, y al superar el presupuesto del
+ * endpoint lo registra (modo LOG) o responde con error (modo FAIL, usado en
+ * el perfil de test para detectar N+1 en CI).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(PresupuestoSentenciasProperties.class)
+public class PresupuestoSentenciasConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresupuestoSentenciasConfig.class);
+
+    public static final String CABECERA = "X-SQL-Statements";
+
+    private static final String ATRIBUTO_EXCEDIDO = PresupuestoSentenciasConfig.class.getName() + ".excedido";
+
+    private static final String SIN_ENDPOINT = "none";
+
+    @Autowired
+    private PresupuestoSentenciasProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSentenciasCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSentencias());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.getModo() != PresupuestoSentenciasProperties.Modo.OFF) {
+            registry.addInterceptor(new PresupuestoSentenciasInterceptor());
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : SIN_ENDPOINT;
+    }
+
+    /**
+     * Inicia el conteo al entrar al handler y registra métricas al terminar la petición.
+     * En peticiones asíncronas solo se cuenta el despacho final.
+     */
+    private class PresupuestoSentenciasInterceptor implements AsyncHandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            ContadorSentencias.iniciar();
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            ContadorSentencias.finalizar();
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            int sentencias = ContadorSentencias.finalizar();
+            if (sentencias < 0) {
+                return;
+            }
+            String endpoint = endpoint(request);
+            DistributionSummary.builder("app.sql.sentencias.peticion")
+                    .description("Sentencias SQL ejecutadas por petición")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(sentencias);
+
+            int presupuesto = properties.presupuestoPara(endpoint);
+            if (sentencias > presupuesto) {
+                Counter.builder("app.sql.presupuesto.excedido")
+                        .description("Peticiones que superaron su presupuesto de sentencias SQL")
+                        .tag("endpoint", endpoint)
+                        .register(meterRegistry)
+                        .increment();
+                logger.warn("{} {} ejecutó {} sentencias SQL (presupuesto {})",
+                        request.getMethod(), endpoint, sentencias, presupuesto);
+            }
+        }
+    }
+
+    /**
+     * Añade la cabecera con el conteo antes de escribir el cuerpo y, en modo FAIL,
+     * corta la respuesta si se superó el presupuesto.
+     */
+    @ControllerAdvice
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class PresupuestoSentenciasAdvice implements ResponseBodyAdvice<Object> {
+
+        @Autowired
+        private PresupuestoSentenciasProperties properties;
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            int sentencias = ContadorSentencias.actual();
+            if (sentencias < 0 || !(request instanceof ServletServerHttpRequest servletRequest)) {
+                return body;
+            }
+            response.getHeaders().set(CABECERA, String.valueOf(sentencias));
+
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            String endpoint = endpoint(httpRequest);
+            int presupuesto = properties.presupuestoPara(endpoint);
+            if (properties.getModo() == PresupuestoSentenciasProperties.Modo.FAIL
+                    && sentencias > presupuesto
+                    && httpRequest.getAttribute(ATRIBUTO_EXCEDIDO) == null) {
+                httpRequest.setAttribute(ATRIBUTO_EXCEDIDO, Boolean.TRUE);
+                throw new PresupuestoSentenciasExcedidoException(String.format(
+                        "%s ejecutó %d sentencias SQL (presupuesto %d)", endpoint, sentencias, presupuesto));
+            }
+            return body;
+        }
+    }
+}
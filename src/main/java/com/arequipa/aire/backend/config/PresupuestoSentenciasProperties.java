@@ -0,0 +1,58 @@
+package com.arequipa.aire.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración del presupuesto de sentencias SQL por petición.
+ */
+@ConfigurationProperties(prefix = "app.observabilidad.presupuesto-sentencias")
+public class PresupuestoSentenciasProperties {
+
+    /**
+     * Acción al superar el presupuesto.
+     */
+    public enum Modo {
+        OFF, LOG, FAIL
+    }
+
+    private Modo modo = Modo.LOG;
+
+    private int porDefecto = 20;
+
+    /**
+     * Presupuesto por patrón de endpoint (por ejemplo "/api/alertas/{id}").
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int presupuestoPara(String endpoint) {
+        return endpoints.getOrDefault(endpoint, porDefecto);
+    }
+
+    // Getters and Setters
+    public Modo getModo() {
+        return modo;
+    }
+
+    public void setModo(Modo modo) {
+        this.modo = modo;
+    }
+
+    public int getPorDefecto() {
+        return porDefecto;
+    }
+
+    public void setPorDefecto(int porDefecto) {
+        this.porDefecto = porDefecto;
+    }
+
+    public Map<String, Integer> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Integer> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,94 @@
+package com.arequipa.aire.backend.config;
+
+import com.arequipa.aire.backend.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+/**
+ * Seguridad de la API servlet.
+ *
+ * Sin sesión ni CSRF: las escrituras se autentican con el token JWT que emite
+ * {@code /api/auth/login}. No hay autenticación básica, de modo que ninguna
+ * petición calcula un hash de contraseña en el hilo de Tomcat; el único lugar
+ * donde se verifica una contraseña es el login, en su pool acotado.
+ *
+ * El registro público siempre crea ciudadanos; la difusión y el borrado masivo
+ * de alertas y las escrituras de estaciones requieren rol ADMIN o AUTORIDAD, y
+ * la administración de usuarios rol ADMIN. Las métricas de Prometheus solo se
+ * sirven a las redes de {@code app.metricas.redes-permitidas}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SecurityConfig {
+
+    private static final String[] LECTURAS_PUBLICAS = {
+        "/api/calidad-aire/**", "/api/historico/**", "/api/estaciones/**", "/api/mediciones/**", "/api/mapa/**"
+    };
+
+    private static final String[] RUTAS_PUBLICAS = {
+        "/api/auth/**", "/h2-console/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html",
+        "/actuator/health/**", "/actuator/info", "/error"
+    };
+
+    private static final String[] GESTION = {"ADMIN", "AUTORIDAD"};
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${app.metricas.redes-permitidas:127.0.0.1/32,::1/128}")
+    private List<String> redesMetricas;
+
+    @Bean
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+        List<IpAddressMatcher> redes = redesMetricas.stream().map(red -> new IpAddressMatcher(red.trim())).toList();
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(Customizer.withDefaults())
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(sesion -> sesion.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(RUTAS_PUBLICAS).permitAll()
+                        .requestMatchers("/actuator/prometheus").access((autenticacion, contexto) ->
+                                new AuthorizationDecision(redes.stream().anyMatch(red -> red.matches(contexto.getRequest()))))
+                        .requestMatchers(HttpMethod.POST, "/api/alertas/difusion").hasAnyRole(GESTION)
+                        .requestMatchers(HttpMethod.DELETE, "/api/alertas").hasAnyRole(GESTION)
+                        .requestMatchers(HttpMethod.GET, "/api/usuarios/**").hasAnyRole(GESTION)
+                        .requestMatchers("/api/usuarios/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, LECTURAS_PUBLICAS).permitAll()
+                        .requestMatchers("/api/estaciones/**").hasAnyRole(GESTION)
+                        .anyRequest().authenticated())
+                .exceptionHandling(errores -> errores.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtils), UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    /**
+     * Evita que Spring Boot cree el usuario en memoria con contraseña generada.
+     */
+    @Bean
+    public UserDetailsService userDetailsService() {
+        return username -> {
+            throw new UsernameNotFoundException("La autenticación es solo por token JWT");
+        };
+    }
+}
@@ -1,28 +1,36 @@
 package com.arequipa.aire.backend.controller;
 
 import com.arequipa.aire.backend.dto.AlertaDTO;
+import com.arequipa.aire.backend.dto.DifusionAlertaDTO;
+import com.arequipa.aire.backend.dto.DifusionAlertaResultadoDTO;
 import com.arequipa.aire.backend.entity.Alerta;
 import com.arequipa.aire.backend.entity.Estacion;
 import com.arequipa.aire.backend.entity.Usuario;
 import com.arequipa.aire.backend.repository.AlertaRepository;
 import com.arequipa.aire.backend.repository.EstacionRepository;
 import com.arequipa.aire.backend.repository.UsuarioRepository;
+import com.arequipa.aire.backend.service.AlertaDifusionService;
+import com.arequipa.aire.backend.service.AlertaMasivaService;
+import com.arequipa.aire.backend.service.ContadorAlertasService;
+import com.arequipa.aire.backend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Controlador REST para gestión de alertas del sistema.
@@ -42,12 +50,21 @@ public class AlertaController {
     @Autowired
     private EstacionRepository estacionRepository;
 
+    @Autowired
+    private AlertaDifusionService alertaDifusionService;
+
+    @Autowired
+    private ContadorAlertasService contadorAlertasService;
+
+    @Autowired
+    private AlertaMasivaService alertaMasivaService;
+
     @Operation(summary = "Obtener todas las alertas", description = "Devuelve una lista paginada de todas las alertas")
     @GetMapping
     public ResponseEntity<Page<AlertaDTO>> getAllAlertas(
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamaño de página")
+            @Parameter(description = "Tamaño de página (máximo 100)")
             @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo por el cual ordenar")
             @RequestParam(defaultValue = "fechaCreacion") String sortBy,
@@ -57,7 +74,7 @@ public class AlertaController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = Paginacion.de(page, size, sort);
         Page<Alerta> alertas = alertaRepository.findAll(pageable);
 
         Page<AlertaDTO> alertasDTO = alertas.map(this::convertToDTO);
@@ -65,35 +82,57 @@ public class AlertaController {
         return ResponseEntity.ok(alertasDTO);
     }
 
-    @Operation(summary = "Obtener alertas activas", description = "Devuelve las alertas que están activas/no leídas")
+    @Operation(summary = "Obtener alertas activas",
+               description = "Devuelve una página de alertas no leídas, de la más reciente a la más antigua, opcionalmente de un usuario")
     @GetMapping("/activas")
-    public ResponseEntity<List<AlertaDTO>> getAlertasActivas() {
-        List<Alerta> alertas = alertaRepository.findAll().stream()
-                .filter(a -> !a.getLeida())
-                .sorted((a1, a2) -> a2.getFechaCreacion().compareTo(a1.getFechaCreacion()))
-                .collect(Collectors.toList());
-        List<AlertaDTO> alertasDTO = alertas.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(alertasDTO);
+    public ResponseEntity<Slice<AlertaDTO>> getAlertasActivas(
+            @Parameter(description = "ID del usuario")
+            @RequestParam(required = false) Long usuarioId,
+            @Parameter(description = "Número de página")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = Paginacion.de(page, size);
+        Slice<Alerta> alertas = usuarioId != null
+                ? alertaRepository.findByUsuarioIdAndLeidaFalseOrderByFechaCreacionDesc(usuarioId, pageable)
+                : alertaRepository.findByLeidaFalseOrderByFechaCreacionDesc(pageable);
+        return ResponseEntity.ok(alertas.map(this::convertToDTO));
     }
 
-    @Operation(summary = "Obtener alertas por nivel", description = "Devuelve las alertas de un nivel de severidad específico")
+    @Operation(summary = "Obtener alertas por nivel",
+               description = "Devuelve una página de alertas de un nivel de severidad, de la más reciente a la más antigua, opcionalmente de un usuario")
     @GetMapping("/nivel/{nivel}")
-    public ResponseEntity<List<AlertaDTO>> getAlertasByNivel(@PathVariable String nivel) {
+    public ResponseEntity<Slice<AlertaDTO>> getAlertasByNivel(
+            @PathVariable String nivel,
+            @Parameter(description = "ID del usuario")
+            @RequestParam(required = false) Long usuarioId,
+            @Parameter(description = "Número de página")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        Alerta.SeveridadAlerta severidadAlerta;
         try {
-            Alerta.SeveridadAlerta severidadAlerta = Alerta.SeveridadAlerta.valueOf(nivel.toUpperCase());
-            List<Alerta> alertas = alertaRepository.findAll().stream()
-                    .filter(a -> a.getSeveridad() == severidadAlerta)
-                    .sorted((a1, a2) -> a2.getFechaCreacion().compareTo(a1.getFechaCreacion()))
-                    .collect(Collectors.toList());
-            List<AlertaDTO> alertasDTO = alertas.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(alertasDTO);
+            severidadAlerta = Alerta.SeveridadAlerta.valueOf(nivel.toUpperCase());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
+
+        Pageable pageable = Paginacion.de(page, size);
+        Slice<Alerta> alertas = usuarioId != null
+                ? alertaRepository.findByUsuarioIdAndSeveridadOrderByFechaCreacionDesc(usuarioId, severidadAlerta, pageable)
+                : alertaRepository.findBySeveridadOrderByFechaCreacionDesc(severidadAlerta, pageable);
+        return ResponseEntity.ok(alertas.map(this::convertToDTO));
+    }
+
+    @Operation(summary = "Obtener cantidad de alertas no leídas",
+               description = "Devuelve la cantidad de alertas no leídas de un usuario desde los contadores en memoria")
+    @GetMapping("/usuario/{usuarioId}/no-leidas")
+    public ResponseEntity<Map<String, Object>> getCantidadNoLeidas(@PathVariable Long usuarioId) {
+        return ResponseEntity.ok(Map.of(
+            "usuarioId", usuarioId,
+            "noLeidas", contadorAlertasService.getNoLeidas(usuarioId)
+        ));
     }
 
     @Operation(summary = "Obtener alerta por ID", description = "Devuelve una alerta específica por su ID")
@@ -121,9 +160,20 @@ public class AlertaController {
         }
 
         Alerta savedAlerta = alertaRepository.save(alerta);
+        if (!savedAlerta.getLeida()) {
+            contadorAlertasService.incrementar(usuario.get().getId());
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedAlerta));
     }
 
+    @Operation(summary = "Difundir alerta masiva",
+               description = "Crea una alerta para cada usuario afectado según sensibilidad y distrito, y la registra en la bandeja de salida por canal")
+    @PostMapping("/difusion")
+    public ResponseEntity<DifusionAlertaResultadoDTO> difundirAlerta(@Valid @RequestBody DifusionAlertaDTO difusionDTO) {
+        DifusionAlertaResultadoDTO resultado = alertaDifusionService.difundir(difusionDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
     @Operation(summary = "Actualizar alerta", description = "Actualiza una alerta existente")
     @PutMapping("/{id}")
     public ResponseEntity<AlertaDTO> updateAlerta(@PathVariable Long id, @Valid @RequestBody AlertaDTO alertaDTO) {
@@ -133,6 +183,7 @@ public class AlertaController {
         }
 
         Alerta alerta = existingAlerta.get();
+        boolean estabaLeida = Boolean.TRUE.equals(alerta.getLeida());
         alerta.setTitulo(alertaDTO.getTitulo());
         alerta.setMensaje(alertaDTO.getMensaje());
         alerta.setTipo(alertaDTO.getTipo());
@@ -142,20 +193,71 @@ public class AlertaController {
         alerta.setLeida(alertaDTO.getLeida());
 
         Alerta updatedAlerta = alertaRepository.save(alerta);
+        boolean quedaLeida = Boolean.TRUE.equals(updatedAlerta.getLeida());
+        if (estabaLeida != quedaLeida) {
+            contadorAlertasService.sumar(updatedAlerta.getUsuario().getId(), quedaLeida ? -1 : 1);
+        }
         return ResponseEntity.ok(convertToDTO(updatedAlerta));
     }
 
     @Operation(summary = "Eliminar alerta", description = "Elimina una alerta específica")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAlerta(@PathVariable Long id) {
-        if (!alertaRepository.existsById(id)) {
+        Optional<Alerta> alerta = alertaRepository.findById(id);
+        if (alerta.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        alertaRepository.deleteById(id);
+        alertaRepository.delete(alerta.get());
+        if (!Boolean.TRUE.equals(alerta.get().getLeida())) {
+            contadorAlertasService.decrementar(alerta.get().getUsuario().getId());
+        }
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Marcar todas las alertas como leídas",
+               description = "Marca como leídas todas las alertas pendientes de un usuario en una sola sentencia")
+    @PutMapping("/usuario/{usuarioId}/leer-todas")
+    public ResponseEntity<Map<String, Object>> marcarTodasLeidas(@PathVariable Long usuarioId) {
+        int actualizadas = alertaMasivaService.marcarTodasLeidas(usuarioId);
+        return ResponseEntity.ok(Map.of(
+            "usuarioId", usuarioId,
+            "actualizadas", actualizadas
+        ));
+    }
+
+    @Operation(summary = "Marcar alertas como leídas",
+               description = "Marca como leídas las alertas indicadas de un usuario en una sola sentencia")
+    @PutMapping("/usuario/{usuarioId}/leer")
+    public ResponseEntity<Map<String, Object>> marcarLeidas(
+            @PathVariable Long usuarioId,
+            @Parameter(description = "IDs de las alertas a marcar")
+            @RequestBody List<Long> ids) {
+        int actualizadas = alertaMasivaService.marcarLeidas(usuarioId, ids);
+        return ResponseEntity.ok(Map.of(
+            "usuarioId", usuarioId,
+            "actualizadas", actualizadas
+        ));
+    }
+
+    @Operation(summary = "Eliminar alertas por filtro",
+               description = "Elimina en una sola sentencia las alertas que cumplen todos los filtros indicados (al menos uno)")
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> eliminarAlertas(
+            @Parameter(description = "ID del usuario")
+            @RequestParam(required = false) Long usuarioId,
+            @Parameter(description = "Estado de lectura")
+            @RequestParam(required = false) Boolean leida,
+            @Parameter(description = "Severidad")
+            @RequestParam(required = false) Alerta.SeveridadAlerta severidad,
+            @Parameter(description = "Tipo de alerta")
+            @RequestParam(required = false) Alerta.TipoAlerta tipo,
+            @Parameter(description = "Eliminar alertas creadas antes de esta fecha")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime antesDe) {
+        int eliminadas = alertaMasivaService.eliminar(usuarioId, leida, severidad, tipo, antesDe);
+        return ResponseEntity.ok(Map.of("eliminadas", eliminadas));
+    }
+
     /**
      * Convierte una entidad Alerta a AlertaDTO
      */
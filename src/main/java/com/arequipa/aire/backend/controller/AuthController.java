@@ -0,0 +1,78 @@
+package com.arequipa.aire.backend.controller;
+
+import com.arequipa.aire.backend.dto.AuthResponseDTO;
+import com.arequipa.aire.backend.dto.LoginRequestDTO;
+import com.arequipa.aire.backend.dto.UsuarioDTO;
+import com.arequipa.aire.backend.entity.Usuario;
+import com.arequipa.aire.backend.repository.UsuarioRepository;
+import com.arequipa.aire.backend.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST de autenticación.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Autenticación", description = "API de login y registro con tokens JWT")
+@CrossOrigin(origins = "*")
+public class AuthController {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Operation(summary = "Iniciar sesión", description = "Autentica por username o email y devuelve un token JWT")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Autenticación exitosa"),
+            @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos"),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado")
+    })
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> login(@Valid @RequestBody LoginRequestDTO loginDTO,
+                                                                    HttpServletRequest request) {
+        return authService.login(loginDTO, request.getRemoteAddr()).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Registrar usuario", description = "Registra un nuevo usuario y devuelve un token JWT")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Usuario registrado exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+            @ApiResponse(responseCode = "409", description = "Usuario o email ya existe")
+    })
+    @PostMapping("/registro")
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> registrar(@Valid @RequestBody UsuarioDTO usuarioDTO) {
+        if (usuarioRepository.existsByUsername(usuarioDTO.getUsername())
+                || usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
+        }
+
+        Usuario usuario = new Usuario();
+        usuario.setUsername(usuarioDTO.getUsername());
+        usuario.setEmail(usuarioDTO.getEmail());
+        usuario.setNombreCompleto(usuarioDTO.getNombreCompleto());
+        usuario.setTelefono(usuarioDTO.getTelefono());
+        usuario.setDistrito(usuarioDTO.getDistrito());
+        usuario.setRole(Usuario.Role.CIUDADANO);
+        if (usuarioDTO.getTipoSensibilidad() != null) {
+            usuario.setTipoSensibilidad(usuarioDTO.getTipoSensibilidad());
+        }
+        usuario.setActivo(true);
+
+        return authService.registrar(usuario, usuarioDTO.getPassword())
+                .thenApply(guardado -> ResponseEntity.status(HttpStatus.CREATED).body(authService.emitirToken(guardado)));
+    }
+}
@@ -1,7 +1,12 @@
 package com.arequipa.aire.backend.controller;
 
+import com.arequipa.aire.backend.dto.AgregadoDistritoDTO;
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
 import com.arequipa.aire.backend.entity.Medicion;
 import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.service.AgregadoDistritoService;
+import com.arequipa.aire.backend.service.PrediccionesActualesService;
+import com.arequipa.aire.backend.util.AQICalculator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,48 +27,25 @@ public class CalidadAireController {
     @Autowired
     private MedicionRepository medicionRepository;
 
+    @Autowired
+    private AgregadoDistritoService agregadoDistritoService;
+
+    @Autowired
+    private PrediccionesActualesService prediccionesActualesService;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
     @Operation(summary = "Obtener calidad del aire actual", 
                description = "Devuelve los datos actuales de calidad del aire de todas las estaciones")
     @GetMapping("/actual")
-    public ResponseEntity<List<Object>> getCalidadAireActual() {
+    public ResponseEntity<MedicionesRespuesta> getCalidadAireActual() {
         try {
             // Obtener las mediciones más recientes
-            List<Medicion> medicionesRecientes = medicionRepository.findAll()
-                    .stream()
-                    .sorted((m1, m2) -> m2.getFechaMedicion().compareTo(m1.getFechaMedicion()))
-                    .limit(10)
-                    .toList();
-            
-            List<Object> datos = new ArrayList<>();
-            for (Medicion medicion : medicionesRecientes) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("id", medicion.getId());
-                item.put("estacionId", medicion.getEstacion().getId());
-                item.put("estacion", Map.of(
-                    "id", medicion.getEstacion().getId(),
-                    "nombre", medicion.getEstacion().getNombre(),
-                    "latitud", medicion.getEstacion().getLatitud(),
-                    "longitud", medicion.getEstacion().getLongitud()
-                ));
-                item.put("fechaHora", medicion.getFechaMedicion().toString());
-                item.put("pm25", medicion.getPm25());
-                item.put("pm10", medicion.getPm10());
-                item.put("no2", medicion.getNo2());
-                item.put("o3", medicion.getO3());
-                item.put("co", medicion.getCo());
-                item.put("so2", medicion.getSo2());
-                
-                // Calcular AQI simple basado en PM2.5
-                Integer aqi = calcularAQI(medicion.getPm25());
-                item.put("aqi", aqi);
-                item.put("categoria", obtenerCategoriaAQI(aqi));
-                
-                datos.add(item);
-            }
-            
-            return ResponseEntity.ok(datos);
+            List<Medicion> medicionesRecientes = medicionRepository.findTop10ByOrderByFechaMedicionDesc();
+            return ResponseEntity.ok(MedicionesRespuesta.actual(medicionesRecientes));
         } catch (Exception e) {
-            return ResponseEntity.ok(new ArrayList<>());
+            return ResponseEntity.ok(MedicionesRespuesta.actual(List.of()));
         }
     }
 
@@ -100,10 +82,9 @@ public class CalidadAireController {
             item.put("co", medicion.getCo());
             item.put("so2", medicion.getSo2());
             
-            // Calcular AQI simple basado en PM2.5
-            Integer aqi = calcularAQI(medicion.getPm25());
+            Integer aqi = aqiCalculator.calcularAQI(medicion);
             item.put("aqi", aqi);
-            item.put("categoria", obtenerCategoriaAQI(aqi));
+            item.put("categoria", aqiCalculator.obtenerCategoria(medicion.getCategoriaAqi(), aqi));
             
             return ResponseEntity.ok(item);
         } catch (Exception e) {
@@ -127,11 +108,11 @@ public class CalidadAireController {
             }
             
             Medicion medicion = medicionReciente.get();
-            Integer aqi = calcularAQI(medicion.getPm25());
+            Integer aqi = aqiCalculator.calcularAQI(medicion);
             
             Map<String, Object> indice = new HashMap<>();
             indice.put("aqi", aqi);
-            indice.put("categoria", obtenerCategoriaAQI(aqi));
+            indice.put("categoria", aqiCalculator.obtenerCategoria(medicion.getCategoriaAqi(), aqi));
             indice.put("fechaHora", medicion.getFechaMedicion().toString());
             indice.put("estacionId", estacionId);
             
@@ -141,30 +122,20 @@ public class CalidadAireController {
         }
     }
     
-    /**
-     * Calcula el AQI basado en PM2.5 (simplificado)
-     */
-    private Integer calcularAQI(Double pm25) {
-        if (pm25 == null) return null;
-        
-        if (pm25 <= 12.0) return (int) (pm25 * 50 / 12.0);
-        if (pm25 <= 35.4) return (int) (50 + (pm25 - 12.0) * 50 / 23.4);
-        if (pm25 <= 55.4) return (int) (100 + (pm25 - 35.4) * 50 / 20.0);
-        if (pm25 <= 150.4) return (int) (150 + (pm25 - 55.4) * 50 / 95.0);
-        if (pm25 <= 250.4) return (int) (200 + (pm25 - 150.4) * 100 / 100.0);
-        return (int) (300 + (pm25 - 250.4) * 100 / 149.6);
+    @Operation(summary = "Obtener calidad del aire por distrito",
+               description = "Devuelve el número de mediciones, AQI promedio y máximo por distrito en la última hora y las últimas 24 horas")
+    @GetMapping("/distritos")
+    public ResponseEntity<List<AgregadoDistritoDTO>> getCalidadAirePorDistrito() {
+        return ResponseEntity.ok(agregadoDistritoService.getAgregados());
     }
-    
-    /**
-     * Obtiene la categoría del AQI
-     */
-    private String obtenerCategoriaAQI(Integer aqi) {
-        if (aqi == null) return "Sin datos";
-        if (aqi <= 50) return "Bueno";
-        if (aqi <= 100) return "Moderado";
-        if (aqi <= 150) return "Dañino para grupos sensibles";
-        if (aqi <= 200) return "Dañino";
-        if (aqi <= 300) return "Muy dañino";
-        return "Peligroso";
+
+    @Operation(summary = "Obtener pronóstico de calidad del aire",
+               description = "Devuelve las predicciones vigentes de las estaciones activas, o de una sola con estacionId")
+    @GetMapping("/pronostico")
+    public ResponseEntity<List<PrediccionesActualesService.PrediccionActual>> getPronostico(
+            @RequestParam(required = false) Long estacionId) {
+        return ResponseEntity.ok(estacionId != null
+                ? prediccionesActualesService.getPredicciones(estacionId)
+                : prediccionesActualesService.getPredicciones());
     }
 }
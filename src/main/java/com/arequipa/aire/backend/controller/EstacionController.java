@@ -2,7 +2,10 @@ package com.arequipa.aire.backend.controller;
 
 import com.arequipa.aire.backend.dto.EstacionDTO;
 import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
 import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.service.BusquedaService;
+import com.arequipa.aire.backend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,8 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -35,6 +38,12 @@ public class EstacionController {
     @Autowired
     private EstacionRepository estacionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
     @Operation(summary = "Obtener todas las estaciones", description = "Devuelve una lista de todas las estaciones o paginada según parámetros")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de estaciones obtenida exitosamente")
@@ -43,7 +52,7 @@ public class EstacionController {
     public ResponseEntity<?> getAllEstaciones(
             @Parameter(description = "Número de página (empezando desde 0)")
             @RequestParam(required = false) Integer page,
-            @Parameter(description = "Tamaño de página")
+            @Parameter(description = "Tamaño de página (máximo 100)")
             @RequestParam(required = false) Integer size,
             @Parameter(description = "Campo por el cual ordenar")
             @RequestParam(defaultValue = "id") String sortBy,
@@ -63,7 +72,7 @@ public class EstacionController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 10, sort);
+        Pageable pageable = Paginacion.de(page != null ? page : 0, size != null ? size : 10, sort);
         Page<Estacion> estaciones = estacionRepository.findAll(pageable);
 
         Page<EstacionDTO> estacionesDTO = estaciones.map(this::convertToDTO);
@@ -71,6 +80,20 @@ public class EstacionController {
         return ResponseEntity.ok(estacionesDTO);
     }
 
+    @Operation(summary = "Buscar estaciones",
+               description = "Autocompletado de estaciones activas por nombre o distrito, con coincidencia por prefijo, subcadena o aproximada")
+    @GetMapping("/buscar")
+    public ResponseEntity<List<EstacionDTO>> buscarEstaciones(
+            @Parameter(description = "Texto a buscar")
+            @RequestParam String q,
+            @Parameter(description = "Cantidad máxima de resultados")
+            @RequestParam(defaultValue = "10") int limite) {
+        List<EstacionDTO> estacionesDTO = busquedaService.buscarEstaciones(q, limite).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(estacionesDTO);
+    }
+
     @Operation(summary = "Obtener estación por ID", description = "Devuelve una estación específica por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estación encontrada"),
@@ -97,6 +120,7 @@ public class EstacionController {
         estacion.setFechaActualizacion(LocalDateTime.now());
 
         Estacion savedEstacion = estacionRepository.save(estacion);
+        eventPublisher.publishEvent(new EstacionModificadaEvent(savedEstacion));
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedEstacion));
     }
 
@@ -123,6 +147,7 @@ public class EstacionController {
         estacion.setFechaActualizacion(LocalDateTime.now());
 
         Estacion updatedEstacion = estacionRepository.save(estacion);
+        eventPublisher.publishEvent(new EstacionModificadaEvent(updatedEstacion));
         return ResponseEntity.ok(convertToDTO(updatedEstacion));
     }
 
@@ -143,6 +168,7 @@ public class EstacionController {
         estacionToUpdate.setActiva(false);
         estacionToUpdate.setFechaActualizacion(LocalDateTime.now());
         estacionRepository.save(estacionToUpdate);
+        eventPublisher.publishEvent(new EstacionModificadaEvent(estacionToUpdate));
 
         return ResponseEntity.noContent().build();
     }
@@ -1,7 +1,10 @@
 package com.arequipa.aire.backend.controller;
 
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.dto.SerieColumnar;
 import com.arequipa.aire.backend.entity.Medicion;
 import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.util.AQICalculator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,52 +28,34 @@ public class HistoricoController {
     @Autowired
     private MedicionRepository medicionRepository;
 
+    @Autowired
+    private AQICalculator aqiCalculator;
+
     @Operation(summary = "Obtener datos históricos por estación", 
-               description = "Devuelve datos históricos de calidad del aire para una estación específica")
+               description = "Devuelve datos históricos de calidad del aire para una estación específica. "
+                       + "Con format=columnar devuelve un arreglo por campo y los instantes como segundos desde el inicio")
     @GetMapping("/estacion/{estacionId}")
-    public ResponseEntity<List<Object>> getHistorico(
+    public ResponseEntity<Object> getHistorico(
             @Parameter(description = "ID de la estación")
             @PathVariable Long estacionId,
             @Parameter(description = "Fecha de inicio (YYYY-MM-DD)")
             @RequestParam String fechaInicio,
             @Parameter(description = "Fecha de fin (YYYY-MM-DD)")
-            @RequestParam String fechaFin) {
+            @RequestParam String fechaFin,
+            @Parameter(description = "Formato de respuesta (filas, columnar)")
+            @RequestParam(required = false) String format) {
         
         try {
+            boolean columnar = SerieColumnar.solicitado(format);
             LocalDateTime inicio = LocalDateTime.parse(fechaInicio + "T00:00:00");
             LocalDateTime fin = LocalDateTime.parse(fechaFin + "T23:59:59");
             
             // Filtrar mediciones por estación y rango de fechas
-            List<Medicion> mediciones = medicionRepository.findAll()
-                    .stream()
-                    .filter(m -> m.getEstacion().getId().equals(estacionId))
-                    .filter(m -> m.getFechaMedicion().isAfter(inicio) && m.getFechaMedicion().isBefore(fin))
-                    .sorted(Comparator.comparing(Medicion::getFechaMedicion))
-                    .collect(Collectors.toList());
-            
-            List<Object> datos = new ArrayList<>();
-            for (Medicion medicion : mediciones) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("id", medicion.getId());
-                item.put("fechaHora", medicion.getFechaMedicion().toString());
-                item.put("pm25", medicion.getPm25());
-                item.put("pm10", medicion.getPm10());
-                item.put("no2", medicion.getNo2());
-                item.put("o3", medicion.getO3());
-                item.put("co", medicion.getCo());
-                item.put("so2", medicion.getSo2());
-                item.put("temperatura", medicion.getTemperatura());
-                item.put("humedad", medicion.getHumedad());
-                
-                // Calcular AQI simple basado en PM2.5
-                Integer aqi = calcularAQI(medicion.getPm25());
-                item.put("aqi", aqi);
-                item.put("categoria", obtenerCategoriaAQI(aqi));
-                
-                datos.add(item);
+            List<Medicion> mediciones = medicionRepository.findHistoricoPorEstacion(estacionId, inicio, fin);
+            if (columnar) {
+                return ResponseEntity.ok(SerieColumnar.de(estacionId, mediciones, aqiCalculator::calcularAQI));
             }
-            
-            return ResponseEntity.ok(datos);
+            return ResponseEntity.ok(MedicionesRespuesta.historico(mediciones));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -109,7 +94,7 @@ public class HistoricoController {
                     .average().orElse(0);
             double promedioAQI = mediciones.stream()
                     .mapToDouble(m -> {
-                        Integer aqi = calcularAQI(m.getPm25());
+                        Integer aqi = aqiCalculator.calcularAQI(m);
                         return aqi != null ? aqi : 0;
                     })
                     .average().orElse(0);
@@ -156,7 +141,7 @@ public class HistoricoController {
             
             if (!mediciones.isEmpty()) {
                 List<Integer> aqiValues = mediciones.stream()
-                        .map(m -> calcularAQI(m.getPm25()))
+                        .map(aqiCalculator::calcularAQI)
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
                 
@@ -172,31 +157,4 @@ public class HistoricoController {
             return ResponseEntity.badRequest().build();
         }
     }
-    
-    /**
-     * Calcula el AQI basado en PM2.5 (simplificado)
-     */
-    private Integer calcularAQI(Double pm25) {
-        if (pm25 == null) return null;
-        
-        if (pm25 <= 12.0) return (int) (pm25 * 50 / 12.0);
-        if (pm25 <= 35.4) return (int) (50 + (pm25 - 12.0) * 50 / 23.4);
-        if (pm25 <= 55.4) return (int) (100 + (pm25 - 35.4) * 50 / 20.0);
-        if (pm25 <= 150.4) return (int) (150 + (pm25 - 55.4) * 50 / 95.0);
-        if (pm25 <= 250.4) return (int) (200 + (pm25 - 150.4) * 100 / 100.0);
-        return (int) (300 + (pm25 - 250.4) * 100 / 149.6);
-    }
-    
-    /**
-     * Obtiene la categoría del AQI
-     */
-    private String obtenerCategoriaAQI(Integer aqi) {
-        if (aqi == null) return "Sin datos";
-        if (aqi <= 50) return "Bueno";
-        if (aqi <= 100) return "Moderado";
-        if (aqi <= 150) return "Dañino para grupos sensibles";
-        if (aqi <= 200) return "Dañino";
-        if (aqi <= 300) return "Muy dañino";
-        return "Peligroso";
-    }
 }
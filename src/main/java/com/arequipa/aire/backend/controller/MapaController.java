@@ -0,0 +1,43 @@
+package com.arequipa.aire.backend.controller;
+
+import com.arequipa.aire.backend.service.MapaTileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controlador REST para las teselas del mapa de calidad del aire.
+ */
+@RestController
+@RequestMapping("/api/mapa")
+@Tag(name = "Mapa", description = "API para teselas raster del mapa de calidad del aire")
+@CrossOrigin(origins = "*")
+public class MapaController {
+
+    @Autowired
+    private MapaTileService mapaTileService;
+
+    @Operation(summary = "Obtener tesela del mapa",
+               description = "Devuelve una tesela PNG (esquema z/x/y) coloreada según el AQI interpolado de las estaciones")
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.png", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getTesela(
+            @Parameter(description = "Nivel de zoom") @PathVariable int z,
+            @Parameter(description = "Columna de la tesela") @PathVariable int x,
+            @Parameter(description = "Fila de la tesela") @PathVariable int y) {
+
+        MapaTileService.Tesela tesela = mapaTileService.getTesela(z, x, y);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .eTag("\"v" + tesela.version() + "\"")
+                .body(tesela.bytes());
+    }
+}
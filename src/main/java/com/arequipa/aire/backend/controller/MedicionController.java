@@ -1,10 +1,15 @@
 package com.arequipa.aire.backend.controller;
 
 import com.arequipa.aire.backend.dto.CalidadAireDTO;
+import com.arequipa.aire.backend.dto.SerieColumnar;
 import com.arequipa.aire.backend.entity.Estacion;
 import com.arequipa.aire.backend.entity.Medicion;
 import com.arequipa.aire.backend.repository.EstacionRepository;
 import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.service.IngestaAsincronaService;
+import com.arequipa.aire.backend.service.IngestaMedicionesService;
+import com.arequipa.aire.backend.util.AQICalculator;
+import com.arequipa.aire.backend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -39,12 +44,21 @@ public class MedicionController {
     @Autowired
     private EstacionRepository estacionRepository;
 
+    @Autowired
+    private IngestaMedicionesService ingestaMedicionesService;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    @Autowired(required = false)
+    private IngestaAsincronaService ingestaAsincronaService;
+
     @Operation(summary = "Obtener todas las mediciones", description = "Devuelve una lista paginada de todas las mediciones")
     @GetMapping
     public ResponseEntity<Page<CalidadAireDTO>> getAllMediciones(
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamaño de página")
+            @Parameter(description = "Tamaño de página (máximo 100)")
             @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo por el cual ordenar")
             @RequestParam(defaultValue = "fechaMedicion") String sortBy,
@@ -54,7 +68,7 @@ public class MedicionController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = Paginacion.de(page, size, sort);
         Page<Medicion> mediciones = medicionRepository.findAll(pageable);
 
         Page<CalidadAireDTO> medicionesDTO = mediciones.map(this::convertToDTO);
@@ -62,14 +76,19 @@ public class MedicionController {
         return ResponseEntity.ok(medicionesDTO);
     }
 
-    @Operation(summary = "Obtener mediciones por estación", description = "Devuelve las mediciones de una estación específica")
+    @Operation(summary = "Obtener mediciones por estación",
+               description = "Devuelve las mediciones de una estación específica. "
+                       + "Con format=columnar devuelve la página como un arreglo por campo, en orden cronológico")
     @GetMapping("/estacion/{estacionId}")
-    public ResponseEntity<Page<CalidadAireDTO>> getMedicionesByEstacion(
+    public ResponseEntity<Object> getMedicionesByEstacion(
             @PathVariable Long estacionId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Formato de respuesta (filas, columnar)")
+            @RequestParam(required = false) String format) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("fechaMedicion").descending());
+        boolean columnar = SerieColumnar.solicitado(format);
+        Pageable pageable = Paginacion.de(page, size, Sort.by("fechaMedicion").descending());
         // Usar método del repositorio que existe
         Optional<Estacion> estacion = estacionRepository.findById(estacionId);
         if (estacion.isEmpty()) {
@@ -78,6 +97,10 @@ public class MedicionController {
 
         Page<Medicion> mediciones = medicionRepository.findByEstacionAndFechaMedicionBetweenOrderByFechaMedicionDesc(
                 estacion.get(), LocalDateTime.now().minusDays(30), LocalDateTime.now(), pageable);
+        if (columnar) {
+            return ResponseEntity.ok(SerieColumnar.dePaginaDescendente(estacionId, mediciones,
+                    aqiCalculator::calcularAQI));
+        }
 
         Page<CalidadAireDTO> medicionesDTO = mediciones.map(this::convertToDTO);
 
@@ -124,7 +147,9 @@ public class MedicionController {
         return ResponseEntity.ok(medicionesDTO);
     }
 
-    @Operation(summary = "Crear nueva medición", description = "Registra una nueva medición de calidad del aire")
+    @Operation(summary = "Crear nueva medición", description = "Registra una nueva medición de calidad del aire. "
+            + "Si ya existe una para la misma estación y fecha la actualiza (o la ignora) y responde 200. "
+            + "Con la ingesta asíncrona habilitada responde 202 cuando la medición está en la bitácora local")
     @PostMapping
     public ResponseEntity<CalidadAireDTO> createMedicion(@Valid @RequestBody CalidadAireDTO medicionDTO) {
         Optional<Estacion> estacion = estacionRepository.findById(medicionDTO.getEstacionId());
@@ -135,8 +160,17 @@ public class MedicionController {
         Medicion medicion = convertToEntity(medicionDTO);
         medicion.setEstacion(estacion.get());
 
-        Medicion savedMedicion = medicionRepository.save(medicion);
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedMedicion));
+        if (ingestaAsincronaService != null) {
+            // Escrita en la bitácora local; se guarda en la base en segundo plano
+            ingestaAsincronaService.aceptar(medicion);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(convertToDTO(medicion));
+        }
+
+        // Repetir la misma estación y fecha no duplica: 200 con la medición vigente
+        IngestaMedicionesService.Registro registro = ingestaMedicionesService.registrar(medicion);
+        HttpStatus estado = registro.resultado() == IngestaMedicionesService.Resultado.INSERTADA
+                ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(estado).body(convertToDTO(registro.medicion()));
     }
 
     @Operation(summary = "Obtener medición por ID", description = "Devuelve una medición específica por su ID")
@@ -175,12 +209,20 @@ public class MedicionController {
         dto.setPresion(medicion.getPresion());
         dto.setVelocidadViento(medicion.getVelocidadViento());
         dto.setDireccionViento(medicion.getDireccionViento());
+        dto.setConfiabilidad(medicion.getConfiabilidad());
 
-        // Calcular AQI básico si hay datos disponibles
-        if (medicion.getPm25() != null || medicion.getPm10() != null) {
-            Integer aqi = calculateSimpleAQI(medicion.getPm25(), medicion.getPm10());
-            dto.setAqi(aqi);
-            dto.setCategoriaAqi(getAQICategory(aqi)); // Usar categoriaAqi en lugar de nivelCalidad
+        if (medicion.getAqi() != null) {
+            dto.setAqi(medicion.getAqi());
+            dto.setCategoriaAqi(medicion.getCategoriaAqi());
+            dto.setColorAqi(medicion.getColorAqi());
+            dto.setContaminantePrincipal(medicion.getContaminantePrincipal());
+        } else {
+            // Medición sin AQI guardado: el calculado con sus concentraciones, si las tiene
+            Integer aqi = aqiCalculator.calcularAQI(medicion);
+            if (aqi != null) {
+                dto.setAqi(aqi);
+                dto.setCategoriaAqi(aqiCalculator.obtenerCategoria(medicion.getCategoriaAqi(), aqi));
+            }
         }
 
         return dto;
@@ -205,45 +247,4 @@ public class MedicionController {
         medicion.setDireccionViento(dto.getDireccionViento());
         return medicion;
     }
-
-    /**
-     * Calcula un AQI simplificado basado en PM2.5 y PM10
-     */
-    private Integer calculateSimpleAQI(Double pm25, Double pm10) {
-        if (pm25 == null && pm10 == null) return null;
-
-        int aqiPm25 = 0;
-        int aqiPm10 = 0;
-
-        if (pm25 != null) {
-            if (pm25 <= 12.0) aqiPm25 = (int) (50 * pm25 / 12.0);
-            else if (pm25 <= 35.4) aqiPm25 = (int) (50 + (50 * (pm25 - 12.1) / 23.3));
-            else if (pm25 <= 55.4) aqiPm25 = (int) (100 + (50 * (pm25 - 35.5) / 19.9));
-            else if (pm25 <= 150.4) aqiPm25 = (int) (150 + (50 * (pm25 - 55.5) / 94.9));
-            else aqiPm25 = Math.min(300, (int) (200 + (100 * (pm25 - 150.5) / 99.9)));
-        }
-
-        if (pm10 != null) {
-            if (pm10 <= 54) aqiPm10 = (int) (50 * pm10 / 54);
-            else if (pm10 <= 154) aqiPm10 = (int) (50 + (50 * (pm10 - 55) / 99));
-            else if (pm10 <= 254) aqiPm10 = (int) (100 + (50 * (pm10 - 155) / 99));
-            else if (pm10 <= 354) aqiPm10 = (int) (150 + (50 * (pm10 - 255) / 99));
-            else aqiPm10 = Math.min(300, (int) (200 + (100 * (pm10 - 355) / 145)));
-        }
-
-        return Math.max(aqiPm25, aqiPm10);
-    }
-
-    /**
-     * Obtiene la categoría de calidad del aire basada en el AQI
-     */
-    private String getAQICategory(Integer aqi) {
-        if (aqi == null) return "Desconocido";
-        if (aqi <= 50) return "Bueno";
-        if (aqi <= 100) return "Moderado";
-        if (aqi <= 150) return "Insalubre para grupos sensibles";
-        if (aqi <= 200) return "Insalubre";
-        if (aqi <= 300) return "Muy insalubre";
-        return "Peligroso";
-    }
 }
@@ -3,6 +3,9 @@ package com.arequipa.aire.backend.controller;
 import com.arequipa.aire.backend.dto.UsuarioDTO;
 import com.arequipa.aire.backend.entity.Usuario;
 import com.arequipa.aire.backend.repository.UsuarioRepository;
+import com.arequipa.aire.backend.service.AuthService;
+import com.arequipa.aire.backend.service.BusquedaService;
+import com.arequipa.aire.backend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,7 +14,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +38,12 @@ public class UsuarioController {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private AuthService authService;
+
     @Operation(summary = "Registrar usuario", description = "Registra un nuevo usuario en el sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Usuario registrado exitosamente"),
@@ -42,14 +51,14 @@ public class UsuarioController {
             @ApiResponse(responseCode = "409", description = "Usuario o email ya existe")
     })
     @PostMapping("/registro")
-    public ResponseEntity<UsuarioDTO> registrarUsuario(@Valid @RequestBody UsuarioDTO usuarioDTO) {
+    public CompletableFuture<ResponseEntity<UsuarioDTO>> registrarUsuario(@Valid @RequestBody UsuarioDTO usuarioDTO) {
         // Verificar si el usuario ya existe
         if (usuarioRepository.existsByUsername(usuarioDTO.getUsername())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
         }
 
         if (usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
         }
 
         Usuario usuario = convertToEntity(usuarioDTO);
@@ -57,8 +66,8 @@ public class UsuarioController {
         usuario.setFechaCreacion(LocalDateTime.now());
         usuario.setFechaActualizacion(LocalDateTime.now());
 
-        Usuario savedUsuario = usuarioRepository.save(usuario);
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedUsuario));
+        return authService.registrar(usuario, usuarioDTO.getPassword())
+                .thenApply(savedUsuario -> ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedUsuario)));
     }
 
     @Operation(summary = "Obtener todos los usuarios", description = "Devuelve una lista paginada de todos los usuarios")
@@ -66,7 +75,7 @@ public class UsuarioController {
     public ResponseEntity<Page<UsuarioDTO>> getAllUsuarios(
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamaño de página")
+            @Parameter(description = "Tamaño de página (máximo 100)")
             @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo por el cual ordenar")
             @RequestParam(defaultValue = "id") String sortBy,
@@ -76,7 +85,7 @@ public class UsuarioController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = Paginacion.de(page, size, sort);
         Page<Usuario> usuarios = usuarioRepository.findAll(pageable);
 
         Page<UsuarioDTO> usuariosDTO = usuarios.map(this::convertToDTO);
@@ -157,6 +166,20 @@ public class UsuarioController {
         }
     }
 
+    @Operation(summary = "Buscar usuarios",
+               description = "Autocompletado de usuarios activos por username o nombre completo")
+    @GetMapping("/buscar")
+    public ResponseEntity<List<UsuarioDTO>> buscarUsuarios(
+            @Parameter(description = "Texto a buscar")
+            @RequestParam String q,
+            @Parameter(description = "Cantidad máxima de resultados")
+            @RequestParam(defaultValue = "10") int limite) {
+        List<UsuarioDTO> usuariosDTO = busquedaService.buscarUsuarios(q, limite).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(usuariosDTO);
+    }
+
     @Operation(summary = "Obtener usuarios activos", description = "Devuelve solo los usuarios que están activos")
     @GetMapping("/activos")
     public ResponseEntity<List<UsuarioDTO>> getUsuariosActivos() {
@@ -177,6 +200,7 @@ public class UsuarioController {
         dto.setEmail(usuario.getEmail());
         dto.setNombreCompleto(usuario.getNombreCompleto());
         dto.setTelefono(usuario.getTelefono());
+        dto.setDistrito(usuario.getDistrito());
         dto.setRole(usuario.getRole());
         dto.setTipoSensibilidad(usuario.getTipoSensibilidad());
         dto.setActivo(usuario.getActivo());
@@ -193,6 +217,7 @@ public class UsuarioController {
         usuario.setEmail(dto.getEmail());
         usuario.setNombreCompleto(dto.getNombreCompleto());
         usuario.setTelefono(dto.getTelefono());
+        usuario.setDistrito(dto.getDistrito());
         usuario.setRole(dto.getRole() != null ? dto.getRole() : Usuario.Role.CIUDADANO);
 
         if (dto.getTipoSensibilidad() != null) {
@@ -211,6 +236,7 @@ public class UsuarioController {
         usuario.setEmail(dto.getEmail());
         usuario.setNombreCompleto(dto.getNombreCompleto());
         usuario.setTelefono(dto.getTelefono());
+        usuario.setDistrito(dto.getDistrito());
 
         if (dto.getRole() != null) {
             usuario.setRole(dto.getRole());
@@ -0,0 +1,102 @@
+package com.arequipa.aire.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO para los agregados de calidad del aire por distrito.
+ */
+@Schema(description = "Agregados de AQI por distrito en ventanas de 1 y 24 horas")
+public class AgregadoDistritoDTO {
+
+    @Schema(description = "Distrito", example = "Cercado")
+    private String distrito;
+
+    @Schema(description = "Cantidad de estaciones activas en el distrito", example = "3")
+    private Integer estaciones;
+
+    @Schema(description = "Cantidad de mediciones en la última hora", example = "6")
+    private Long medicionesUltimaHora;
+
+    @Schema(description = "AQI promedio en la última hora", example = "62.5")
+    private Double promedioAqiUltimaHora;
+
+    @Schema(description = "AQI máximo en la última hora", example = "78")
+    private Integer maxAqiUltimaHora;
+
+    @Schema(description = "Cantidad de mediciones en las últimas 24 horas", example = "144")
+    private Long mediciones24Horas;
+
+    @Schema(description = "AQI promedio en las últimas 24 horas", example = "58.3")
+    private Double promedioAqi24Horas;
+
+    @Schema(description = "AQI máximo en las últimas 24 horas", example = "110")
+    private Integer maxAqi24Horas;
+
+    // Constructors
+    public AgregadoDistritoDTO() {}
+
+    // Getters and Setters
+    public String getDistrito() {
+        return distrito;
+    }
+
+    public void setDistrito(String distrito) {
+        this.distrito = distrito;
+    }
+
+    public Integer getEstaciones() {
+        return estaciones;
+    }
+
+    public void setEstaciones(Integer estaciones) {
+        this.estaciones = estaciones;
+    }
+
+    public Long getMedicionesUltimaHora() {
+        return medicionesUltimaHora;
+    }
+
+    public void setMedicionesUltimaHora(Long medicionesUltimaHora) {
+        this.medicionesUltimaHora = medicionesUltimaHora;
+    }
+
+    public Double getPromedioAqiUltimaHora() {
+        return promedioAqiUltimaHora;
+    }
+
+    public void setPromedioAqiUltimaHora(Double promedioAqiUltimaHora) {
+        this.promedioAqiUltimaHora = promedioAqiUltimaHora;
+    }
+
+    public Integer getMaxAqiUltimaHora() {
+        return maxAqiUltimaHora;
+    }
+
+    public void setMaxAqiUltimaHora(Integer maxAqiUltimaHora) {
+        this.maxAqiUltimaHora = maxAqiUltimaHora;
+    }
+
+    public Long getMediciones24Horas() {
+        return mediciones24Horas;
+    }
+
+    public void setMediciones24Horas(Long mediciones24Horas) {
+        this.mediciones24Horas = mediciones24Horas;
+    }
+
+    public Double getPromedioAqi24Horas() {
+        return promedioAqi24Horas;
+    }
+
+    public void setPromedioAqi24Horas(Double promedioAqi24Horas) {
+        this.promedioAqi24Horas = promedioAqi24Horas;
+    }
+
+    public Integer getMaxAqi24Horas() {
+        return maxAqi24Horas;
+    }
+
+    public void setMaxAqi24Horas(Integer maxAqi24Horas) {
+        this.maxAqi24Horas = maxAqi24Horas;
+    }
+}
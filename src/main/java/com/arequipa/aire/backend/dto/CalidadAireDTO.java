@@ -59,6 +59,9 @@ public class CalidadAireDTO {
     @Schema(description = "Color asociado al AQI", example = "#FFFF00")
     private String colorAqi;
 
+    @Schema(description = "Contaminante que determina el AQI", example = "PM2.5")
+    private String contaminantePrincipal;
+
     @Schema(description = "Recomendación de salud", example = "Grupos sensibles deben considerar limitar actividades al aire libre")
     private String recomendacion;
 
@@ -209,6 +212,14 @@ public class CalidadAireDTO {
         this.colorAqi = colorAqi;
     }
 
+    public String getContaminantePrincipal() {
+        return contaminantePrincipal;
+    }
+
+    public void setContaminantePrincipal(String contaminantePrincipal) {
+        this.contaminantePrincipal = contaminantePrincipal;
+    }
+
     public String getRecomendacion() {
         return recomendacion;
     }
@@ -0,0 +1,148 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.Alerta;
+import com.arequipa.aire.backend.entity.NotificacionOutbox;
+import com.arequipa.aire.backend.entity.Usuario;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para solicitar la difusión masiva de una alerta.
+ */
+@Schema(description = "Solicitud de difusión masiva de alerta")
+public class DifusionAlertaDTO {
+
+    @NotNull(message = "El tipo de alerta es obligatorio")
+    @Schema(description = "Tipo de alerta", example = "CALIDAD_AIRE", required = true)
+    private Alerta.TipoAlerta tipo;
+
+    @NotNull(message = "La severidad es obligatoria")
+    @Schema(description = "Severidad de la alerta", example = "CRITICA", required = true)
+    private Alerta.SeveridadAlerta severidad;
+
+    @NotBlank(message = "El título es obligatorio")
+    @Size(max = 200, message = "El título no puede exceder 200 caracteres")
+    @Schema(description = "Título de la alerta", example = "Episodio crítico de contaminación", required = true)
+    private String titulo;
+
+    @Schema(description = "Mensaje detallado de la alerta")
+    private String mensaje;
+
+    @Schema(description = "ID de la estación que originó la alerta (opcional)", example = "1")
+    private Long estacionId;
+
+    @Schema(description = "Distrito afectado; si se omite la alerta es para toda la ciudad", example = "Cercado")
+    private String distrito;
+
+    @Schema(description = "Tipos de sensibilidad destinatarios; si se omite se notifica a todos", example = "[\"ASMATICO\", \"NINO\"]")
+    private List<Usuario.TipoSensibilidad> tiposSensibilidad;
+
+    @Schema(description = "Canales de entrega", example = "[\"PUSH\"]")
+    private List<NotificacionOutbox.CanalNotificacion> canales;
+
+    @Size(max = 10)
+    @Schema(description = "Contaminante", example = "PM2.5")
+    private String contaminante;
+
+    @Schema(description = "Valor medido", example = "180.5")
+    private Double valorMedido;
+
+    @Schema(description = "Umbral configurado", example = "150.0")
+    private Double umbralConfigurado;
+
+    // Constructors
+    public DifusionAlertaDTO() {}
+
+    // Getters and Setters
+    public Alerta.TipoAlerta getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Alerta.TipoAlerta tipo) {
+        this.tipo = tipo;
+    }
+
+    public Alerta.SeveridadAlerta getSeveridad() {
+        return severidad;
+    }
+
+    public void setSeveridad(Alerta.SeveridadAlerta severidad) {
+        this.severidad = severidad;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public Long getEstacionId() {
+        return estacionId;
+    }
+
+    public void setEstacionId(Long estacionId) {
+        this.estacionId = estacionId;
+    }
+
+    public String getDistrito() {
+        return distrito;
+    }
+
+    public void setDistrito(String distrito) {
+        this.distrito = distrito;
+    }
+
+    public List<Usuario.TipoSensibilidad> getTiposSensibilidad() {
+        return tiposSensibilidad;
+    }
+
+    public void setTiposSensibilidad(List<Usuario.TipoSensibilidad> tiposSensibilidad) {
+        this.tiposSensibilidad = tiposSensibilidad;
+    }
+
+    public List<NotificacionOutbox.CanalNotificacion> getCanales() {
+        return canales;
+    }
+
+    public void setCanales(List<NotificacionOutbox.CanalNotificacion> canales) {
+        this.canales = canales;
+    }
+
+    public String getContaminante() {
+        return contaminante;
+    }
+
+    public void setContaminante(String contaminante) {
+        this.contaminante = contaminante;
+    }
+
+    public Double getValorMedido() {
+        return valorMedido;
+    }
+
+    public void setValorMedido(Double valorMedido) {
+        this.valorMedido = valorMedido;
+    }
+
+    public Double getUmbralConfigurado() {
+        return umbralConfigurado;
+    }
+
+    public void setUmbralConfigurado(Double umbralConfigurado) {
+        this.umbralConfigurado = umbralConfigurado;
+    }
+}
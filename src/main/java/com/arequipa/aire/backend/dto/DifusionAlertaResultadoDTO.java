@@ -0,0 +1,56 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.NotificacionOutbox;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una difusión masiva de alerta.
+ */
+@Schema(description = "Resultado de una difusión masiva de alerta")
+public class DifusionAlertaResultadoDTO {
+
+    @Schema(description = "Identificador del lote de difusión", example = "3f2a7c1e-9b0d-4d6e-8a51-0c2f4b7e9d13")
+    private String lote;
+
+    @Schema(description = "Cantidad de alertas creadas", example = "48213")
+    private Integer alertasCreadas;
+
+    @Schema(description = "Canales registrados en la bandeja de salida")
+    private List<NotificacionOutbox.CanalNotificacion> canales;
+
+    // Constructors
+    public DifusionAlertaResultadoDTO() {}
+
+    public DifusionAlertaResultadoDTO(String lote, Integer alertasCreadas, List<NotificacionOutbox.CanalNotificacion> canales) {
+        this.lote = lote;
+        this.alertasCreadas = alertasCreadas;
+        this.canales = canales;
+    }
+
+    // Getters and Setters
+    public String getLote() {
+        return lote;
+    }
+
+    public void setLote(String lote) {
+        this.lote = lote;
+    }
+
+    public Integer getAlertasCreadas() {
+        return alertasCreadas;
+    }
+
+    public void setAlertasCreadas(Integer alertasCreadas) {
+        this.alertasCreadas = alertasCreadas;
+    }
+
+    public List<NotificacionOutbox.CanalNotificacion> getCanales() {
+        return canales;
+    }
+
+    public void setCanales(List<NotificacionOutbox.CanalNotificacion> canales) {
+        this.canales = canales;
+    }
+}
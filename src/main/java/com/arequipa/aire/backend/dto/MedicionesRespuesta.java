@@ -0,0 +1,40 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.Medicion;
+
+import java.util.List;
+
+/**
+ * Lista de mediciones que se escribe directamente con {@link MedicionesRespuestaSerializer},
+ * sin pasar por mapas intermedios.
+ */
+public record MedicionesRespuesta(List<Medicion> mediciones, Formato formato) {
+
+    /**
+     * Campos que se escriben por medición.
+     */
+    public enum Formato {
+        /**
+         * Calidad del aire actual: incluye la estación (requiere cargarla con la medición).
+         */
+        ACTUAL,
+        /**
+         * Histórico de una estación: incluye temperatura y humedad.
+         */
+        HISTORICO
+    }
+
+    /**
+     * Una sola medición, escrita con los mismos campos que un elemento de la lista.
+     */
+    public record Fila(Medicion medicion, Formato formato) {
+    }
+
+    public static MedicionesRespuesta actual(List<Medicion> mediciones) {
+        return new MedicionesRespuesta(mediciones, Formato.ACTUAL);
+    }
+
+    public static MedicionesRespuesta historico(List<Medicion> mediciones) {
+        return new MedicionesRespuesta(mediciones, Formato.HISTORICO);
+    }
+}
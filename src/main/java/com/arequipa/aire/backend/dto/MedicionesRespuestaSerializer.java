@@ -0,0 +1,243 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.util.AQICalculator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Escribe mediciones con el {@link JsonGenerator} campo por campo.
+ *
+ * Los nombres de campo están precodificados, los números se escriben desde
+ * los campos de la entidad y la fecha se formatea en un búfer reutilizado, así
+ * que una medición con AQI guardado no crea ningún objeto. La salida es la
+ * misma que producían los mapas de los controladores. Se registra con el
+ * {@link AQICalculator} de la aplicación en {@code JacksonConfig}.
+ */
+public class MedicionesRespuestaSerializer extends StdSerializer<MedicionesRespuesta> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ESTACION_ID = new SerializedString("estacionId");
+    private static final SerializedString ESTACION = new SerializedString("estacion");
+    private static final SerializedString NOMBRE = new SerializedString("nombre");
+    private static final SerializedString LATITUD = new SerializedString("latitud");
+    private static final SerializedString LONGITUD = new SerializedString("longitud");
+    private static final SerializedString FECHA_HORA = new SerializedString("fechaHora");
+    private static final SerializedString PM25 = new SerializedString("pm25");
+    private static final SerializedString PM10 = new SerializedString("pm10");
+    private static final SerializedString NO2 = new SerializedString("no2");
+    private static final SerializedString O3 = new SerializedString("o3");
+    private static final SerializedString CO = new SerializedString("co");
+    private static final SerializedString SO2 = new SerializedString("so2");
+    private static final SerializedString TEMPERATURA = new SerializedString("temperatura");
+    private static final SerializedString HUMEDAD = new SerializedString("humedad");
+    private static final SerializedString AQI = new SerializedString("aqi");
+    private static final SerializedString CATEGORIA = new SerializedString("categoria");
+
+    /**
+     * Largo máximo de {@link LocalDateTime#toString()} con años de cuatro dígitos,
+     * que también alcanza para los decimales de {@link #escribirDecimal}.
+     */
+    static final int LARGO_BUFER = 29;
+
+    /**
+     * Valor absoluto máximo que se escribe sin pasar por {@link Double#toString(double)}.
+     */
+    private static final double MAXIMO_DECIMAL = 1e7;
+
+    private final AQICalculator aqiCalculator;
+
+    public MedicionesRespuestaSerializer(AQICalculator aqiCalculator) {
+        super(MedicionesRespuesta.class);
+        this.aqiCalculator = aqiCalculator;
+    }
+
+    @Override
+    public void serialize(MedicionesRespuesta respuesta, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean actual = respuesta.formato() == MedicionesRespuesta.Formato.ACTUAL;
+        char[] buf = new char[LARGO_BUFER];
+        gen.writeStartArray(respuesta, respuesta.mediciones().size());
+        for (Medicion medicion : respuesta.mediciones()) {
+            escribirMedicion(gen, medicion, actual, buf);
+        }
+        gen.writeEndArray();
+    }
+
+    private void escribirMedicion(JsonGenerator gen, Medicion medicion, boolean actual, char[] buf) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        numero(gen, medicion.getId());
+        if (actual) {
+            escribirEstacion(gen, medicion.getEstacion(), buf);
+        }
+        gen.writeFieldName(FECHA_HORA);
+        escribirFecha(gen, medicion.getFechaMedicion(), buf);
+        numero(gen, PM25, medicion.getPm25(), buf);
+        numero(gen, PM10, medicion.getPm10(), buf);
+        numero(gen, NO2, medicion.getNo2(), buf);
+        numero(gen, O3, medicion.getO3(), buf);
+        numero(gen, CO, medicion.getCo(), buf);
+        numero(gen, SO2, medicion.getSo2(), buf);
+        if (!actual) {
+            numero(gen, TEMPERATURA, medicion.getTemperatura(), buf);
+            gen.writeFieldName(HUMEDAD);
+            if (medicion.getHumedad() != null) {
+                gen.writeNumber(medicion.getHumedad().intValue());
+            } else {
+                gen.writeNull();
+            }
+        }
+        Integer aqi = aqiCalculator.calcularAQI(medicion);
+        gen.writeFieldName(AQI);
+        if (aqi != null) {
+            gen.writeNumber(aqi.intValue());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeFieldName(CATEGORIA);
+        gen.writeString(aqiCalculator.obtenerCategoria(medicion.getCategoriaAqi(), aqi));
+        gen.writeEndObject();
+    }
+
+    private static void escribirEstacion(JsonGenerator gen, Estacion estacion, char[] buf) throws IOException {
+        gen.writeFieldName(ESTACION_ID);
+        numero(gen, estacion.getId());
+        gen.writeFieldName(ESTACION);
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        numero(gen, estacion.getId());
+        gen.writeFieldName(NOMBRE);
+        gen.writeString(estacion.getNombre());
+        numero(gen, LATITUD, estacion.getLatitud(), buf);
+        numero(gen, LONGITUD, estacion.getLongitud(), buf);
+        gen.writeEndObject();
+    }
+
+    private static void numero(JsonGenerator gen, Long valor) throws IOException {
+        if (valor != null) {
+            gen.writeNumber(valor.longValue());
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void numero(JsonGenerator gen, SerializableString campo, Double valor, char[] buf) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor != null) {
+            escribirDecimal(gen, valor, buf);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    /**
+     * Escribe un double con hasta tres decimales (como guardan las lecturas) en
+     * el búfer, con el mismo texto que {@link Double#toString(double)}; el resto
+     * de valores, y los formatos binarios, usan la escritura normal de Jackson.
+     */
+    static void escribirDecimal(JsonGenerator gen, double valor, char[] buf) throws IOException {
+        long milesimas = Math.round(valor * 1000);
+        if (!gen.canWriteFormattedNumbers() || milesimas == 0 || !(Math.abs(valor) < MAXIMO_DECIMAL) || milesimas / 1000.0 != valor) {
+            gen.writeNumber(valor);
+            return;
+        }
+        int i = 0;
+        if (milesimas < 0) {
+            buf[i++] = '-';
+            milesimas = -milesimas;
+        }
+        long entero = milesimas / 1000;
+        int fraccion = (int) (milesimas % 1000);
+        int ancho = 1;
+        for (long resto = entero / 10; resto > 0; resto /= 10) {
+            ancho++;
+        }
+        i = digitos(buf, i, entero, ancho);
+        buf[i++] = '.';
+        if (fraccion == 0) {
+            buf[i++] = '0';
+        } else {
+            int decimales = fraccion % 100 == 0 ? 1 : fraccion % 10 == 0 ? 2 : 3;
+            for (int k = decimales; k < 3; k++) {
+                fraccion /= 10;
+            }
+            i = digitos(buf, i, fraccion, decimales);
+        }
+        gen.writeNumber(buf, 0, i);
+    }
+
+    /**
+     * Escribe la fecha con el mismo formato que {@link LocalDateTime#toString()}.
+     */
+    static void escribirFecha(JsonGenerator gen, LocalDateTime fecha, char[] buf) throws IOException {
+        if (fecha == null) {
+            gen.writeNull();
+            return;
+        }
+        int anio = fecha.getYear();
+        if (anio < 0 || anio > 9999) {
+            gen.writeString(fecha.toString());
+            return;
+        }
+        int i = digitos(buf, 0, anio, 4);
+        buf[i++] = '-';
+        i = digitos(buf, i, fecha.getMonthValue(), 2);
+        buf[i++] = '-';
+        i = digitos(buf, i, fecha.getDayOfMonth(), 2);
+        buf[i++] = 'T';
+        i = digitos(buf, i, fecha.getHour(), 2);
+        buf[i++] = ':';
+        i = digitos(buf, i, fecha.getMinute(), 2);
+        int segundo = fecha.getSecond();
+        int nano = fecha.getNano();
+        if (segundo > 0 || nano > 0) {
+            buf[i++] = ':';
+            i = digitos(buf, i, segundo, 2);
+            if (nano > 0) {
+                buf[i++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    i = digitos(buf, i, nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    i = digitos(buf, i, nano / 1000, 6);
+                } else {
+                    i = digitos(buf, i, nano, 9);
+                }
+            }
+        }
+        gen.writeString(buf, 0, i);
+    }
+
+    private static int digitos(char[] buf, int desde, long valor, int ancho) {
+        for (int k = desde + ancho - 1; k >= desde; k--) {
+            buf[k] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return desde + ancho;
+    }
+
+    /**
+     * Escribe una {@link MedicionesRespuesta.Fila} como un elemento de la lista.
+     */
+    public static class FilaSerializer extends StdSerializer<MedicionesRespuesta.Fila> {
+
+        private final MedicionesRespuestaSerializer lista;
+
+        public FilaSerializer(MedicionesRespuestaSerializer lista) {
+            super(MedicionesRespuesta.Fila.class);
+            this.lista = lista;
+        }
+
+        @Override
+        public void serialize(MedicionesRespuesta.Fila fila, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            lista.escribirMedicion(gen, fila.medicion(), fila.formato() == MedicionesRespuesta.Formato.ACTUAL,
+                    new char[LARGO_BUFER]);
+        }
+    }
+}
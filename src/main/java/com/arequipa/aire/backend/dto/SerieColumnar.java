@@ -0,0 +1,60 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.Medicion;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serie de mediciones de una estación en formato columnar: un arreglo por
+ * campo y los instantes como segundos desde la primera medición.
+ *
+ * Las mediciones deben venir en orden cronológico ascendente.
+ */
+@JsonSerialize(using = SerieColumnarSerializer.class)
+public record SerieColumnar(Long estacionId, List<Medicion> mediciones, Function<Medicion, Integer> aqi,
+                            Paginacion paginacion) {
+
+    /**
+     * Valor del parámetro {@code format} que selecciona esta representación.
+     */
+    public static final String FORMATO = "columnar";
+
+    /**
+     * Datos de la página cuando la serie sale de una consulta paginada.
+     */
+    public record Paginacion(int pagina, int tamano, long totalElementos, int totalPaginas) {
+    }
+
+    public static SerieColumnar de(Long estacionId, List<Medicion> mediciones, Function<Medicion, Integer> aqi) {
+        return new SerieColumnar(estacionId, mediciones, aqi, null);
+    }
+
+    /**
+     * Serie a partir de una página ordenada de la más reciente a la más antigua.
+     */
+    public static SerieColumnar dePaginaDescendente(Long estacionId, Page<Medicion> pagina,
+                                                    Function<Medicion, Integer> aqi) {
+        List<Medicion> ascendente = new ArrayList<>(pagina.getContent());
+        Collections.reverse(ascendente);
+        return new SerieColumnar(estacionId, ascendente, aqi, new Paginacion(
+                pagina.getNumber(), pagina.getSize(), pagina.getTotalElements(), pagina.getTotalPages()));
+    }
+
+    /**
+     * Indica si el parámetro {@code format} pide la serie columnar; rechaza valores desconocidos.
+     */
+    public static boolean solicitado(String formato) {
+        if (formato == null || formato.isBlank() || "filas".equalsIgnoreCase(formato)) {
+            return false;
+        }
+        if (FORMATO.equalsIgnoreCase(formato)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + formato + " (use 'filas' o 'columnar')");
+    }
+}
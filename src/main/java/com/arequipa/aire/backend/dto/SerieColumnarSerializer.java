@@ -0,0 +1,155 @@
+package com.arequipa.aire.backend.dto;
+
+import com.arequipa.aire.backend.entity.Medicion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Escribe una {@link SerieColumnar}: metadatos y luego un arreglo por campo,
+ * recorriendo las mediciones una vez por columna sin estructuras intermedias.
+ *
+ * <pre>
+ * {"formato":"columnar","estacionId":1,"total":2,"inicio":"2024-01-01T00:00",
+ *  "inicioEpoch":1704085200,"zonaHoraria":"America/Lima","unidadTiempo":"s",
+ *  "columnas":{"t":[0,3600],"pm25":[12.5,null],...,"aqi":[52,null]}}
+ * </pre>
+ */
+public class SerieColumnarSerializer extends StdSerializer<SerieColumnar> {
+
+    private static final SerializedString FORMATO = new SerializedString("formato");
+    private static final SerializedString ESTACION_ID = new SerializedString("estacionId");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString INICIO = new SerializedString("inicio");
+    private static final SerializedString INICIO_EPOCH = new SerializedString("inicioEpoch");
+    private static final SerializedString ZONA_HORARIA = new SerializedString("zonaHoraria");
+    private static final SerializedString UNIDAD_TIEMPO = new SerializedString("unidadTiempo");
+    private static final SerializedString PAGINA = new SerializedString("pagina");
+    private static final SerializedString TAMANO = new SerializedString("tamano");
+    private static final SerializedString TOTAL_ELEMENTOS = new SerializedString("totalElementos");
+    private static final SerializedString TOTAL_PAGINAS = new SerializedString("totalPaginas");
+    private static final SerializedString COLUMNAS = new SerializedString("columnas");
+    private static final SerializedString T = new SerializedString("t");
+    private static final SerializedString HUMEDAD = new SerializedString("humedad");
+    private static final SerializedString AQI = new SerializedString("aqi");
+
+    private enum Columna {
+        PM25("pm25", Medicion::getPm25),
+        PM10("pm10", Medicion::getPm10),
+        NO2("no2", Medicion::getNo2),
+        O3("o3", Medicion::getO3),
+        CO("co", Medicion::getCo),
+        SO2("so2", Medicion::getSo2),
+        TEMPERATURA("temperatura", Medicion::getTemperatura);
+
+        private final SerializedString nombre;
+        private final Function<Medicion, Double> valor;
+
+        Columna(String nombre, Function<Medicion, Double> valor) {
+            this.nombre = new SerializedString(nombre);
+            this.valor = valor;
+        }
+    }
+
+    public SerieColumnarSerializer() {
+        super(SerieColumnar.class);
+    }
+
+    @Override
+    public void serialize(SerieColumnar serie, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        List<Medicion> mediciones = serie.mediciones();
+        ZoneId zona = provider.getConfig().getTimeZone().toZoneId();
+        char[] buf = new char[MedicionesRespuestaSerializer.LARGO_BUFER];
+        LocalDateTime inicio = mediciones.isEmpty() ? null : mediciones.get(0).getFechaMedicion();
+        long inicioEpoch = inicio != null ? epoch(inicio, zona) : 0;
+
+        gen.writeStartObject(serie);
+        gen.writeFieldName(FORMATO);
+        gen.writeString(SerieColumnar.FORMATO);
+        gen.writeFieldName(ESTACION_ID);
+        if (serie.estacionId() != null) {
+            gen.writeNumber(serie.estacionId().longValue());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeFieldName(TOTAL);
+        gen.writeNumber(mediciones.size());
+        gen.writeFieldName(INICIO);
+        MedicionesRespuestaSerializer.escribirFecha(gen, inicio, buf);
+        gen.writeFieldName(INICIO_EPOCH);
+        if (inicio != null) {
+            gen.writeNumber(inicioEpoch);
+        } else {
+            gen.writeNull();
+        }
+        gen.writeFieldName(ZONA_HORARIA);
+        gen.writeString(zona.getId());
+        gen.writeFieldName(UNIDAD_TIEMPO);
+        gen.writeString("s");
+        if (serie.paginacion() != null) {
+            gen.writeFieldName(PAGINA);
+            gen.writeNumber(serie.paginacion().pagina());
+            gen.writeFieldName(TAMANO);
+            gen.writeNumber(serie.paginacion().tamano());
+            gen.writeFieldName(TOTAL_ELEMENTOS);
+            gen.writeNumber(serie.paginacion().totalElementos());
+            gen.writeFieldName(TOTAL_PAGINAS);
+            gen.writeNumber(serie.paginacion().totalPaginas());
+        }
+
+        gen.writeFieldName(COLUMNAS);
+        gen.writeStartObject();
+        gen.writeFieldName(T);
+        gen.writeStartArray(mediciones, mediciones.size());
+        for (Medicion medicion : mediciones) {
+            gen.writeNumber(epoch(medicion.getFechaMedicion(), zona) - inicioEpoch);
+        }
+        gen.writeEndArray();
+        for (Columna columna : Columna.values()) {
+            gen.writeFieldName(columna.nombre);
+            gen.writeStartArray(mediciones, mediciones.size());
+            for (Medicion medicion : mediciones) {
+                Double valor = columna.valor.apply(medicion);
+                if (valor != null) {
+                    MedicionesRespuestaSerializer.escribirDecimal(gen, valor, buf);
+                } else {
+                    gen.writeNull();
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeFieldName(HUMEDAD);
+        gen.writeStartArray(mediciones, mediciones.size());
+        for (Medicion medicion : mediciones) {
+            entero(gen, medicion.getHumedad());
+        }
+        gen.writeEndArray();
+        gen.writeFieldName(AQI);
+        gen.writeStartArray(mediciones, mediciones.size());
+        for (Medicion medicion : mediciones) {
+            entero(gen, serie.aqi().apply(medicion));
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static long epoch(LocalDateTime fecha, ZoneId zona) {
+        return fecha.toEpochSecond(zona.getRules().getOffset(fecha));
+    }
+
+    private static void entero(JsonGenerator gen, Integer valor) throws IOException {
+        if (valor != null) {
+            gen.writeNumber(valor.intValue());
+        } else {
+            gen.writeNull();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.arequipa.aire.backend.dto;
 
 import com.arequipa.aire.backend.entity.Usuario;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -28,12 +29,21 @@ public class UsuarioDTO {
     @Schema(description = "Correo electrónico", example = "juan.perez@email.com", required = true)
     private String email;
 
+    @Size(min = 8, max = 100, message = "La contraseña debe tener entre 8 y 100 caracteres")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Schema(description = "Contraseña (solo en registro)", example = "password123", accessMode = Schema.AccessMode.WRITE_ONLY)
+    private String password;
+
     @Schema(description = "Nombre completo", example = "Juan Pérez García")
     private String nombreCompleto;
 
     @Schema(description = "Teléfono", example = "+51 987654321")
     private String telefono;
 
+    @Size(max = 100, message = "El distrito no puede exceder 100 caracteres")
+    @Schema(description = "Distrito de residencia", example = "Cercado")
+    private String distrito;
+
     @Schema(description = "Rol del usuario", example = "CIUDADANO")
     private Usuario.Role role;
 
@@ -93,6 +103,14 @@ public class UsuarioDTO {
         this.email = email;
     }
 
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
     public String getNombreCompleto() {
         return nombreCompleto;
     }
@@ -109,6 +127,14 @@ public class UsuarioDTO {
         this.telefono = telefono;
     }
 
+    public String getDistrito() {
+        return distrito;
+    }
+
+    public void setDistrito(String distrito) {
+        this.distrito = distrito;
+    }
+
     public Usuario.Role getRole() {
         return role;
     }
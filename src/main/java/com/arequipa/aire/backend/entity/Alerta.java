@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "alertas", indexes = {
     @Index(name = "idx_alerta_usuario", columnList = "usuario_id"),
-    @Index(name = "idx_alerta_fecha", columnList = "fecha_creacion")
+    @Index(name = "idx_alerta_fecha", columnList = "fecha_creacion"),
+    @Index(name = "idx_alerta_leida_fecha", columnList = "leida, fecha_creacion"),
+    @Index(name = "idx_alerta_severidad_fecha", columnList = "severidad, fecha_creacion"),
+    @Index(name = "idx_alerta_usuario_leida_fecha", columnList = "usuario_id, leida, fecha_creacion"),
+    @Index(name = "idx_alerta_usuario_severidad_fecha", columnList = "usuario_id, severidad, fecha_creacion")
 })
 public class Alerta {
 
@@ -65,6 +69,9 @@ public class Alerta {
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @Column(name = "lote_difusion", length = 36)
+    private String loteDifusion;
+
     // Enums
     public enum TipoAlerta {
         CALIDAD_AIRE, PREDICCION, MANTENIMIENTO, SISTEMA
@@ -96,7 +103,7 @@ public class Alerta {
         }
     }
 
-    private String getColorPorSeveridad(SeveridadAlerta severidad) {
+    public static String getColorPorSeveridad(SeveridadAlerta severidad) {
         switch (severidad) {
             case BAJA: return "#28a745";      // Verde
             case MEDIA: return "#ffc107";     // Amarillo
@@ -227,4 +234,12 @@ public class Alerta {
     public void setFechaCreacion(LocalDateTime fechaCreacion) {
         this.fechaCreacion = fechaCreacion;
     }
+
+    public String getLoteDifusion() {
+        return loteDifusion;
+    }
+
+    public void setLoteDifusion(String loteDifusion) {
+        this.loteDifusion = loteDifusion;
+    }
 }
\ No newline at end of file
@@ -9,8 +9,9 @@ import java.time.LocalDateTime;
  * Entidad que representa una medición de calidad del aire.
  */
 @Entity
-@Table(name = "mediciones", indexes = {
-    @Index(name = "idx_medicion_estacion_fecha", columnList = "estacion_id, fecha_medicion"),
+@Table(name = "mediciones", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_medicion_estacion_fecha", columnNames = {"estacion_id", "fecha_medicion"})
+}, indexes = {
     @Index(name = "idx_medicion_fecha", columnList = "fecha_medicion")
 })
 public class Medicion {
@@ -64,6 +65,9 @@ public class Medicion {
     @Column(name = "color_aqi", length = 7)
     private String colorAqi;
 
+    @Column(name = "contaminante_principal", length = 10)
+    private String contaminantePrincipal;
+
     // Datos meteorológicos
     @Column(name = "temperatura")
     private Double temperatura;
@@ -201,6 +205,14 @@ public class Medicion {
         this.colorAqi = colorAqi;
     }
 
+    public String getContaminantePrincipal() {
+        return contaminantePrincipal;
+    }
+
+    public void setContaminantePrincipal(String contaminantePrincipal) {
+        this.contaminantePrincipal = contaminantePrincipal;
+    }
+
     public Double getTemperatura() {
         return temperatura;
     }
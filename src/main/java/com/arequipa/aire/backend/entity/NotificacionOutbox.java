@@ -0,0 +1,154 @@
+package com.arequipa.aire.backend.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de la bandeja de salida de notificaciones.
+ *
+ * Una difusión masiva genera un único registro por canal de entrega que
+ * referencia el lote de alertas creado en la misma transacción.
+ */
+@Entity
+@Table(name = "notificaciones_outbox", indexes = {
+    @Index(name = "idx_outbox_estado_fecha", columnList = "estado, fecha_creacion"),
+    @Index(name = "idx_outbox_lote", columnList = "lote")
+})
+public class NotificacionOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, length = 36)
+    private String lote;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CanalNotificacion canal;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Alerta.SeveridadAlerta severidad;
+
+    @NotNull
+    @Column(nullable = false, length = 200)
+    private String titulo;
+
+    @Column(name = "total_destinatarios", nullable = false)
+    private Integer totalDestinatarios;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoNotificacion estado = EstadoNotificacion.PENDIENTE;
+
+    @Column(name = "fecha_procesamiento")
+    private LocalDateTime fechaProcesamiento;
+
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    // Enums
+    public enum CanalNotificacion {
+        PUSH, EMAIL, SMS
+    }
+
+    public enum EstadoNotificacion {
+        PENDIENTE, ENVIADA, ERROR
+    }
+
+    // Constructors
+    public NotificacionOutbox() {}
+
+    public NotificacionOutbox(String lote, CanalNotificacion canal, Alerta.SeveridadAlerta severidad,
+                              String titulo, Integer totalDestinatarios) {
+        this.lote = lote;
+        this.canal = canal;
+        this.severidad = severidad;
+        this.titulo = titulo;
+        this.totalDestinatarios = totalDestinatarios;
+        this.estado = EstadoNotificacion.PENDIENTE;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCreacion = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLote() {
+        return lote;
+    }
+
+    public void setLote(String lote) {
+        this.lote = lote;
+    }
+
+    public CanalNotificacion getCanal() {
+        return canal;
+    }
+
+    public void setCanal(CanalNotificacion canal) {
+        this.canal = canal;
+    }
+
+    public Alerta.SeveridadAlerta getSeveridad() {
+        return severidad;
+    }
+
+    public void setSeveridad(Alerta.SeveridadAlerta severidad) {
+        this.severidad = severidad;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public Integer getTotalDestinatarios() {
+        return totalDestinatarios;
+    }
+
+    public void setTotalDestinatarios(Integer totalDestinatarios) {
+        this.totalDestinatarios = totalDestinatarios;
+    }
+
+    public EstadoNotificacion getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoNotificacion estado) {
+        this.estado = estado;
+    }
+
+    public LocalDateTime getFechaProcesamiento() {
+        return fechaProcesamiento;
+    }
+
+    public void setFechaProcesamiento(LocalDateTime fechaProcesamiento) {
+        this.fechaProcesamiento = fechaProcesamiento;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+}
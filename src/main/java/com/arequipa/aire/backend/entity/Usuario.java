@@ -49,6 +49,10 @@ public class Usuario implements UserDetails {
     @Column(name = "telefono", length = 20)
     private String telefono;
 
+    @Size(max = 100)
+    @Column(name = "distrito", length = 100)
+    private String distrito;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private Role role = Role.CIUDADANO;
@@ -182,6 +186,14 @@ public class Usuario implements UserDetails {
         this.telefono = telefono;
     }
 
+    public String getDistrito() {
+        return distrito;
+    }
+
+    public void setDistrito(String distrito) {
+        this.distrito = distrito;
+    }
+
     public Role getRole() {
         return role;
     }
@@ -0,0 +1,19 @@
+package com.arequipa.aire.backend.event;
+
+import com.arequipa.aire.backend.entity.Estacion;
+
+/**
+ * Evento publicado cuando una estación es creada, actualizada o desactivada.
+ */
+public class EstacionModificadaEvent {
+
+    private final Estacion estacion;
+
+    public EstacionModificadaEvent(Estacion estacion) {
+        this.estacion = estacion;
+    }
+
+    public Estacion getEstacion() {
+        return estacion;
+    }
+}
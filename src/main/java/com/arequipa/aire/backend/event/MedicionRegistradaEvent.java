@@ -0,0 +1,32 @@
+package com.arequipa.aire.backend.event;
+
+import com.arequipa.aire.backend.entity.Medicion;
+
+/**
+ * Evento publicado cuando una medición ha sido persistida.
+ *
+ * Una corrección reemplaza los valores de una medición que ya existía para la
+ * misma estación y fecha; los consumidores que acumulan no deben contarla dos veces.
+ */
+public class MedicionRegistradaEvent {
+
+    private final Medicion medicion;
+    private final boolean correccion;
+
+    public MedicionRegistradaEvent(Medicion medicion) {
+        this(medicion, false);
+    }
+
+    public MedicionRegistradaEvent(Medicion medicion, boolean correccion) {
+        this.medicion = medicion;
+        this.correccion = correccion;
+    }
+
+    public Medicion getMedicion() {
+        return medicion;
+    }
+
+    public boolean isCorreccion() {
+        return correccion;
+    }
+}
@@ -4,6 +4,7 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -334,4 +335,94 @@ public class GlobalExceptionHandler {
         logger.warn("Error de negocio: {}", ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    /**
+     * Excepción lanzada cuando una petición supera su presupuesto de sentencias SQL.
+     */
+    public static class PresupuestoSentenciasExcedidoException extends RuntimeException {
+        public PresupuestoSentenciasExcedidoException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Maneja peticiones que superaron su presupuesto de sentencias SQL.
+     */
+    @ExceptionHandler(PresupuestoSentenciasExcedidoException.class)
+    public ResponseEntity<ErrorResponse> handlePresupuestoSentenciasExcedido(
+            PresupuestoSentenciasExcedidoException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Statement Budget Exceeded",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+
+        logger.error("Presupuesto de sentencias excedido: {}", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Excepción lanzada cuando se superan los intentos de autenticación permitidos.
+     */
+    public static class DemasiadosIntentosException extends RuntimeException {
+        private final long reintentarEnSegundos;
+
+        public DemasiadosIntentosException(String message, long reintentarEnSegundos) {
+            super(message);
+            this.reintentarEnSegundos = reintentarEnSegundos;
+        }
+
+        public long getReintentarEnSegundos() { return reintentarEnSegundos; }
+    }
+
+    /**
+     * Maneja intentos de autenticación bloqueados por el limitador.
+     */
+    @ExceptionHandler(DemasiadosIntentosException.class)
+    public ResponseEntity<ErrorResponse> handleDemasiadosIntentos(
+            DemasiadosIntentosException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+
+        logger.warn("Intentos de autenticación bloqueados: {}", request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Excepción lanzada cuando un recurso interno acotado no admite más trabajo.
+     */
+    public static class ServicioSaturadoException extends RuntimeException {
+        public ServicioSaturadoException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Maneja rechazos por saturación.
+     */
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicioSaturado(
+            ServicioSaturadoException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+
+        logger.warn("Servicio saturado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,75 @@
+package com.arequipa.aire.backend.generador;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del generador de datos sintéticos.
+ */
+@ConfigurationProperties(prefix = "app.generador")
+public class GeneradorDatosProperties {
+
+    private boolean habilitado = false;
+
+    /**
+     * Semilla base; la misma semilla y parámetros producen los mismos datos.
+     */
+    private long semilla = 42;
+
+    private int estaciones = 30;
+
+    private int meses = 12;
+
+    private int usuarios = 1000;
+
+    /**
+     * Hilos de escritura; 0 usa el número de procesadores.
+     */
+    private int hilos = 0;
+
+    private int tamanoLote = 5000;
+
+    /**
+     * Probabilidad de que falte una hora aislada.
+     */
+    private double probabilidadHueco = 0.02;
+
+    /**
+     * Probabilidad por hora de que empiece un corte de varias horas.
+     */
+    private double probabilidadCorte = 0.0005;
+
+    private int maxHorasCorte = 72;
+
+    private int horasEntrePredicciones = 6;
+
+    /**
+     * Genera aunque ya existan estaciones en la base de datos.
+     */
+    private boolean forzar = false;
+
+    // Getters and Setters
+    public boolean isHabilitado() { return habilitado; }
+    public void setHabilitado(boolean habilitado) { this.habilitado = habilitado; }
+    public long getSemilla() { return semilla; }
+    public void setSemilla(long semilla) { this.semilla = semilla; }
+    public int getEstaciones() { return estaciones; }
+    public void setEstaciones(int estaciones) { this.estaciones = estaciones; }
+    public int getMeses() { return meses; }
+    public void setMeses(int meses) { this.meses = meses; }
+    public int getUsuarios() { return usuarios; }
+    public void setUsuarios(int usuarios) { this.usuarios = usuarios; }
+    public int getHilos() { return hilos; }
+    public void setHilos(int hilos) { this.hilos = hilos; }
+    public int getTamanoLote() { return tamanoLote; }
+    public void setTamanoLote(int tamanoLote) { this.tamanoLote = tamanoLote; }
+    public double getProbabilidadHueco() { return probabilidadHueco; }
+    public void setProbabilidadHueco(double probabilidadHueco) { this.probabilidadHueco = probabilidadHueco; }
+    public double getProbabilidadCorte() { return probabilidadCorte; }
+    public void setProbabilidadCorte(double probabilidadCorte) { this.probabilidadCorte = probabilidadCorte; }
+    public int getMaxHorasCorte() { return maxHorasCorte; }
+    public void setMaxHorasCorte(int maxHorasCorte) { this.maxHorasCorte = maxHorasCorte; }
+    public int getHorasEntrePredicciones() { return horasEntrePredicciones; }
+    public void setHorasEntrePredicciones(int horasEntrePredicciones) { this.horasEntrePredicciones = horasEntrePredicciones; }
+    public boolean isForzar() { return forzar; }
+    public void setForzar(boolean forzar) { this.forzar = forzar; }
+}
@@ -0,0 +1,224 @@
+package com.arequipa.aire.backend.generador;
+
+import com.arequipa.aire.backend.entity.Usuario;
+import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carga un histórico sintético a escala de Arequipa al iniciar la aplicación.
+ *
+ * Se activa con {@code app.generador.habilitado=true} (o el perfil
+ * "generador"). Crea estaciones repartidas por los distritos, usuarios de
+ * todos los tipos de sensibilidad y, en paralelo por estación y mes,
+ * mediciones horarias con sus alertas y predicciones.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.generador", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(GeneradorDatosProperties.class)
+public class GeneradorDatosRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatosRunner.class);
+
+    private static final String PASSWORD_USUARIOS = "password123";
+
+    @Autowired
+    private GeneradorDatosProperties properties;
+
+    @Autowired
+    private EstacionRepository estacionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    private record EstacionGenerada(long id, String nombre, ModeloContaminacion.Distrito distrito) {
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!properties.isForzar() && estacionRepository.count() > 0) {
+            logger.info("Generador de datos omitido: ya existen estaciones (use app.generador.forzar=true)");
+            return;
+        }
+        long inicioNanos = System.nanoTime();
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime inicio = ahora.minusMonths(properties.getMeses());
+        SplittableRandom random = new SplittableRandom(properties.getSemilla());
+
+        List<EstacionGenerada> estaciones = crearEstaciones(random, inicio);
+        Map<String, TramoEstacionMes.Destinatarios> destinatarios = crearUsuarios(random, ahora);
+
+        int hilos = properties.getHilos() > 0 ? properties.getHilos() : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "generador-" + r.hashCode());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        List<Future<long[]>> resultados = new ArrayList<>();
+        AtomicInteger completados = new AtomicInteger();
+        int totalTramos = estaciones.size() * properties.getMeses();
+        try {
+            for (int e = 0; e < estaciones.size(); e++) {
+                EstacionGenerada estacion = estaciones.get(e);
+                TramoEstacionMes.Destinatarios usuarios = destinatarios.getOrDefault(estacion.distrito().nombre(),
+                        new TramoEstacionMes.Destinatarios(new long[0], new int[0]));
+                for (int m = 0; m < properties.getMeses(); m++) {
+                    LocalDateTime desde = inicio.plusMonths(m);
+                    LocalDateTime hasta = m == properties.getMeses() - 1 ? ahora : inicio.plusMonths(m + 1);
+                    TramoEstacionMes tramo = new TramoEstacionMes(estacion.id(), estacion.nombre(),
+                            estacion.distrito().factor(), desde, hasta, ahora, semillaTramo(e, m), usuarios,
+                            properties, jdbcTemplate, transactionTemplate, aqiCalculator);
+                    resultados.add(executor.submit(() -> {
+                        long[] totales = tramo.call();
+                        int hechos = completados.incrementAndGet();
+                        if (hechos % Math.max(1, totalTramos / 20) == 0) {
+                            logger.info("Generador: {}/{} tramos estación-mes escritos", hechos, totalTramos);
+                        }
+                        return totales;
+                    }));
+                }
+            }
+            long[] totales = new long[3];
+            for (Future<long[]> resultado : resultados) {
+                long[] parcial = resultado.get();
+                for (int i = 0; i < totales.length; i++) {
+                    totales[i] += parcial[i];
+                }
+            }
+            double segundos = (System.nanoTime() - inicioNanos) / 1e9;
+            logger.info("Generador: {} estaciones, {} mediciones, {} predicciones, {} alertas en {} s ({} filas/s, {} hilos)",
+                    estaciones.size(), totales[0], totales[1], totales[2], Math.round(segundos),
+                    Math.round((totales[0] + totales[1] + totales[2]) / Math.max(segundos, 0.001)), hilos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<EstacionGenerada> crearEstaciones(SplittableRandom random, LocalDateTime inicio) {
+        String sql = """
+            INSERT INTO estaciones (nombre, descripcion, latitud, longitud, distrito, activa, fecha_instalacion, fecha_creacion)
+            VALUES (?, ?, ?, ?, ?, true, ?, ?)
+            """;
+        List<ModeloContaminacion.Distrito> distritos = ModeloContaminacion.DISTRITOS;
+        List<EstacionGenerada> estaciones = new ArrayList<>();
+        Timestamp creacion = Timestamp.valueOf(inicio);
+        for (int i = 0; i < properties.getEstaciones(); i++) {
+            ModeloContaminacion.Distrito distrito = distritos.get(i % distritos.size());
+            String nombre = "Estación " + distrito.nombre() + " " + (i / distritos.size() + 1);
+            double latitud = distrito.latitud() + (random.nextDouble() - 0.5) * 0.02;
+            double longitud = distrito.longitud() + (random.nextDouble() - 0.5) * 0.02;
+            Timestamp instalacion = Timestamp.valueOf(inicio.minusDays(random.nextInt(365)));
+
+            KeyHolder clave = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, nombre);
+                ps.setString(2, "Estación sintética en " + distrito.nombre());
+                ps.setDouble(3, latitud);
+                ps.setDouble(4, longitud);
+                ps.setString(5, distrito.nombre());
+                ps.setTimestamp(6, instalacion);
+                ps.setTimestamp(7, creacion);
+                return ps;
+            }, clave);
+            Number id = (Number) clave.getKeys().get(clave.getKeys().containsKey("id") ? "id" : "ID");
+            estaciones.add(new EstacionGenerada(id.longValue(), nombre, distrito));
+        }
+        return estaciones;
+    }
+
+    private Map<String, TramoEstacionMes.Destinatarios> crearUsuarios(SplittableRandom random, LocalDateTime ahora) {
+        String sql = """
+            INSERT INTO usuarios (username, email, password, nombre_completo, distrito, role, tipo_sensibilidad,
+                                  activo, fecha_creacion)
+            VALUES (?, ?, ?, ?, ?, ?, ?, true, ?)
+            """;
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD_USUARIOS);
+        Usuario.TipoSensibilidad[] tipos = Usuario.TipoSensibilidad.values();
+        List<ModeloContaminacion.Distrito> distritos = ModeloContaminacion.DISTRITOS;
+        String prefijo = "u" + properties.getSemilla() + "_";
+
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < properties.getUsuarios(); i++) {
+            String username = prefijo + String.format("%06d", i);
+            Usuario.Role role = i == 0 ? Usuario.Role.ADMIN : i % 50 == 1 ? Usuario.Role.AUTORIDAD : Usuario.Role.CIUDADANO;
+            filas.add(new Object[] {
+                username, username + "@ejemplo.pe", hash, "Usuario sintético " + i,
+                distritos.get(random.nextInt(distritos.size())).nombre(), role.name(), tipos[i % tipos.length].name(),
+                Timestamp.valueOf(ahora.minusDays(random.nextInt(365 * 2)))
+            });
+        }
+        jdbcTemplate.batchUpdate(sql, filas, properties.getTamanoLote(), (ps, fila) -> {
+            for (int c = 0; c < fila.length; c++) {
+                ps.setObject(c + 1, fila[c]);
+            }
+        });
+
+        Map<String, List<long[]>> porDistrito = new HashMap<>();
+        jdbcTemplate.query("SELECT id, distrito, tipo_sensibilidad FROM usuarios WHERE username LIKE ?", rs -> {
+            int umbral = umbral(Usuario.TipoSensibilidad.valueOf(rs.getString(3)));
+            porDistrito.computeIfAbsent(rs.getString(2), d -> new ArrayList<>()).add(new long[] {rs.getLong(1), umbral});
+        }, prefijo + "%");
+
+        Map<String, TramoEstacionMes.Destinatarios> destinatarios = new HashMap<>();
+        porDistrito.forEach((distrito, usuarios) -> {
+            long[] ids = new long[usuarios.size()];
+            int[] umbrales = new int[usuarios.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = usuarios.get(i)[0];
+                umbrales[i] = (int) usuarios.get(i)[1];
+            }
+            destinatarios.put(distrito, new TramoEstacionMes.Destinatarios(ids, umbrales));
+        });
+        return destinatarios;
+    }
+
+    /**
+     * AQI a partir del cual se alerta a cada tipo de usuario.
+     */
+    private static int umbral(Usuario.TipoSensibilidad tipo) {
+        return switch (tipo) {
+            case ASMATICO, MUY_SENSIBLE -> 100;
+            case SENSIBLE, NINO, ADULTO_MAYOR -> 150;
+            case NORMAL -> 200;
+        };
+    }
+
+    private long semillaTramo(int estacion, int mes) {
+        long h = properties.getSemilla() * 0x9E3779B97F4A7C15L + estacion * 0xBF58476D1CE4E5B9L + mes * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h * 0x9E3779B97F4A7C15L;
+    }
+}
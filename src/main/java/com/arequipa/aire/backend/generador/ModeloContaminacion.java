@@ -0,0 +1,175 @@
+package com.arequipa.aire.backend.generador;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Modelo de contaminación y clima de Arequipa para datos sintéticos.
+ *
+ * Los niveles medios combinan un factor por distrito, un ciclo diario (picos de
+ * tráfico por la mañana y la tarde, ozono al mediodía) y un ciclo estacional
+ * (estación seca de mayo a octubre con más material particulado, lluvias de
+ * enero a marzo con más humedad). Sobre la media se aplica ruido
+ * autocorrelacionado y episodios ocasionales de quema o polvo.
+ */
+final class ModeloContaminacion {
+
+    /**
+     * Distrito con su centro aproximado y factor de contaminación relativo.
+     */
+    record Distrito(String nombre, double latitud, double longitud, double factor) {
+    }
+
+    static final List<Distrito> DISTRITOS = List.of(
+            new Distrito("Cercado", -16.3989, -71.5369, 1.35),
+            new Distrito("Yanahuara", -16.3875, -71.5444, 1.00),
+            new Distrito("Cayma", -16.3667, -71.5453, 0.95),
+            new Distrito("Cerro Colorado", -16.3772, -71.5617, 1.25),
+            new Distrito("José Luis Bustamante y Rivero", -16.4244, -71.5297, 1.10),
+            new Distrito("Paucarpata", -16.4300, -71.5000, 1.15),
+            new Distrito("Mariano Melgar", -16.4000, -71.5100, 1.10),
+            new Distrito("Miraflores", -16.3950, -71.5200, 1.15),
+            new Distrito("Alto Selva Alegre", -16.3800, -71.5200, 1.00),
+            new Distrito("Jacobo Hunter", -16.4400, -71.5500, 1.05),
+            new Distrito("Socabaya", -16.4667, -71.5333, 0.95),
+            new Distrito("Sachaca", -16.4250, -71.5667, 0.90),
+            new Distrito("Tiabaya", -16.4500, -71.5917, 0.85),
+            new Distrito("Characato", -16.4667, -71.4833, 0.80),
+            new Distrito("Yura", -16.2600, -71.6800, 1.30)
+    );
+
+    private static final double PM25_BASE = 18;
+    private static final double PM10_BASE = 45;
+    private static final double NO2_BASE = 25;
+    private static final double O3_BASE = 40;
+    private static final double CO_BASE = 0.8;
+    private static final double SO2_BASE = 8;
+
+    /**
+     * Valores de una hora; los contaminantes ausentes son NaN.
+     */
+    static final class Lectura {
+        double pm25;
+        double pm10;
+        double no2;
+        double o3;
+        double co;
+        double so2;
+        double temperatura;
+        int humedad;
+        double presion;
+        double velocidadViento;
+        int direccionViento;
+        double confiabilidad;
+    }
+
+    private final double factor;
+    private final SplittableRandom random;
+    private double ruido;
+    private int horasEpisodio;
+    private double intensidadEpisodio = 1;
+
+    ModeloContaminacion(double factorDistrito, SplittableRandom random) {
+        this.factor = factorDistrito;
+        this.random = random;
+    }
+
+    /**
+     * Factor medio de material particulado y gases de combustión para una hora, sin ruido.
+     */
+    static double factorTrafico(LocalDateTime fecha) {
+        int hora = fecha.getHour();
+        double diario = 0.6 + 0.5 * campana(hora, 8, 1.5) + 0.45 * campana(hora, 19, 2);
+        double estacional = 1 + 0.25 * Math.cos(2 * Math.PI * (fecha.getMonthValue() - 7) / 12.0);
+        return diario * estacional;
+    }
+
+    /**
+     * Factor medio de ozono para una hora, sin ruido.
+     */
+    static double factorOzono(LocalDateTime fecha) {
+        double diario = 0.3 + 0.9 * campana(fecha.getHour(), 13, 3);
+        double estacional = 1 + 0.15 * Math.cos(2 * Math.PI * (fecha.getMonthValue() - 11) / 12.0);
+        return diario * estacional;
+    }
+
+    /**
+     * Media esperada de PM2.5 de un distrito, útil como "verdad" para predicciones.
+     */
+    static double pm25Medio(double factorDistrito, LocalDateTime fecha) {
+        return PM25_BASE * factorDistrito * factorTrafico(fecha);
+    }
+
+    static double pm10Medio(double factorDistrito, LocalDateTime fecha) {
+        return PM10_BASE * factorDistrito * factorTrafico(fecha);
+    }
+
+    static double no2Medio(double factorDistrito, LocalDateTime fecha) {
+        return NO2_BASE * factorDistrito * factorTrafico(fecha);
+    }
+
+    static double o3Medio(LocalDateTime fecha) {
+        return O3_BASE * factorOzono(fecha);
+    }
+
+    static double coMedio(double factorDistrito, LocalDateTime fecha) {
+        return CO_BASE * factorDistrito * factorTrafico(fecha);
+    }
+
+    /**
+     * Genera la lectura de la hora indicada y avanza el estado del ruido y los episodios.
+     */
+    void siguiente(LocalDateTime fecha, double probabilidadFallaSensor, Lectura lectura) {
+        ruido = 0.85 * ruido + 0.15 * gauss();
+        if (horasEpisodio > 0) {
+            horasEpisodio--;
+        } else if (random.nextDouble() < 0.002) {
+            horasEpisodio = 6 + random.nextInt(30);
+            intensidadEpisodio = 2 + random.nextDouble() * 2;
+        }
+        double episodio = horasEpisodio > 0 ? intensidadEpisodio : 1;
+        double multiplicador = Math.exp(ruido);
+        double trafico = factor * factorTrafico(fecha) * multiplicador;
+
+        lectura.pm25 = sensor(PM25_BASE * trafico * episodio, probabilidadFallaSensor);
+        lectura.pm10 = sensor(PM10_BASE * trafico * (1 + (episodio - 1) * 1.2), probabilidadFallaSensor);
+        lectura.no2 = sensor(NO2_BASE * trafico, probabilidadFallaSensor);
+        lectura.o3 = sensor(O3_BASE * factorOzono(fecha) * Math.exp(0.5 * ruido), probabilidadFallaSensor);
+        lectura.co = sensor(CO_BASE * trafico, probabilidadFallaSensor);
+        lectura.so2 = sensor(SO2_BASE * factor * multiplicador, probabilidadFallaSensor);
+
+        int hora = fecha.getHour();
+        int mes = fecha.getMonthValue();
+        boolean lluvias = mes <= 3;
+        boolean verano = mes >= 11 || mes <= 3;
+        lectura.temperatura = redondear(15 + 7 * Math.sin(2 * Math.PI * (hora - 9) / 24.0) + (verano ? 2 : 0) + gauss());
+        lectura.humedad = (int) Math.max(8, Math.min(100,
+                Math.round(45 - 1.8 * (lectura.temperatura - 15) + (lluvias ? 22 : 0) + 4 * gauss())));
+        lectura.presion = redondear(760 + 1.5 * Math.sin(2 * Math.PI * (hora - 10) / 12.0) + 0.8 * gauss());
+        lectura.velocidadViento = redondear(Math.max(0, 1.2 + 3.5 * campana(hora, 15, 3) + 0.6 * gauss()));
+        lectura.direccionViento = (int) Math.floorMod(Math.round(hora >= 11 && hora <= 19
+                ? 225 + 25 * gauss() : 60 + 40 * gauss()), 360L);
+        lectura.confiabilidad = redondear(0.85 + 0.15 * random.nextDouble());
+    }
+
+    private double sensor(double valor, double probabilidadFalla) {
+        return random.nextDouble() < probabilidadFalla ? Double.NaN : redondear(valor);
+    }
+
+    private double gauss() {
+        // Box-Muller: SplittableRandom no ofrece nextGaussian en Java 17
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static double campana(double x, double centro, double ancho) {
+        double z = (x - centro) / ancho;
+        return Math.exp(-0.5 * z * z);
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
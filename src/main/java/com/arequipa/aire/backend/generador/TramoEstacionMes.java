@@ -0,0 +1,308 @@
+package com.arequipa.aire.backend.generador;
+
+import com.arequipa.aire.backend.entity.Alerta;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Genera y escribe un mes de datos horarios de una estación.
+ *
+ * Cada tramo tiene su propio generador aleatorio derivado de la semilla, así
+ * que el resultado no depende del orden en que los hilos procesan los tramos.
+ * Las mediciones se acumulan en columnas primitivas y se escriben en lotes
+ * JDBC; las alertas y predicciones se derivan de la misma serie.
+ */
+final class TramoEstacionMes implements Callable<long[]> {
+
+    private static final String INSERT_MEDICION = """
+        INSERT INTO mediciones (estacion_id, fecha_medicion, pm25, pm10, no2, o3, co, so2, aqi, categoria_aqi,
+                                color_aqi, contaminante_principal, temperatura, humedad, presion,
+                                velocidad_viento, direccion_viento, fuente_datos, confiabilidad, fecha_creacion)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'SINTETICO', ?, ?)
+        """;
+
+    private static final String INSERT_PREDICCION = """
+        INSERT INTO predicciones (estacion_id, fecha_prediccion, horizonte_horas, pm25_predicho, pm10_predicho,
+                                  no2_predicho, o3_predicho, co_predicho, aqi_predicho, categoria_aqi_predicha,
+                                  color_aqi_predicho, confianza_pm25, confianza_pm10, confianza_global,
+                                  modelo_utilizado, version_modelo, estado, fecha_calculo, fecha_creacion)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'LSTM', '1.0', 'COMPLETADA', ?, ?)
+        """;
+
+    private static final String INSERT_ALERTA = """
+        INSERT INTO alertas (usuario_id, estacion_id, tipo, severidad, titulo, mensaje, valor_medido,
+                             umbral_configurado, contaminante, color_alerta, leida, fecha_lectura, fecha_creacion)
+        VALUES (?, ?, 'CALIDAD_AIRE', ?, ?, ?, ?, ?, 'AQI', ?, ?, ?, ?)
+        """;
+
+    private static final int[] HORIZONTES = {24, 48, 72};
+
+    private static final double PROBABILIDAD_FALLA_SENSOR = 0.01;
+
+    /**
+     * Usuarios del distrito de la estación con su umbral de AQI.
+     */
+    record Destinatarios(long[] ids, int[] umbrales) {
+    }
+
+    private final long estacionId;
+    private final String estacionNombre;
+    private final double factorDistrito;
+    private final LocalDateTime desde;
+    private final LocalDateTime hasta;
+    private final LocalDateTime ahora;
+    private final SplittableRandom random;
+    private final Destinatarios destinatarios;
+    private final GeneradorDatosProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AQICalculator aqiCalculator;
+
+    private final int capacidad;
+    private final Timestamp[] fechas;
+    private final double[][] contaminantes;
+    private final int[] aqi;
+    private final String[] categorias;
+    private final String[] colores;
+    private final String[] principales;
+    private final double[] temperaturas;
+    private final int[] humedades;
+    private final double[] presiones;
+    private final double[] velocidades;
+    private final int[] direcciones;
+    private final double[] confiabilidades;
+    private int cantidad;
+
+    private final List<Object[]> predicciones = new ArrayList<>();
+    private final List<Object[]> alertas = new ArrayList<>();
+    private final long[] totales = new long[3];
+
+    TramoEstacionMes(long estacionId, String estacionNombre, double factorDistrito, LocalDateTime desde,
+                     LocalDateTime hasta, LocalDateTime ahora, long semilla, Destinatarios destinatarios,
+                     GeneradorDatosProperties properties, JdbcTemplate jdbcTemplate,
+                     TransactionTemplate transactionTemplate, AQICalculator aqiCalculator) {
+        this.estacionId = estacionId;
+        this.estacionNombre = estacionNombre;
+        this.factorDistrito = factorDistrito;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.ahora = ahora;
+        this.random = new SplittableRandom(semilla);
+        this.destinatarios = destinatarios;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.aqiCalculator = aqiCalculator;
+
+        this.capacidad = properties.getTamanoLote();
+        this.fechas = new Timestamp[capacidad];
+        this.contaminantes = new double[6][capacidad];
+        this.aqi = new int[capacidad];
+        this.categorias = new String[capacidad];
+        this.colores = new String[capacidad];
+        this.principales = new String[capacidad];
+        this.temperaturas = new double[capacidad];
+        this.humedades = new int[capacidad];
+        this.presiones = new double[capacidad];
+        this.velocidades = new double[capacidad];
+        this.direcciones = new int[capacidad];
+        this.confiabilidades = new double[capacidad];
+    }
+
+    /**
+     * Devuelve la cantidad de mediciones, predicciones y alertas escritas.
+     */
+    @Override
+    public long[] call() {
+        ModeloContaminacion modelo = new ModeloContaminacion(factorDistrito, random);
+        ModeloContaminacion.Lectura lectura = new ModeloContaminacion.Lectura();
+        int horasCorte = 0;
+        int aqiAnterior = 0;
+
+        for (LocalDateTime fecha = desde; fecha.isBefore(hasta); fecha = fecha.plusHours(1)) {
+            modelo.siguiente(fecha, PROBABILIDAD_FALLA_SENSOR, lectura);
+            if (fecha.getHour() % properties.getHorasEntrePredicciones() == 0) {
+                agregarPredicciones(fecha);
+            }
+            if (horasCorte > 0) {
+                horasCorte--;
+                continue;
+            }
+            if (random.nextDouble() < properties.getProbabilidadCorte()) {
+                horasCorte = 1 + random.nextInt(properties.getMaxHorasCorte());
+                continue;
+            }
+            if (random.nextDouble() < properties.getProbabilidadHueco()) {
+                continue;
+            }
+
+            int aqiActual = agregarMedicion(fecha, lectura);
+            agregarAlertas(fecha, aqiAnterior, aqiActual);
+            aqiAnterior = aqiActual;
+        }
+        escribirMediciones();
+        escribirFilas(INSERT_PREDICCION, predicciones, 1);
+        escribirFilas(INSERT_ALERTA, alertas, 2);
+        return totales;
+    }
+
+    private int agregarMedicion(LocalDateTime fecha, ModeloContaminacion.Lectura lectura) {
+        int i = cantidad;
+        fechas[i] = Timestamp.valueOf(fecha);
+        contaminantes[0][i] = lectura.pm25;
+        contaminantes[1][i] = lectura.pm10;
+        contaminantes[2][i] = lectura.no2;
+        contaminantes[3][i] = lectura.o3;
+        contaminantes[4][i] = lectura.co;
+        contaminantes[5][i] = lectura.so2;
+        AQICalculator.AQIInfo info = aqiCalculator.calcularAQI(valor(lectura.pm25), valor(lectura.pm10),
+                valor(lectura.no2), valor(lectura.o3), valor(lectura.co), valor(lectura.so2));
+        aqi[i] = info.getAqi();
+        categorias[i] = info.getCategoria();
+        colores[i] = info.getColor();
+        principales[i] = info.getContaminantePrincipal();
+        temperaturas[i] = lectura.temperatura;
+        humedades[i] = lectura.humedad;
+        presiones[i] = lectura.presion;
+        velocidades[i] = lectura.velocidadViento;
+        direcciones[i] = lectura.direccionViento;
+        confiabilidades[i] = lectura.confiabilidad;
+        if (++cantidad == capacidad) {
+            escribirMediciones();
+        }
+        return info.getAqi();
+    }
+
+    private void agregarPredicciones(LocalDateTime fechaCalculo) {
+        Timestamp calculo = Timestamp.valueOf(fechaCalculo);
+        for (int horizonte : HORIZONTES) {
+            LocalDateTime objetivo = fechaCalculo.plusHours(horizonte);
+            double error = 0.08 * horizonte / 24.0;
+            double pm25 = positivo(ModeloContaminacion.pm25Medio(factorDistrito, objetivo) * (1 + error * gauss()));
+            double pm10 = positivo(ModeloContaminacion.pm10Medio(factorDistrito, objetivo) * (1 + error * gauss()));
+            double no2 = positivo(ModeloContaminacion.no2Medio(factorDistrito, objetivo) * (1 + error * gauss()));
+            double o3 = positivo(ModeloContaminacion.o3Medio(objetivo) * (1 + error * gauss()));
+            double co = positivo(ModeloContaminacion.coMedio(factorDistrito, objetivo) * (1 + error * gauss()));
+            AQICalculator.AQIInfo info = aqiCalculator.calcularAQI(pm25, pm10, no2, o3, co);
+            double confianza = Math.round((0.95 - 0.1 * horizonte / 24.0) * 100) / 100.0;
+            predicciones.add(new Object[] {
+                estacionId, Timestamp.valueOf(objetivo), horizonte, pm25, pm10, no2, o3, co,
+                info.getAqi(), info.getCategoria(), info.getColor(), confianza, confianza, confianza,
+                calculo, calculo
+            });
+        }
+        if (predicciones.size() >= capacidad) {
+            escribirFilas(INSERT_PREDICCION, predicciones, 1);
+        }
+    }
+
+    private void agregarAlertas(LocalDateTime fecha, int aqiAnterior, int aqiActual) {
+        if (aqiActual <= aqiAnterior) {
+            return;
+        }
+        Alerta.SeveridadAlerta severidad = aqiActual > 300 ? Alerta.SeveridadAlerta.CRITICA
+                : aqiActual > 200 ? Alerta.SeveridadAlerta.ALTA
+                : aqiActual > 150 ? Alerta.SeveridadAlerta.MEDIA
+                : Alerta.SeveridadAlerta.BAJA;
+        String categoria = aqiCalculator.getCategoria(aqiActual);
+        String titulo = "Calidad del aire " + categoria.toLowerCase() + " en " + estacionNombre;
+        String mensaje = "El AQI llegó a " + aqiActual + " en " + estacionNombre + ".";
+        Timestamp creacion = Timestamp.valueOf(fecha.plusMinutes(5));
+        boolean antigua = fecha.isBefore(ahora.minusDays(7));
+
+        long[] ids = destinatarios.ids();
+        int[] umbrales = destinatarios.umbrales();
+        for (int i = 0; i < ids.length; i++) {
+            if (aqiAnterior < umbrales[i] && aqiActual >= umbrales[i]) {
+                boolean leida = antigua ? random.nextDouble() < 0.9 : random.nextDouble() < 0.3;
+                Timestamp lectura = leida ? Timestamp.valueOf(fecha.plusMinutes(10 + random.nextInt(720))) : null;
+                alertas.add(new Object[] {
+                    ids[i], estacionId, severidad.name(), titulo, mensaje, (double) aqiActual, (double) umbrales[i],
+                    Alerta.getColorPorSeveridad(severidad), leida, lectura, creacion
+                });
+            }
+        }
+        if (alertas.size() >= capacidad) {
+            escribirFilas(INSERT_ALERTA, alertas, 2);
+        }
+    }
+
+    private void escribirMediciones() {
+        if (cantidad == 0) {
+            return;
+        }
+        int filas = cantidad;
+        transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(INSERT_MEDICION,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, estacionId);
+                        ps.setTimestamp(2, fechas[i]);
+                        for (int c = 0; c < 6; c++) {
+                            setDouble(ps, 3 + c, contaminantes[c][i]);
+                        }
+                        ps.setInt(9, aqi[i]);
+                        ps.setString(10, categorias[i]);
+                        ps.setString(11, colores[i]);
+                        ps.setString(12, principales[i]);
+                        ps.setDouble(13, temperaturas[i]);
+                        ps.setInt(14, humedades[i]);
+                        ps.setDouble(15, presiones[i]);
+                        ps.setDouble(16, velocidades[i]);
+                        ps.setInt(17, direcciones[i]);
+                        ps.setDouble(18, confiabilidades[i]);
+                        ps.setTimestamp(19, new Timestamp(fechas[i].getTime() + 120_000));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return filas;
+                    }
+                }));
+        totales[0] += filas;
+        cantidad = 0;
+    }
+
+    private void escribirFilas(String sql, List<Object[]> filas, int total) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, filas));
+        totales[total] += filas.size();
+        filas.clear();
+    }
+
+    private double gauss() {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static Double valor(double valor) {
+        return Double.isNaN(valor) ? null : valor;
+    }
+
+    private static double positivo(double valor) {
+        return Math.round(Math.max(0, valor) * 100) / 100.0;
+    }
+
+    private static void setDouble(PreparedStatement ps, int indice, double valor) throws SQLException {
+        if (Double.isNaN(valor)) {
+            ps.setNull(indice, Types.DOUBLE);
+        } else {
+            ps.setDouble(indice, valor);
+        }
+    }
+}
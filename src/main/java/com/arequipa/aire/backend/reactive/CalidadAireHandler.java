@@ -0,0 +1,99 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handlers reactivos para datos de calidad del aire.
+ *
+ * Responden lo mismo que {@code CalidadAireController} (las listas y la
+ * medición de una estación se escriben con {@link MedicionesRespuesta}), pero
+ * leen por R2DBC y emiten los resultados como flujo sin ocupar un hilo por petición.
+ */
+@Component
+@Profile("reactive")
+public class CalidadAireHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalidadAireHandler.class);
+
+    private static final int MEDICIONES_RECIENTES = 10;
+
+    @Autowired
+    private MedicionReactivaRepository medicionRepository;
+
+    @Autowired
+    private EstacionReactivaRepository estacionRepository;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    /**
+     * Mediciones más recientes de todas las estaciones.
+     */
+    public Mono<ServerResponse> actual(ServerRequest request) {
+        Flux<Medicion> datos = estacionRepository.findAll()
+                .collectMap(EstacionLectura::id, EstacionLectura::aEstacion)
+                .flatMapMany(estaciones -> medicionRepository.findRecientes(MEDICIONES_RECIENTES)
+                        .filter(medicion -> estaciones.containsKey(medicion.estacionId()))
+                        .map(medicion -> medicion.aMedicion(estaciones.get(medicion.estacionId()))))
+                .onErrorResume(e -> {
+                    logger.warn("Error al leer la calidad del aire actual: {}", e.getMessage());
+                    return Flux.empty();
+                });
+        return RespuestasReactivas.mediciones(request, datos, MedicionesRespuesta.Formato.ACTUAL);
+    }
+
+    /**
+     * Medición más reciente de una estación.
+     */
+    public Mono<ServerResponse> estacion(ServerRequest request) {
+        Long estacionId = RespuestasReactivas.idDesde(request, "estacionId");
+        if (estacionId == null) {
+            return ServerResponse.badRequest().build();
+        }
+        return Mono.zip(estacionRepository.findById(estacionId),
+                        medicionRepository.findFirstByEstacionIdOrderByFechaMedicionDesc(estacionId))
+                .flatMap(t -> ServerResponse.ok().bodyValue(new MedicionesRespuesta.Fila(
+                        t.getT2().aMedicion(t.getT1().aEstacion()), MedicionesRespuesta.Formato.ACTUAL)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Índice de calidad del aire de una estación.
+     */
+    public Mono<ServerResponse> indice(ServerRequest request) {
+        Long estacionId = RespuestasReactivas.idDesde(request, "estacionId");
+        if (estacionId == null) {
+            return ServerResponse.badRequest().build();
+        }
+        return medicionRepository.findFirstByEstacionIdOrderByFechaMedicionDesc(estacionId)
+                .flatMap(medicion -> {
+                    Integer aqi = aqi(medicion);
+                    Map<String, Object> indice = new HashMap<>();
+                    indice.put("aqi", aqi);
+                    indice.put("categoria", aqiCalculator.obtenerCategoria(medicion.categoriaAqi(), aqi));
+                    indice.put("fechaHora", medicion.fechaMedicion().toString());
+                    indice.put("estacionId", estacionId);
+                    return ServerResponse.ok().bodyValue(indice);
+                })
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Integer aqi(MedicionLectura medicion) {
+        return aqiCalculator.calcularAQI(medicion.aqi(), medicion.pm25(), medicion.pm10(), medicion.no2(),
+                medicion.o3(), medicion.co(), medicion.so2());
+    }
+}
@@ -0,0 +1,30 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Vista de solo lectura de una estación para el acceso R2DBC.
+ */
+@Table("estaciones")
+public record EstacionLectura(
+        @Id Long id,
+        String nombre,
+        Double latitud,
+        Double longitud,
+        String distrito,
+        Boolean activa) {
+
+    /**
+     * Estación con los campos que escriben las respuestas.
+     */
+    public Estacion aEstacion() {
+        Estacion estacion = new Estacion();
+        estacion.setId(id);
+        estacion.setNombre(nombre);
+        estacion.setLatitud(latitud);
+        estacion.setLongitud(longitud);
+        return estacion;
+    }
+}
@@ -0,0 +1,17 @@
+package com.arequipa.aire.backend.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repositorio R2DBC de solo lectura para estaciones.
+ */
+@Repository
+public interface EstacionReactivaRepository extends R2dbcRepository<EstacionLectura, Long> {
+
+    /**
+     * Encuentra las estaciones activas.
+     */
+    Flux<EstacionLectura> findByActivaTrue();
+}
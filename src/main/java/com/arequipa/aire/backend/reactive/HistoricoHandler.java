@@ -0,0 +1,169 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.dto.SerieColumnar;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handlers reactivos para datos históricos.
+ *
+ * Responden lo mismo que {@code HistoricoController}: las mediciones se
+ * escriben con {@link MedicionesRespuesta} o, con {@code format=columnar}, con
+ * {@link SerieColumnar}; los promedios y comparaciones se acumulan sobre el
+ * flujo sin cargar las mediciones en memoria.
+ */
+@Component
+@Profile("reactive")
+public class HistoricoHandler {
+
+    /**
+     * Acumulador de pm25, pm10 y AQI sobre un flujo de mediciones.
+     */
+    private static final class Acumulado {
+        private int total;
+        private double sumaPm25;
+        private double sumaPm10;
+        private double sumaAqiConCeros;
+        private int totalAqi;
+        private double sumaAqi;
+        private int maxAqi = Integer.MIN_VALUE;
+        private int minAqi = Integer.MAX_VALUE;
+
+        Acumulado agregar(MedicionLectura medicion, Integer aqi) {
+            total++;
+            sumaPm25 += medicion.pm25() != null ? medicion.pm25() : 0;
+            sumaPm10 += medicion.pm10() != null ? medicion.pm10() : 0;
+            if (aqi != null) {
+                sumaAqiConCeros += aqi;
+                totalAqi++;
+                sumaAqi += aqi;
+                maxAqi = Math.max(maxAqi, aqi);
+                minAqi = Math.min(minAqi, aqi);
+            }
+            return this;
+        }
+    }
+
+    @Autowired
+    private MedicionReactivaRepository medicionRepository;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    /**
+     * Mediciones de una estación en un rango de fechas (YYYY-MM-DD), en filas o columnar.
+     */
+    public Mono<ServerResponse> estacion(ServerRequest request) {
+        Long estacionId = RespuestasReactivas.idDesde(request, "estacionId");
+        LocalDateTime[] rango = rango(request);
+        if (estacionId == null || rango == null) {
+            return ServerResponse.badRequest().build();
+        }
+        boolean columnar;
+        try {
+            columnar = SerieColumnar.solicitado(request.queryParam("format").orElse(null));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        Flux<Medicion> datos = medicionRepository.findByEstacionIdAndPeriodo(estacionId, rango[0], rango[1])
+                .map(medicion -> medicion.aMedicion(null));
+        if (columnar) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(datos.collectList().map(mediciones ->
+                            SerieColumnar.de(estacionId, mediciones, aqiCalculator::calcularAQI)), SerieColumnar.class);
+        }
+        return RespuestasReactivas.mediciones(request, datos, MedicionesRespuesta.Formato.HISTORICO);
+    }
+
+    /**
+     * Promedios de los últimos 30 días de una estación.
+     */
+    public Mono<ServerResponse> promedio(ServerRequest request) {
+        Long estacionId = RespuestasReactivas.idDesde(request, "estacionId");
+        String periodo = request.queryParam("periodo").orElse(null);
+        if (estacionId == null || periodo == null) {
+            return ServerResponse.badRequest().build();
+        }
+        LocalDateTime fechaFin = LocalDateTime.now();
+        LocalDateTime fechaInicio = fechaFin.minusDays(30);
+
+        return medicionRepository.findByEstacionIdAndPeriodo(estacionId, fechaInicio, fechaFin)
+                .reduce(new Acumulado(), (acumulado, medicion) -> acumulado.agregar(medicion, aqi(medicion)))
+                .flatMap(acumulado -> {
+                    if (acumulado.total == 0) {
+                        return ServerResponse.ok().bodyValue(Map.of("promedio", 0, "periodo", periodo));
+                    }
+                    Map<String, Object> resultado = new HashMap<>();
+                    resultado.put("periodo", periodo);
+                    resultado.put("pm25", acumulado.sumaPm25 / acumulado.total);
+                    resultado.put("pm10", acumulado.sumaPm10 / acumulado.total);
+                    resultado.put("aqi", acumulado.sumaAqiConCeros / acumulado.total);
+                    resultado.put("totalMediciones", acumulado.total);
+                    return ServerResponse.ok().bodyValue(resultado);
+                });
+    }
+
+    /**
+     * Comparación de AQI máximo, mínimo y promedio en un rango de fechas.
+     */
+    public Mono<ServerResponse> comparacion(ServerRequest request) {
+        Long estacionId = RespuestasReactivas.idDesde(request, "estacionId");
+        LocalDateTime[] rango = rango(request);
+        if (estacionId == null || rango == null) {
+            return ServerResponse.badRequest().build();
+        }
+        String fechaInicio = request.queryParam("fechaInicio").orElseThrow();
+        String fechaFin = request.queryParam("fechaFin").orElseThrow();
+
+        return medicionRepository.findByEstacionIdAndPeriodo(estacionId, rango[0], rango[1])
+                .reduce(new Acumulado(), (acumulado, medicion) -> acumulado.agregar(medicion, aqi(medicion)))
+                .flatMap(acumulado -> {
+                    Map<String, Object> comparacion = new HashMap<>();
+                    comparacion.put("totalMediciones", acumulado.total);
+                    comparacion.put("fechaInicio", fechaInicio);
+                    comparacion.put("fechaFin", fechaFin);
+                    comparacion.put("estacionId", estacionId);
+                    if (acumulado.totalAqi > 0) {
+                        comparacion.put("maxAQI", acumulado.maxAqi);
+                        comparacion.put("minAQI", acumulado.minAqi);
+                        comparacion.put("promedioAQI", acumulado.sumaAqi / acumulado.totalAqi);
+                    }
+                    return ServerResponse.ok().bodyValue(comparacion);
+                });
+    }
+
+    private static LocalDateTime[] rango(ServerRequest request) {
+        String fechaInicio = request.queryParam("fechaInicio").orElse(null);
+        String fechaFin = request.queryParam("fechaFin").orElse(null);
+        if (fechaInicio == null || fechaFin == null) {
+            return null;
+        }
+        try {
+            return new LocalDateTime[] {
+                LocalDateTime.parse(fechaInicio + "T00:00:00"),
+                LocalDateTime.parse(fechaFin + "T23:59:59")
+            };
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private Integer aqi(MedicionLectura medicion) {
+        return aqiCalculator.calcularAQI(medicion.aqi(), medicion.pm25(), medicion.pm10(), medicion.no2(),
+                medicion.o3(), medicion.co(), medicion.so2());
+    }
+}
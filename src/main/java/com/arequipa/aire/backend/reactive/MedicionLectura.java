@@ -0,0 +1,49 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de solo lectura de una medición para el acceso R2DBC.
+ */
+@Table("mediciones")
+public record MedicionLectura(
+        @Id Long id,
+        Long estacionId,
+        LocalDateTime fechaMedicion,
+        Double pm25,
+        Double pm10,
+        Double no2,
+        Double o3,
+        Double co,
+        Double so2,
+        Integer aqi,
+        String categoriaAqi,
+        Double temperatura,
+        Integer humedad) {
+
+    /**
+     * Medición con los campos que escriben las respuestas; la estación puede ser null.
+     */
+    public Medicion aMedicion(Estacion estacion) {
+        Medicion medicion = new Medicion();
+        medicion.setId(id);
+        medicion.setEstacion(estacion);
+        medicion.setFechaMedicion(fechaMedicion);
+        medicion.setPm25(pm25);
+        medicion.setPm10(pm10);
+        medicion.setNo2(no2);
+        medicion.setO3(o3);
+        medicion.setCo(co);
+        medicion.setSo2(so2);
+        medicion.setAqi(aqi);
+        medicion.setCategoriaAqi(categoriaAqi);
+        medicion.setTemperatura(temperatura);
+        medicion.setHumedad(humedad);
+        return medicion;
+    }
+}
@@ -0,0 +1,43 @@
+package com.arequipa.aire.backend.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio R2DBC de solo lectura para mediciones.
+ */
+@Repository
+public interface MedicionReactivaRepository extends R2dbcRepository<MedicionLectura, Long> {
+
+    /**
+     * Encuentra las mediciones más recientes de todas las estaciones.
+     */
+    @Query("SELECT * FROM mediciones ORDER BY fecha_medicion DESC LIMIT :limite")
+    Flux<MedicionLectura> findRecientes(@Param("limite") int limite);
+
+    /**
+     * Encuentra la medición más reciente de una estación.
+     */
+    Mono<MedicionLectura> findFirstByEstacionIdOrderByFechaMedicionDesc(Long estacionId);
+
+    /**
+     * Encuentra mediciones de una estación entre dos fechas (exclusivas), en orden cronológico.
+     */
+    @Query("""
+        SELECT * FROM mediciones
+        WHERE estacion_id = :estacionId
+        AND fecha_medicion > :fechaInicio
+        AND fecha_medicion < :fechaFin
+        ORDER BY fecha_medicion
+        """)
+    Flux<MedicionLectura> findByEstacionIdAndPeriodo(
+            @Param("estacionId") Long estacionId,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin);
+}
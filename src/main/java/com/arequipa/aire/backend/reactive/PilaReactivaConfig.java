@@ -0,0 +1,87 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.config.LimiteTasaProperties;
+import com.arequipa.aire.backend.config.LimiteTasaWebFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Configuración de la pila de lectura reactiva (perfil "reactive").
+ *
+ * La aplicación sigue siendo servlet: seguridad JWT, limitador, caché de
+ * respuestas y métricas no cambian. Las lecturas públicas de calidad del aire
+ * e históricos se sirven además por R2DBC desde un servidor Netty propio, en
+ * {@code app.lecturas-reactivas.puerto} y con las mismas rutas. Se declara el
+ * DataSource JDBC porque Spring Boot no lo crea si existe un ConnectionFactory.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PilaReactivaConfig {
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ServidorLecturasReactivas servidorLecturasReactivas(
+            CalidadAireHandler calidadAireHandler, HistoricoHandler historicoHandler, ObjectMapper objectMapper,
+            LimiteTasaProperties limiteTasaProperties, MeterRegistry meterRegistry,
+            @Value("${app.lecturas-reactivas.puerto:8081}") int puerto,
+            @Value("${server.tomcat.remoteip.internal-proxies}") String proxiesConfiables) {
+        RouterFunction<ServerResponse> rutas = RouterFunctions.route()
+                .path(contextPath + "/api/calidad-aire", builder -> builder
+                        .GET("/actual", calidadAireHandler::actual)
+                        .GET("/estacion/{estacionId}", calidadAireHandler::estacion)
+                        .GET("/indice/{estacionId}", calidadAireHandler::indice))
+                .path(contextPath + "/api/historico", builder -> builder
+                        .GET("/estacion/{estacionId}", historicoHandler::estacion)
+                        .GET("/promedio/{estacionId}", historicoHandler::promedio)
+                        .GET("/comparacion/{estacionId}", historicoHandler::comparacion))
+                .build();
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(rutas, estrategias))
+                .filter(cors(), new LimiteTasaWebFilter(
+                        limiteTasaProperties, meterRegistry, Pattern.compile(proxiesConfiables)))
+                .build();
+        return new ServidorLecturasReactivas(httpHandler, puerto);
+    }
+
+    private static CorsWebFilter cors() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("*"));
+        cors.setAllowedMethods(List.of("GET"));
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
@@ -0,0 +1,45 @@
+package com.arequipa.aire.backend.reactive;
+
+import com.arequipa.aire.backend.dto.MedicionesRespuesta;
+import com.arequipa.aire.backend.entity.Medicion;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utilidades comunes de los handlers reactivos.
+ */
+final class RespuestasReactivas {
+
+    private RespuestasReactivas() {
+    }
+
+    /**
+     * Escribe las mediciones con {@link MedicionesRespuesta}, igual que los controladores.
+     * Si el cliente acepta NDJSON las emite una por línea a medida que llegan.
+     */
+    static Mono<ServerResponse> mediciones(ServerRequest request, Flux<Medicion> mediciones,
+                                           MedicionesRespuesta.Formato formato) {
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                    .body(mediciones.map(medicion -> new MedicionesRespuesta.Fila(medicion, formato)),
+                            MedicionesRespuesta.Fila.class);
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(mediciones.collectList().map(lista -> new MedicionesRespuesta(lista, formato)),
+                        MedicionesRespuesta.class);
+    }
+
+    /**
+     * Lee un ID numérico de la ruta; devuelve null si no es válido.
+     */
+    static Long idDesde(ServerRequest request, String variable) {
+        try {
+            return Long.valueOf(request.pathVariable(variable));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.arequipa.aire.backend.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Servidor Netty de las lecturas reactivas, en un puerto separado del de la API.
+ *
+ * Arranca con el contexto y se detiene antes que el servidor servlet, así que
+ * no quedan peticiones R2DBC en curso cuando se cierran los pools.
+ */
+public class ServidorLecturasReactivas implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServidorLecturasReactivas.class);
+
+    private final HttpHandler httpHandler;
+    private final int puerto;
+    private volatile DisposableServer servidor;
+
+    public ServidorLecturasReactivas(HttpHandler httpHandler, int puerto) {
+        this.httpHandler = httpHandler;
+        this.puerto = puerto;
+    }
+
+    @Override
+    public void start() {
+        servidor = HttpServer.create()
+                .port(puerto)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        logger.info("Lecturas reactivas escuchando en el puerto {}", servidor.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer actual = servidor;
+        if (actual != null) {
+            actual.disposeNow();
+            servidor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Después del servidor web al arrancar y antes al detenerse
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
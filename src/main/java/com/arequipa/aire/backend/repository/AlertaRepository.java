@@ -5,12 +5,16 @@ import com.arequipa.aire.backend.entity.Usuario;
 import com.arequipa.aire.backend.entity.Estacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +23,13 @@ import java.util.List;
 @Repository
 public interface AlertaRepository extends JpaRepository<Alerta, Long> {
 
+    /**
+     * Página de alertas con su estación en la misma consulta.
+     */
+    @Override
+    @EntityGraph(attributePaths = "estacion")
+    Page<Alerta> findAll(Pageable pageable);
+
     /**
      * Encuentra alertas por usuario ordenadas por fecha de creación descendente.
      */
@@ -44,11 +55,60 @@ public interface AlertaRepository extends JpaRepository<Alerta, Long> {
      */
     List<Alerta> findByFechaCreacionBetweenOrderByFechaCreacionDesc(LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
+    /**
+     * Página de alertas no leídas, de la más reciente a la más antigua (índice leida, fecha_creacion).
+     */
+    @EntityGraph(attributePaths = "estacion")
+    Slice<Alerta> findByLeidaFalseOrderByFechaCreacionDesc(Pageable pageable);
+
+    /**
+     * Página de alertas no leídas de un usuario (índice usuario_id, leida, fecha_creacion).
+     */
+    @EntityGraph(attributePaths = "estacion")
+    Slice<Alerta> findByUsuarioIdAndLeidaFalseOrderByFechaCreacionDesc(Long usuarioId, Pageable pageable);
+
+    /**
+     * Página de alertas de una severidad (índice severidad, fecha_creacion).
+     */
+    @EntityGraph(attributePaths = "estacion")
+    Slice<Alerta> findBySeveridadOrderByFechaCreacionDesc(Alerta.SeveridadAlerta severidad, Pageable pageable);
+
+    /**
+     * Página de alertas de una severidad para un usuario.
+     */
+    @EntityGraph(attributePaths = "estacion")
+    Slice<Alerta> findByUsuarioIdAndSeveridadOrderByFechaCreacionDesc(
+            Long usuarioId, Alerta.SeveridadAlerta severidad, Pageable pageable);
+
     /**
      * Cuenta alertas no leídas por usuario.
      */
     long countByUsuarioAndLeidaFalse(Usuario usuario);
 
+    /**
+     * Cuenta alertas no leídas agrupadas por ID de usuario.
+     */
+    @Query("SELECT a.usuario.id, COUNT(a) FROM Alerta a WHERE a.leida = false GROUP BY a.usuario.id")
+    List<Object[]> countNoLeidasPorUsuario();
+
+    /**
+     * Marca como leídas todas las alertas pendientes de un usuario en una sola sentencia.
+     */
+    @Modifying
+    @Query("UPDATE Alerta a SET a.leida = true, a.fechaLectura = :fechaLectura WHERE a.usuario.id = :usuarioId AND a.leida = false")
+    int marcarTodasLeidas(@Param("usuarioId") Long usuarioId, @Param("fechaLectura") LocalDateTime fechaLectura);
+
+    /**
+     * Marca como leídas las alertas pendientes indicadas de un usuario en una sola sentencia.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Alerta a SET a.leida = true, a.fechaLectura = :fechaLectura
+        WHERE a.usuario.id = :usuarioId AND a.id IN :ids AND a.leida = false
+        """)
+    int marcarLeidas(@Param("usuarioId") Long usuarioId, @Param("ids") Collection<Long> ids,
+                     @Param("fechaLectura") LocalDateTime fechaLectura);
+
     /**
      * Encuentra alertas por estación en las últimas 24 horas.
      */
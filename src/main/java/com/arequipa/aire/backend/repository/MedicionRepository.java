@@ -4,6 +4,7 @@ import com.arequipa.aire.backend.entity.Medicion;
 import com.arequipa.aire.backend.entity.Estacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -45,8 +46,23 @@ public interface MedicionRepository extends JpaRepository<Medicion, Long> {
     List<Medicion> findLatestMedicionesPorEstacion();
 
     /**
-     * Encuentra mediciones por estación en un rango de fechas.
+     * Encuentra la medición más reciente de cada estación activa junto con su estación.
      */
+    @Query("""
+        SELECT m FROM Medicion m 
+        JOIN FETCH m.estacion e 
+        WHERE m.fechaMedicion = (
+            SELECT MAX(m2.fechaMedicion) 
+            FROM Medicion m2 
+            WHERE m2.estacion = m.estacion
+        ) AND e.activa = true
+        """)
+    List<Medicion> findLatestMedicionesConEstacion();
+
+    /**
+     * Encuentra mediciones por estación en un rango de fechas, con su estación.
+     */
+    @EntityGraph(attributePaths = "estacion")
     Page<Medicion> findByEstacionAndFechaMedicionBetweenOrderByFechaMedicionDesc(
             Estacion estacion, LocalDateTime fechaInicio, LocalDateTime fechaFin, Pageable pageable);
 
@@ -60,6 +76,34 @@ public interface MedicionRepository extends JpaRepository<Medicion, Long> {
             @Param("fechaFin") LocalDateTime fechaFin, 
             Pageable pageable);
 
+    /**
+     * Las diez mediciones más recientes con su estación en la misma consulta.
+     */
+    @EntityGraph(attributePaths = "estacion")
+    List<Medicion> findTop10ByOrderByFechaMedicionDesc();
+
+    /**
+     * Mediciones de una estación estrictamente entre dos fechas, en orden cronológico
+     * (índice estacion_id, fecha_medicion).
+     */
+    @Query("SELECT m FROM Medicion m WHERE m.estacion.id = :estacionId AND m.fechaMedicion > :fechaInicio AND m.fechaMedicion < :fechaFin ORDER BY m.fechaMedicion")
+    List<Medicion> findHistoricoPorEstacion(
+            @Param("estacionId") Long estacionId,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin);
+
+    /**
+     * Medición de una estación en una fecha exacta (clave única), con su estación.
+     */
+    @EntityGraph(attributePaths = "estacion")
+    Optional<Medicion> findFirstByEstacionIdAndFechaMedicion(Long estacionId, LocalDateTime fechaMedicion);
+
+    /**
+     * Claves (estación, fecha) de las mediciones desde una fecha, para el filtro de ingesta.
+     */
+    @Query("SELECT m.estacion.id, m.fechaMedicion FROM Medicion m WHERE m.fechaMedicion >= :desde")
+    List<Object[]> findClavesDesde(@Param("desde") LocalDateTime desde);
+
     /**
      * Encuentra mediciones recientes (últimas N horas).
      */
@@ -88,6 +132,19 @@ public interface MedicionRepository extends JpaRepository<Medicion, Long> {
         """)
     List<Object[]> findPromedioAqiPorDistrito(@Param("fechaLimite") LocalDateTime fechaLimite);
 
+    /**
+     * Encuentra las mediciones recientes con su distrito (para agregados por distrito).
+     */
+    @Query("""
+        SELECT m, e.distrito 
+        FROM Medicion m 
+        JOIN m.estacion e 
+        WHERE m.fechaMedicion >= :fechaLimite 
+        AND e.activa = true 
+        AND e.distrito IS NOT NULL
+        """)
+    List<Object[]> findMedicionesRecientesConDistrito(@Param("fechaLimite") LocalDateTime fechaLimite);
+
     /**
      * Encuentra mediciones para mapas (datos optimizados).
      */
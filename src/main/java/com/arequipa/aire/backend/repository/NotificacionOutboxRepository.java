@@ -0,0 +1,24 @@
+package com.arequipa.aire.backend.repository;
+
+import com.arequipa.aire.backend.entity.NotificacionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para la bandeja de salida de notificaciones.
+ */
+@Repository
+public interface NotificacionOutboxRepository extends JpaRepository<NotificacionOutbox, Long> {
+
+    /**
+     * Encuentra registros por estado en orden de llegada.
+     */
+    List<NotificacionOutbox> findByEstadoOrderByFechaCreacionAsc(NotificacionOutbox.EstadoNotificacion estado);
+
+    /**
+     * Encuentra los registros de un lote de difusión.
+     */
+    List<NotificacionOutbox> findByLote(String lote);
+}
@@ -2,6 +2,7 @@ package com.arequipa.aire.backend.repository;
 
 import com.arequipa.aire.backend.entity.Prediccion;
 import com.arequipa.aire.backend.entity.Estacion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -110,8 +111,9 @@ public interface PrediccionRepository extends JpaRepository<Prediccion, Long> {
             @Param("horizonteHoras") Integer horizonteHoras);
 
     /**
-     * Encuentra todas las predicciones para el mapa (últimas disponibles).
+     * Encuentra todas las predicciones para el mapa (últimas disponibles), con su estación.
      */
+    @EntityGraph(attributePaths = "estacion")
     @Query("""
         SELECT p FROM Prediccion p 
         WHERE p.fechaPrediccion = (
@@ -1,11 +1,16 @@
 package com.arequipa.aire.backend.repository;
 
 import com.arequipa.aire.backend.entity.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +35,14 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     Optional<Usuario> findByUsernameOrEmail(String username, String email);
 
+    /**
+     * Registra la fecha del último acceso sin cargar la entidad.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.fechaUltimoAcceso = :fecha WHERE u.id = :id")
+    int actualizarUltimoAcceso(@Param("id") Long id, @Param("fecha") LocalDateTime fecha);
+
     /**
      * Verifica si existe un usuario con el username dado.
      */
@@ -71,9 +84,53 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     List<Usuario> findByFechaCreacionBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
+    /**
+     * Encuentra los IDs de usuarios activos destinatarios de una difusión por sensibilidad y distrito.
+     * Los usuarios sin distrito registrado reciben todas las difusiones.
+     */
+    @Query("""
+        SELECT u.id FROM Usuario u 
+        WHERE u.activo = true 
+        AND u.tipoSensibilidad IN :tipos 
+        AND (:distrito IS NULL OR u.distrito IS NULL OR u.distrito = :distrito)
+        """)
+    List<Long> findIdsDestinatariosDifusion(@Param("tipos") Collection<Usuario.TipoSensibilidad> tipos,
+                                            @Param("distrito") String distrito);
+
     /**
      * Busca usuarios por nombre completo (búsqueda parcial).
      */
     @Query("SELECT u FROM Usuario u WHERE LOWER(u.nombreCompleto) LIKE LOWER(CONCAT('%', :nombre, '%')) AND u.activo = true")
     List<Usuario> findByNombreCompletoContainingIgnoreCase(String nombre);
+
+    /**
+     * Autocompletado de usuarios activos por username o nombre en PostgreSQL.
+     *
+     * Usa el índice GIN de trigramas sobre la expresión de búsqueda: el LIKE
+     * cubre prefijos y subcadenas, y el operador % las coincidencias
+     * aproximadas. El patrón debe venir en minúsculas y con comodines escapados.
+     */
+    @Query(value = """
+        SELECT * FROM usuarios u
+        WHERE u.activo = true
+        AND (lower(u.username || ' ' || coalesce(u.nombre_completo, '')) LIKE :patron
+             OR lower(u.username || ' ' || coalesce(u.nombre_completo, '')) % :consulta)
+        ORDER BY lower(u.username || ' ' || coalesce(u.nombre_completo, '')) LIKE :prefijo DESC,
+                 similarity(lower(u.username || ' ' || coalesce(u.nombre_completo, '')), :consulta) DESC,
+                 u.username
+        LIMIT :limite
+        """, nativeQuery = true)
+    List<Usuario> buscarPorTrigramas(@Param("consulta") String consulta, @Param("patron") String patron,
+                                     @Param("prefijo") String prefijo, @Param("limite") int limite);
+
+    /**
+     * Autocompletado de usuarios activos por username o nombre (sin índice de trigramas).
+     */
+    @Query("""
+        SELECT u FROM Usuario u
+        WHERE u.activo = true
+        AND (LOWER(u.username) LIKE :patron ESCAPE '\\' OR LOWER(u.nombreCompleto) LIKE :patron ESCAPE '\\')
+        ORDER BY u.username
+        """)
+    List<Usuario> buscarPorTexto(@Param("patron") String patron, Pageable pageable);
 }
\ No newline at end of file
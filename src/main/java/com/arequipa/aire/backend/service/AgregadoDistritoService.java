@@ -0,0 +1,334 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.dto.AgregadoDistritoDTO;
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
+import com.arequipa.aire.backend.event.MedicionRegistradaEvent;
+import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agregados de AQI por distrito mantenidos en memoria.
+ *
+ * Cada distrito guarda un anillo de cubetas de 5 minutos que cubre las últimas
+ * 24 horas; registrar una medición es O(1) y las cubetas caducan solas cuando
+ * el anillo da la vuelta. Las ventanas de 1 h y 24 h se obtienen sumando las
+ * cubetas vigentes. Las mediciones por debajo del umbral de confiabilidad
+ * del control de calidad no se suman.
+ */
+@Service
+public class AgregadoDistritoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgregadoDistritoService.class);
+
+    private static final int SEGUNDOS_POR_CUBETA = 300;
+    private static final int CUBETAS_1H = 3600 / SEGUNDOS_POR_CUBETA;
+    private static final int CUBETAS_24H = 24 * CUBETAS_1H;
+
+    /**
+     * Resumen de una ventana: cantidad, suma y máximo de AQI.
+     */
+    private static final class Resumen {
+        private long cantidad;
+        private long suma;
+        private int max;
+    }
+
+    /**
+     * Anillo de cubetas de un distrito.
+     */
+    private static final class VentanaDistrito {
+        private final long[] cubetas = new long[CUBETAS_24H];
+        private final int[] cantidad = new int[CUBETAS_24H];
+        private final long[] suma = new long[CUBETAS_24H];
+        private final int[] max = new int[CUBETAS_24H];
+
+        private VentanaDistrito() {
+            Arrays.fill(cubetas, Long.MIN_VALUE);
+        }
+
+        synchronized void registrar(long cubeta, int aqi) {
+            int i = (int) Math.floorMod(cubeta, (long) CUBETAS_24H);
+            if (cubetas[i] > cubeta) {
+                return;
+            }
+            if (cubetas[i] != cubeta) {
+                cubetas[i] = cubeta;
+                cantidad[i] = 0;
+                suma[i] = 0;
+                max[i] = 0;
+            }
+            cantidad[i]++;
+            suma[i] += aqi;
+            max[i] = Math.max(max[i], aqi);
+        }
+
+        synchronized Resumen resumir(long cubetaActual, int numeroCubetas) {
+            Resumen resumen = new Resumen();
+            long desde = cubetaActual - numeroCubetas + 1;
+            for (int i = 0; i < CUBETAS_24H; i++) {
+                if (cubetas[i] >= desde && cubetas[i] <= cubetaActual) {
+                    resumen.cantidad += cantidad[i];
+                    resumen.suma += suma[i];
+                    resumen.max = Math.max(resumen.max, max[i]);
+                }
+            }
+            return resumen;
+        }
+    }
+
+    @Autowired
+    private MedicionRepository medicionRepository;
+
+    @Autowired
+    private EstacionRepository estacionRepository;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    @Autowired
+    private ControlCalidadService controlCalidadService;
+
+    /**
+     * Estaciones por distrito y ventanas; una recarga arma uno nuevo aparte y lo publica de una vez.
+     */
+    private static final class Estado {
+        private final Map<String, VentanaDistrito> ventanas = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> estacionesPorDistrito = new ConcurrentHashMap<>();
+        private final Map<Long, String> distritoPorEstacion = new ConcurrentHashMap<>();
+    }
+
+    private record ClaveMedicion(Long estacionId, LocalDateTime fechaMedicion) {}
+
+    private volatile Estado estado = new Estado();
+
+    /**
+     * Los eventos toman la lectura y se aplican en paralelo (cada ventana se
+     * sincroniza sola); la recarga toma la escritura solo para empezar a guardar
+     * pendientes y para publicar el estado nuevo.
+     */
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    /**
+     * Mediciones y estaciones recibidas durante una recarga, para aplicarlas también
+     * al estado nuevo; null cuando no hay recarga en curso.
+     */
+    private Queue<Object> pendientes;
+
+    /**
+     * Recarga estaciones y mediciones de las últimas 24 horas desde la base de datos.
+     *
+     * Los eventos que llegan mientras corre la consulta se aplican al estado
+     * vigente y se guardan; al terminar se aplican al estado nuevo, salvo las
+     * mediciones que la consulta ya trajo, y recién entonces se publica.
+     */
+    public void recargar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        bloqueo.writeLock().lock();
+        try {
+            pendientes = new ConcurrentLinkedQueue<>();
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+        Estado nuevo = new Estado();
+        List<Object[]> filas;
+        Set<ClaveMedicion> recientes = new HashSet<>();
+        try {
+            for (Estacion estacion : estacionRepository.findByActivaTrue()) {
+                registrarEstacion(nuevo, estacion);
+            }
+            filas = medicionRepository.findMedicionesRecientesConDistrito(inicio.minusHours(24));
+            for (Object[] fila : filas) {
+                Medicion medicion = (Medicion) fila[0];
+                registrar(nuevo, (String) fila[1], medicion);
+                // Solo las creadas cerca de la recarga pueden llegar también como evento
+                if (medicion.getFechaCreacion() != null && !medicion.getFechaCreacion().isBefore(inicio.minusMinutes(1))) {
+                    recientes.add(new ClaveMedicion(medicion.getEstacion().getId(), medicion.getFechaMedicion()));
+                }
+            }
+        } catch (RuntimeException e) {
+            bloqueo.writeLock().lock();
+            try {
+                pendientes = null;
+            } finally {
+                bloqueo.writeLock().unlock();
+            }
+            throw e;
+        }
+        int reaplicados = 0;
+        bloqueo.writeLock().lock();
+        try {
+            for (Object pendiente : pendientes) {
+                if (pendiente instanceof Estacion estacion) {
+                    registrarEstacion(nuevo, estacion);
+                } else if (pendiente instanceof Medicion medicion && !recientes.contains(
+                        new ClaveMedicion(medicion.getEstacion().getId(), medicion.getFechaMedicion()))) {
+                    registrar(nuevo, medicion.getEstacion().getDistrito(), medicion);
+                    reaplicados++;
+                }
+            }
+            pendientes = null;
+            estado = nuevo;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+        logger.info("Agregados por distrito recargados: {} distritos, {} mediciones ({} recibidas durante la recarga)",
+                nuevo.ventanas.size(), filas.size(), reaplicados);
+    }
+
+    @EventListener
+    public void onMedicionRegistrada(MedicionRegistradaEvent event) {
+        Medicion medicion = event.getMedicion();
+        Estacion estacion = medicion.getEstacion();
+        // Una corrección no se suma otra vez: su cubeta conserva el valor original
+        if (event.isCorreccion() || estacion == null || estacion.getDistrito() == null
+                || !Boolean.TRUE.equals(estacion.getActiva())) {
+            return;
+        }
+        bloqueo.readLock().lock();
+        try {
+            registrar(estado, estacion.getDistrito(), medicion);
+            if (pendientes != null) {
+                pendientes.add(medicion);
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEstacionModificada(EstacionModificadaEvent event) {
+        bloqueo.readLock().lock();
+        try {
+            registrarEstacion(estado, event.getEstacion());
+            if (pendientes != null) {
+                pendientes.add(event.getEstacion());
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los distritos que tienen estaciones activas, ordenados alfabéticamente.
+     */
+    public List<String> getDistritos() {
+        List<String> distritos = new ArrayList<>();
+        estado.estacionesPorDistrito.forEach((distrito, estaciones) -> {
+            if (!estaciones.isEmpty()) {
+                distritos.add(distrito);
+            }
+        });
+        distritos.sort(Comparator.naturalOrder());
+        return distritos;
+    }
+
+    /**
+     * Devuelve los agregados de cada distrito, del AQI promedio de 24 h más alto al más bajo.
+     */
+    public List<AgregadoDistritoDTO> getAgregados() {
+        long cubetaActual = cubeta(LocalDateTime.now());
+        Estado actual = estado;
+        Set<String> distritos = new TreeSet<>();
+        actual.estacionesPorDistrito.forEach((distrito, estaciones) -> {
+            if (!estaciones.isEmpty()) {
+                distritos.add(distrito);
+            }
+        });
+        distritos.addAll(actual.ventanas.keySet());
+
+        List<AgregadoDistritoDTO> agregados = new ArrayList<>();
+        for (String distrito : distritos) {
+            VentanaDistrito ventana = actual.ventanas.get(distrito);
+            Set<Long> estaciones = actual.estacionesPorDistrito.get(distrito);
+            int cantidadEstaciones = estaciones != null ? estaciones.size() : 0;
+            Resumen horas24 = ventana != null ? ventana.resumir(cubetaActual, CUBETAS_24H) : new Resumen();
+            if (cantidadEstaciones == 0 && horas24.cantidad == 0) {
+                continue;
+            }
+            Resumen hora1 = ventana != null ? ventana.resumir(cubetaActual, CUBETAS_1H) : new Resumen();
+
+            AgregadoDistritoDTO dto = new AgregadoDistritoDTO();
+            dto.setDistrito(distrito);
+            dto.setEstaciones(cantidadEstaciones);
+            dto.setMedicionesUltimaHora(hora1.cantidad);
+            dto.setPromedioAqiUltimaHora(promedio(hora1));
+            dto.setMaxAqiUltimaHora(hora1.cantidad > 0 ? hora1.max : null);
+            dto.setMediciones24Horas(horas24.cantidad);
+            dto.setPromedioAqi24Horas(promedio(horas24));
+            dto.setMaxAqi24Horas(horas24.cantidad > 0 ? horas24.max : null);
+            agregados.add(dto);
+        }
+        agregados.sort(Comparator.comparing(AgregadoDistritoDTO::getPromedioAqi24Horas,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return agregados;
+    }
+
+    private void registrar(Estado destino, String distrito, Medicion medicion) {
+        // Las lecturas que el control de calidad no considera confiables no entran en los promedios
+        if (!controlCalidadService.esConfiable(medicion)) {
+            return;
+        }
+        Integer aqi = aqiCalculator.calcularAQI(medicion);
+        if (aqi == null || medicion.getFechaMedicion() == null) {
+            return;
+        }
+        long cubeta = cubeta(medicion.getFechaMedicion());
+        long cubetaActual = cubeta(LocalDateTime.now());
+        if (cubeta <= cubetaActual - CUBETAS_24H || cubeta > cubetaActual + 1) {
+            return;
+        }
+        destino.ventanas.computeIfAbsent(distrito, d -> new VentanaDistrito()).registrar(cubeta, aqi);
+    }
+
+    /**
+     * Mueve la estación a su distrito actual; el compute la trata de forma atómica frente a otro evento de la misma estación.
+     */
+    private static void registrarEstacion(Estado destino, Estacion estacion) {
+        destino.distritoPorEstacion.compute(estacion.getId(), (id, anterior) -> {
+            if (anterior != null) {
+                destino.estacionesPorDistrito.computeIfPresent(anterior, (d, estaciones) -> {
+                    estaciones.remove(id);
+                    return estaciones;
+                });
+            }
+            if (!Boolean.TRUE.equals(estacion.getActiva()) || estacion.getDistrito() == null) {
+                return null;
+            }
+            destino.estacionesPorDistrito.computeIfAbsent(estacion.getDistrito(), d -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+            return estacion.getDistrito();
+        });
+    }
+
+    private static long cubeta(LocalDateTime fecha) {
+        return Math.floorDiv(fecha.toEpochSecond(ZoneOffset.UTC), SEGUNDOS_POR_CUBETA);
+    }
+
+    private static Double promedio(Resumen resumen) {
+        return resumen.cantidad > 0 ? (double) resumen.suma / resumen.cantidad : null;
+    }
+}
@@ -0,0 +1,145 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.dto.DifusionAlertaDTO;
+import com.arequipa.aire.backend.dto.DifusionAlertaResultadoDTO;
+import com.arequipa.aire.backend.entity.Alerta;
+import com.arequipa.aire.backend.entity.NotificacionOutbox;
+import com.arequipa.aire.backend.entity.Usuario;
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.BusinessException;
+import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.repository.NotificacionOutboxRepository;
+import com.arequipa.aire.backend.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Difusión masiva de alertas a los usuarios afectados.
+ *
+ * Los destinatarios se seleccionan con una única consulta y las alertas se
+ * insertan por JDBC en lotes, junto con un registro de bandeja de salida por
+ * canal, todo en la misma transacción.
+ */
+@Service
+public class AlertaDifusionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertaDifusionService.class);
+
+    private static final String INSERT_ALERTA = """
+        INSERT INTO alertas (usuario_id, estacion_id, tipo, severidad, titulo, mensaje, valor_medido,
+                             umbral_configurado, contaminante, color_alerta, leida, fecha_creacion, lote_difusion)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)
+        """;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EstacionRepository estacionRepository;
+
+    @Autowired
+    private NotificacionOutboxRepository notificacionOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContadorAlertasService contadorAlertasService;
+
+    @Value("${app.alertas.difusion.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Crea una alerta por cada usuario destinatario y registra la difusión en la bandeja de salida.
+     */
+    @Transactional
+    public DifusionAlertaResultadoDTO difundir(DifusionAlertaDTO difusion) {
+        if (difusion.getEstacionId() != null && !estacionRepository.existsById(difusion.getEstacionId())) {
+            throw new BusinessException("La estación " + difusion.getEstacionId() + " no existe");
+        }
+
+        Set<Usuario.TipoSensibilidad> tipos = difusion.getTiposSensibilidad() == null || difusion.getTiposSensibilidad().isEmpty()
+                ? EnumSet.allOf(Usuario.TipoSensibilidad.class)
+                : EnumSet.copyOf(difusion.getTiposSensibilidad());
+        List<NotificacionOutbox.CanalNotificacion> canales = difusion.getCanales() == null || difusion.getCanales().isEmpty()
+                ? List.of(NotificacionOutbox.CanalNotificacion.PUSH)
+                : List.copyOf(new LinkedHashSet<>(difusion.getCanales()));
+
+        List<Long> destinatarios = usuarioRepository.findIdsDestinatariosDifusion(tipos, difusion.getDistrito());
+        String lote = UUID.randomUUID().toString();
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        String color = Alerta.getColorPorSeveridad(difusion.getSeveridad());
+
+        jdbcTemplate.batchUpdate(INSERT_ALERTA, destinatarios, batchSize, (ps, usuarioId) -> {
+            ps.setLong(1, usuarioId);
+            setLong(ps, 2, difusion.getEstacionId());
+            ps.setString(3, difusion.getTipo().name());
+            ps.setString(4, difusion.getSeveridad().name());
+            ps.setString(5, difusion.getTitulo());
+            setString(ps, 6, difusion.getMensaje());
+            setDouble(ps, 7, difusion.getValorMedido());
+            setDouble(ps, 8, difusion.getUmbralConfigurado());
+            setString(ps, 9, difusion.getContaminante());
+            ps.setString(10, color);
+            ps.setTimestamp(11, ahora);
+            ps.setString(12, lote);
+        });
+
+        for (NotificacionOutbox.CanalNotificacion canal : canales) {
+            notificacionOutboxRepository.save(new NotificacionOutbox(
+                    lote, canal, difusion.getSeveridad(), difusion.getTitulo(), destinatarios.size()));
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                destinatarios.forEach(contadorAlertasService::incrementar);
+            }
+        });
+
+        logger.info("Difusión {} ({}): {} alertas creadas, canales {}",
+                lote, difusion.getSeveridad(), destinatarios.size(), canales);
+        return new DifusionAlertaResultadoDTO(lote, destinatarios.size(), canales);
+    }
+
+    private static void setLong(PreparedStatement ps, int indice, Long valor) throws SQLException {
+        if (valor != null) {
+            ps.setLong(indice, valor);
+        } else {
+            ps.setNull(indice, Types.BIGINT);
+        }
+    }
+
+    private static void setDouble(PreparedStatement ps, int indice, Double valor) throws SQLException {
+        if (valor != null) {
+            ps.setDouble(indice, valor);
+        } else {
+            ps.setNull(indice, Types.DOUBLE);
+        }
+    }
+
+    private static void setString(PreparedStatement ps, int indice, String valor) throws SQLException {
+        if (valor != null) {
+            ps.setString(indice, valor);
+        } else {
+            ps.setNull(indice, Types.VARCHAR);
+        }
+    }
+}
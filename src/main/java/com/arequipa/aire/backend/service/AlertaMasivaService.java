@@ -0,0 +1,149 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Alerta;
+import com.arequipa.aire.backend.repository.AlertaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operaciones masivas sobre alertas.
+ *
+ * Cada operación se resuelve con una única sentencia UPDATE o DELETE y
+ * devuelve la cantidad de filas afectadas; los contadores de no leídas se
+ * ajustan tras el commit.
+ */
+@Service
+public class AlertaMasivaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertaMasivaService.class);
+
+    @Autowired
+    private AlertaRepository alertaRepository;
+
+    @Autowired
+    private ContadorAlertasService contadorAlertasService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.alertas.masivas.max-ids:1000}")
+    private int maxIds;
+
+    /**
+     * Marca como leídas todas las alertas pendientes de un usuario.
+     */
+    @Transactional
+    public int marcarTodasLeidas(Long usuarioId) {
+        int actualizadas = alertaRepository.marcarTodasLeidas(usuarioId, LocalDateTime.now());
+        despuesDelCommit(() -> contadorAlertasService.sumar(usuarioId, -actualizadas));
+        return actualizadas;
+    }
+
+    /**
+     * Marca como leídas las alertas indicadas de un usuario; ignora las ajenas o ya leídas.
+     */
+    @Transactional
+    public int marcarLeidas(Long usuarioId, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("Se pueden marcar como máximo " + maxIds + " alertas por petición");
+        }
+        int actualizadas = alertaRepository.marcarLeidas(usuarioId, ids, LocalDateTime.now());
+        despuesDelCommit(() -> contadorAlertasService.sumar(usuarioId, -actualizadas));
+        return actualizadas;
+    }
+
+    /**
+     * Elimina las alertas que cumplen todos los filtros indicados. Se exige al menos un filtro.
+     *
+     * Antes del DELETE se cuentan, con los mismos filtros, las no leídas por
+     * usuario, para restarlas de los contadores sin reconciliar toda la tabla.
+     */
+    @Transactional
+    public int eliminar(Long usuarioId, Boolean leida, Alerta.SeveridadAlerta severidad,
+                        Alerta.TipoAlerta tipo, LocalDateTime antesDe) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Alerta> delete = cb.createCriteriaDelete(Alerta.class);
+        List<Predicate> filtros = filtros(cb, delete.from(Alerta.class), usuarioId, leida, severidad, tipo, antesDe);
+        if (filtros.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un filtro para eliminar alertas");
+        }
+        delete.where(filtros.toArray(new Predicate[0]));
+
+        List<Object[]> noLeidasPorUsuario = Boolean.TRUE.equals(leida)
+                ? List.of()
+                : contarNoLeidasPorUsuario(cb, usuarioId, severidad, tipo, antesDe);
+
+        int eliminadas = entityManager.createQuery(delete).executeUpdate();
+        logger.info("Eliminación masiva de alertas: {} filas", eliminadas);
+
+        if (eliminadas > 0 && !noLeidasPorUsuario.isEmpty()) {
+            despuesDelCommit(() -> noLeidasPorUsuario.forEach(fila ->
+                    contadorAlertasService.sumar((Long) fila[0], -(Long) fila[1])));
+        }
+        return eliminadas;
+    }
+
+    private List<Object[]> contarNoLeidasPorUsuario(CriteriaBuilder cb, Long usuarioId, Alerta.SeveridadAlerta severidad,
+                                                    Alerta.TipoAlerta tipo, LocalDateTime antesDe) {
+        CriteriaQuery<Object[]> conteo = cb.createQuery(Object[].class);
+        Root<Alerta> alerta = conteo.from(Alerta.class);
+        Path<Long> usuario = alerta.get("usuario").get("id");
+        conteo.multiselect(usuario, cb.count(alerta))
+                .where(filtros(cb, alerta, usuarioId, false, severidad, tipo, antesDe).toArray(new Predicate[0]))
+                .groupBy(usuario);
+        return entityManager.createQuery(conteo).getResultList();
+    }
+
+    private static List<Predicate> filtros(CriteriaBuilder cb, Root<Alerta> alerta, Long usuarioId, Boolean leida,
+                                           Alerta.SeveridadAlerta severidad, Alerta.TipoAlerta tipo,
+                                           LocalDateTime antesDe) {
+        List<Predicate> filtros = new ArrayList<>();
+        if (usuarioId != null) {
+            filtros.add(cb.equal(alerta.get("usuario").get("id"), usuarioId));
+        }
+        if (leida != null) {
+            filtros.add(cb.equal(alerta.get("leida"), leida));
+        }
+        if (severidad != null) {
+            filtros.add(cb.equal(alerta.get("severidad"), severidad));
+        }
+        if (tipo != null) {
+            filtros.add(cb.equal(alerta.get("tipo"), tipo));
+        }
+        if (antesDe != null) {
+            filtros.add(cb.lessThan(alerta.get("fechaCreacion"), antesDe));
+        }
+        return filtros;
+    }
+
+    private static void despuesDelCommit(Runnable accion) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
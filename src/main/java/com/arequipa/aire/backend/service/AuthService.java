@@ -0,0 +1,131 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.dto.AuthResponseDTO;
+import com.arequipa.aire.backend.dto.LoginRequestDTO;
+import com.arequipa.aire.backend.dto.UsuarioDTO;
+import com.arequipa.aire.backend.entity.Usuario;
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.ServicioSaturadoException;
+import com.arequipa.aire.backend.repository.UsuarioRepository;
+import com.arequipa.aire.backend.util.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Login y registro de usuarios con emisión de tokens JWT.
+ *
+ * Las búsquedas en base de datos se hacen en el hilo de la petición; el hash
+ * de la contraseña se delega a {@link HashContrasenasService} y la respuesta
+ * se completa de forma asíncrona, liberando el hilo de Tomcat mientras tanto.
+ * Las escrituras posteriores al hash siguen en el pool de tareas de la
+ * aplicación, para que el pool de hash solo haga BCrypt.
+ */
+@Service
+public class AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private HashContrasenasService hashContrasenasService;
+
+    @Autowired
+    private LimitadorIntentosService limitadorIntentosService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+
+    /**
+     * Autentica por username o email y devuelve un token.
+     */
+    public CompletableFuture<AuthResponseDTO> login(LoginRequestDTO login, String ip) {
+        String identificador = login.getUsernameOrEmail().trim();
+        limitadorIntentosService.registrarIntento(ip, identificador);
+
+        Optional<Usuario> usuario = usuarioRepository.findByUsernameOrEmail(identificador, identificador)
+                .filter(u -> Boolean.TRUE.equals(u.getActivo()));
+        String hash = usuario.map(Usuario::getPassword).orElseGet(hashContrasenasService::getHashReferencia);
+
+        return hashContrasenasService.verificar(login.getPassword(), hash).thenApplyAsync(coincide -> {
+            if (!coincide || usuario.isEmpty()) {
+                logger.info("Login fallido para '{}' desde {}", identificador, ip);
+                throw new BadCredentialsException("Credenciales inválidas");
+            }
+            limitadorIntentosService.registrarExito(ip, identificador);
+            usuarioRepository.actualizarUltimoAcceso(usuario.get().getId(), LocalDateTime.now());
+            return emitirToken(usuario.get());
+        }, this::continuar);
+    }
+
+    /**
+     * Guarda un usuario nuevo con la contraseña hasheada.
+     */
+    public CompletableFuture<Usuario> registrar(Usuario usuario, String contrasena) {
+        if (contrasena == null || contrasena.length() < 8) {
+            throw new IllegalArgumentException("La contraseña debe tener al menos 8 caracteres");
+        }
+        return hashContrasenasService.codificar(contrasena).thenApplyAsync(hash -> {
+            usuario.setPassword(hash);
+            return usuarioRepository.save(usuario);
+        }, this::continuar);
+    }
+
+    /**
+     * Emite un token JWT con el rol y el ID del usuario.
+     */
+    public AuthResponseDTO emitirToken(Usuario usuario) {
+        UserDetails detalles = User.withUsername(usuario.getUsername())
+                .password(usuario.getPassword())
+                .roles(usuario.getRole().name())
+                .build();
+        String token = jwtUtils.generateToken(detalles, Map.of(
+                "role", usuario.getRole().name(),
+                "uid", usuario.getId()));
+        return new AuthResponseDTO(token, convertToDTO(usuario), jwtUtils.getExpirationTime());
+    }
+
+    /**
+     * Continúa tras el hash en el pool de tareas; con el pool lleno responde 503 como el de hash.
+     */
+    private void continuar(Runnable tarea) {
+        try {
+            applicationTaskExecutor.execute(tarea);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("El servicio de autenticación está saturado, intente nuevamente");
+        }
+    }
+
+    private UsuarioDTO convertToDTO(Usuario usuario) {
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setId(usuario.getId());
+        dto.setUsername(usuario.getUsername());
+        dto.setEmail(usuario.getEmail());
+        dto.setNombreCompleto(usuario.getNombreCompleto());
+        dto.setTelefono(usuario.getTelefono());
+        dto.setDistrito(usuario.getDistrito());
+        dto.setRole(usuario.getRole());
+        dto.setTipoSensibilidad(usuario.getTipoSensibilidad());
+        dto.setActivo(usuario.getActivo());
+        dto.setFechaUltimoAcceso(usuario.getFechaUltimoAcceso());
+        dto.setFechaCreacion(usuario.getFechaCreacion());
+        return dto;
+    }
+}
@@ -0,0 +1,153 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Usuario;
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
+import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.repository.UsuarioRepository;
+import com.arequipa.aire.backend.util.IndiceBusqueda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Búsqueda para autocompletado de estaciones y usuarios.
+ *
+ * Las estaciones activas se indexan en memoria (nombre y distrito) y el índice
+ * se reconstruye cuando una estación cambia. Los usuarios se buscan en la base
+ * de datos: en PostgreSQL con pg_trgm si la extensión está instalada, y en
+ * otras bases con un LIKE limitado. La extensión y su índice GIN no se crean
+ * al iniciar: se aplican con {@code db/busqueda-usuarios-trgm.sql}.
+ */
+@Service
+public class BusquedaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaService.class);
+
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final String EXTENSION_TRGM = "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'";
+
+    private static final String INDICE_USUARIOS = """
+        SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE c.relname = 'idx_usuario_busqueda_trgm' AND i.indisvalid
+        """;
+
+    @Autowired
+    private EstacionRepository estacionRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Estacion> estaciones = new ConcurrentHashMap<>();
+
+    private volatile IndiceBusqueda<Estacion> indiceEstaciones = new IndiceBusqueda<>(List.of(), this::textos);
+
+    private volatile boolean trigramasUsuarios;
+
+    /**
+     * Carga el índice de estaciones y prepara los trigramas; se ejecuta en el calentamiento.
+     */
+    public void inicializar() {
+        estaciones.clear();
+        estacionRepository.findByActivaTrue().forEach(e -> estaciones.put(e.getId(), e));
+        reconstruirIndice();
+        trigramasUsuarios = prepararTrigramasUsuarios();
+    }
+
+    @EventListener
+    public void onEstacionModificada(EstacionModificadaEvent event) {
+        Estacion estacion = event.getEstacion();
+        if (Boolean.TRUE.equals(estacion.getActiva())) {
+            estaciones.put(estacion.getId(), estacion);
+        } else {
+            estaciones.remove(estacion.getId());
+        }
+        reconstruirIndice();
+    }
+
+    /**
+     * Estaciones activas indexadas, sin consultar la base de datos.
+     */
+    public Collection<Estacion> getEstacionesActivas() {
+        return Collections.unmodifiableCollection(estaciones.values());
+    }
+
+    /**
+     * Estaciones activas cuyo nombre o distrito coincide con la consulta.
+     */
+    public List<Estacion> buscarEstaciones(String consulta, int limite) {
+        return indiceEstaciones.buscar(consulta, limitar(limite));
+    }
+
+    /**
+     * Usuarios activos cuyo username o nombre coincide con la consulta.
+     */
+    public List<Usuario> buscarUsuarios(String consulta, int limite) {
+        String q = consulta == null ? "" : consulta.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        String escapada = q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        if (trigramasUsuarios) {
+            return usuarioRepository.buscarPorTrigramas(q, "%" + escapada + "%", escapada + "%", limitar(limite));
+        }
+        return usuarioRepository.buscarPorTexto("%" + escapada + "%", PageRequest.of(0, limitar(limite)));
+    }
+
+    private synchronized void reconstruirIndice() {
+        indiceEstaciones = new IndiceBusqueda<>(List.copyOf(estaciones.values()), this::textos);
+    }
+
+    private List<String> textos(Estacion estacion) {
+        return estacion.getDistrito() != null
+                ? List.of(estacion.getNombre(), estacion.getDistrito())
+                : List.of(estacion.getNombre());
+    }
+
+    /**
+     * Indica si la base es PostgreSQL con pg_trgm instalada; avisa si falta el índice de usuarios.
+     */
+    private boolean prepararTrigramasUsuarios() {
+        try {
+            String producto = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(producto)) {
+                return false;
+            }
+            Integer extension = jdbcTemplate.queryForObject(EXTENSION_TRGM, Integer.class);
+            if (extension == null || extension == 0) {
+                logger.info("pg_trgm no está instalada: la búsqueda de usuarios usa LIKE (ver db/busqueda-usuarios-trgm.sql)");
+                return false;
+            }
+            Integer indice = jdbcTemplate.queryForObject(INDICE_USUARIOS, Integer.class);
+            if (indice == null || indice == 0) {
+                logger.warn("Falta el índice idx_usuario_busqueda_trgm o no es válido: la búsqueda de usuarios recorre la tabla (ver db/busqueda-usuarios-trgm.sql)");
+            }
+            logger.info("Búsqueda de usuarios con trigramas habilitada");
+            return true;
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo comprobar la búsqueda por trigramas de usuarios: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static int limitar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
@@ -0,0 +1,141 @@
+package com.arequipa.aire.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calentamiento de los estados en memoria al arrancar.
+ *
+ * Carga en paralelo las estaciones, las lecturas actuales, los agregados por
+ * distrito, las predicciones vigentes, los contadores de alertas, las claves
+ * recientes del filtro de ingesta y las ventanas del control de calidad. Se ejecuta dentro del
+ * {@link ApplicationReadyEvent}: Spring Boot publica
+ * {@code ACCEPTING_TRAFFIC} recién cuando los listeners de ese evento terminan,
+ * así que mientras dura el calentamiento {@code /actuator/health/readiness}
+ * responde {@code OUT_OF_SERVICE} y el balanceador no envía tráfico. Si se
+ * supera el tiempo máximo se deja de esperar; las cargas pendientes siguen en
+ * segundo plano.
+ */
+@Service
+public class CalentamientoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalentamientoService.class);
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private LecturasActualesService lecturasActualesService;
+
+    @Autowired
+    private AgregadoDistritoService agregadoDistritoService;
+
+    @Autowired
+    private PrediccionesActualesService prediccionesActualesService;
+
+    @Autowired
+    private ContadorAlertasService contadorAlertasService;
+
+    @Autowired
+    private IngestaMedicionesService ingestaMedicionesService;
+
+    @Autowired
+    private ControlCalidadService controlCalidadService;
+
+    @Autowired
+    private ApplicationAvailability disponibilidad;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.calentamiento.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.calentamiento.timeout:60s}")
+    private Duration timeout;
+
+    @Value("${app.calentamiento.hilos:0}")
+    private int hilos;
+
+    private final AtomicInteger completadas = new AtomicInteger();
+
+    private volatile int total;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calentar() {
+        Map<String, Runnable> tareas = new LinkedHashMap<>();
+        tareas.put("estaciones", busquedaService::inicializar);
+        tareas.put("lecturas-actuales", lecturasActualesService::recargar);
+        tareas.put("agregados-distrito", agregadoDistritoService::recargar);
+        tareas.put("predicciones", prediccionesActualesService::recargar);
+        tareas.put("contadores-alertas", contadorAlertasService::reconciliar);
+        tareas.put("claves-ingesta", ingestaMedicionesService::cargarClavesRecientes);
+        tareas.put("control-calidad", controlCalidadService::cargarHistorial);
+        total = tareas.size();
+        Gauge.builder("app.calentamiento.progreso", () -> total == 0 ? 1.0 : (double) completadas.get() / total)
+                .description("Fracción de cargas del calentamiento terminadas")
+                .register(meterRegistry);
+
+        if (!habilitado) {
+            // Sin calentamiento las cargas se hacen igual, en orden, antes de aceptar tráfico
+            tareas.forEach((nombre, tarea) -> ejecutar(nombre, tarea));
+            return;
+        }
+
+        logger.info("Calentamiento iniciado: {} cargas, readiness {}", total, disponibilidad.getReadinessState());
+        long inicio = System.nanoTime();
+        int tamano = hilos > 0 ? hilos : Math.min(total, Runtime.getRuntime().availableProcessors() + 1);
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(tamano, r -> {
+            Thread thread = new Thread(r, "calentamiento-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<?>[] futuros = tareas.entrySet().stream()
+                    .map(tarea -> CompletableFuture.runAsync(() -> ejecutar(tarea.getKey(), tarea.getValue()), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futuros).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Calentamiento completado en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        } catch (TimeoutException e) {
+            logger.warn("Calentamiento sin terminar tras {}: {}/{} cargas; se acepta tráfico igualmente",
+                    timeout, completadas.get(), total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Calentamiento interrumpido: {}", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void ejecutar(String nombre, Runnable tarea) {
+        long inicio = System.nanoTime();
+        try {
+            tarea.run();
+        } catch (Exception e) {
+            logger.warn("Calentamiento: falló la carga {}: {}", nombre, e.getMessage());
+        } finally {
+            logger.info("Calentamiento: {} lista en {} ms ({}/{})", nombre,
+                    (System.nanoTime() - inicio) / 1_000_000, completadas.incrementAndGet(), total);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.repository.AlertaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria de alertas no leídas por usuario.
+ *
+ * Se actualizan al crear, leer o eliminar alertas (las operaciones masivas
+ * restan la cantidad de filas afectadas) y se reconcilian periódicamente con
+ * la base de datos para corregir cualquier desvío. La reconciliación no toca
+ * a los usuarios cuyo contador cambió mientras corría la consulta, porque el
+ * conteo ya podría incluir ese cambio; se corrigen en la siguiente.
+ */
+@Service
+public class ContadorAlertasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContadorAlertasService.class);
+
+    @Autowired
+    private AlertaRepository alertaRepository;
+
+    /**
+     * Contador de un usuario y cuántas veces se modificó, para que la reconciliación detecte cambios en curso.
+     */
+    private static final class Contador {
+        private final LongAdder valor = new LongAdder();
+        private final AtomicLong cambios = new AtomicLong();
+    }
+
+    private final Map<Long, Contador> noLeidas = new ConcurrentHashMap<>();
+
+    /**
+     * Devuelve la cantidad de alertas no leídas de un usuario sin consultar la base de datos.
+     */
+    public long getNoLeidas(Long usuarioId) {
+        Contador contador = noLeidas.get(usuarioId);
+        return contador != null ? Math.max(0, contador.valor.sum()) : 0;
+    }
+
+    public void incrementar(Long usuarioId) {
+        sumar(usuarioId, 1);
+    }
+
+    public void decrementar(Long usuarioId) {
+        sumar(usuarioId, -1);
+    }
+
+    public void sumar(Long usuarioId, long delta) {
+        if (delta != 0) {
+            Contador contador = noLeidas.computeIfAbsent(usuarioId, id -> new Contador());
+            // Primero el cambio: la reconciliación lee el valor antes que los cambios
+            contador.cambios.incrementAndGet();
+            contador.valor.add(delta);
+        }
+    }
+
+    /**
+     * Ajusta los contadores a los valores de la base de datos.
+     */
+    public synchronized void reconciliar() {
+        Map<Long, Long> cambiosAntes = new HashMap<>();
+        noLeidas.forEach((usuarioId, contador) -> cambiosAntes.put(usuarioId, contador.cambios.get()));
+        Map<Long, Long> conteos = new HashMap<>();
+        for (Object[] fila : alertaRepository.countNoLeidasPorUsuario()) {
+            conteos.put((Long) fila[0], (Long) fila[1]);
+        }
+        int omitidos = 0;
+        for (Long usuarioId : noLeidas.keySet()) {
+            omitidos += ajustar(usuarioId, conteos.getOrDefault(usuarioId, 0L), cambiosAntes.get(usuarioId)) ? 0 : 1;
+        }
+        for (Map.Entry<Long, Long> conteo : conteos.entrySet()) {
+            if (!noLeidas.containsKey(conteo.getKey())) {
+                omitidos += ajustar(conteo.getKey(), conteo.getValue(), null) ? 0 : 1;
+            }
+        }
+        logger.debug("Contadores de alertas no leídas reconciliados: {} usuarios, {} con cambios en curso",
+                conteos.size(), omitidos);
+    }
+
+    /**
+     * Aplica la diferencia con el conteo si el contador no cambió desde antes de la consulta.
+     */
+    private boolean ajustar(Long usuarioId, long cantidad, Long cambiosAntes) {
+        Contador contador = noLeidas.computeIfAbsent(usuarioId, id -> new Contador());
+        long valor = contador.valor.sum();
+        if (contador.cambios.get() != (cambiosAntes != null ? cambiosAntes : 0L)) {
+            return false;
+        }
+        if (cantidad != valor) {
+            contador.valor.add(cantidad - valor);
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.alertas.contadores.reconciliacion-ms:300000}",
+               initialDelayString = "${app.alertas.contadores.reconciliacion-ms:300000}")
+    public void reconciliarPeriodicamente() {
+        try {
+            reconciliar();
+        } catch (Exception e) {
+            logger.warn("No se pudo reconciliar los contadores de alertas: {}", e.getMessage());
+        }
+    }
+}
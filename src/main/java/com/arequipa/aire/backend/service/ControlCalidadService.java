@@ -0,0 +1,424 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.util.VentanaRobusta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Control de calidad de las mediciones al ingresar.
+ *
+ * Por estación y contaminante mantiene una {@link VentanaRobusta} con las
+ * últimas lecturas y marca como sospechoso un valor que se aleja de la mediana
+ * más de {@code umbral-mad} desviaciones robustas o que se aparta de ella más
+ * rápido que la tasa máxima del contaminante. Luego lo compara con la mediana de las
+ * demás estaciones con lectura reciente: una subida que la red confirma es un
+ * episodio real y conserva buena confiabilidad; una que solo ve una estación,
+ * no. El puntaje de la medición es el del peor contaminante y se guarda en
+ * {@link Medicion#setConfiabilidad(Double)} antes de persistirla.
+ *
+ * Puntuar no modifica nada. La lectura entra a las ventanas con
+ * {@link #incorporar(Medicion)}, que ignora una marca de tiempo ya vista, y a
+ * las métricas con {@link #contabilizar(Medicion, int)} solo cuando la ingesta
+ * confirmó que se insertó: una reentrega o un reintento de la bitácora no se
+ * cuentan dos veces. Los motivos de sospecha viajan entre ambos pasos como
+ * bits de un int.
+ *
+ * Todo el estado se reserva al ver una estación por primera vez, y los
+ * puntajes posibles son constantes, así que evaluar una medición no crea
+ * objetos.
+ */
+@Service
+public class ControlCalidadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControlCalidadService.class);
+
+    private static final Double CONFIABLE = 1.0;
+    private static final Double EPISODIO_REGIONAL = 0.8;
+    private static final Double DISCREPA_RED = 0.6;
+    private static final Double SOSPECHOSA = 0.4;
+    private static final Double ANOMALA = 0.2;
+    private static final Double FUERA_DE_RANGO = 0.0;
+
+    /**
+     * Intervalo mínimo para la tasa de cambio, en horas: lecturas muy seguidas no la disparan por ruido.
+     */
+    private static final double HORAS_MINIMAS = 0.25;
+
+    /**
+     * Límites por contaminante en μg/m³: máximo físico, ruido de fondo del sensor y tasa máxima por hora.
+     */
+    enum Contaminante {
+        PM25(1000, 5, 150),
+        PM10(2000, 10, 300),
+        NO2(2000, 10, 200),
+        O3(1000, 10, 150),
+        CO(100000, 500, 5000),
+        SO2(2000, 5, 100);
+
+        private final double maximo;
+        private final double ruido;
+        private final double tasaMaxima;
+
+        Contaminante(double maximo, double ruido, double tasaMaxima) {
+            this.maximo = maximo;
+            this.ruido = ruido;
+            this.tasaMaxima = tasaMaxima;
+        }
+
+        Double valor(Medicion medicion) {
+            return switch (this) {
+                case PM25 -> medicion.getPm25();
+                case PM10 -> medicion.getPm10();
+                case NO2 -> medicion.getNo2();
+                case O3 -> medicion.getO3();
+                case CO -> medicion.getCo();
+                case SO2 -> medicion.getSo2();
+            };
+        }
+    }
+
+    private static final Contaminante[] CONTAMINANTES = Contaminante.values();
+
+    private enum Motivo { RANGO, DISPERSION, TASA, RED }
+
+    private static final Motivo[] MOTIVOS = Motivo.values();
+
+    /**
+     * Resultado de {@link #puntuar(Medicion)} cuando la medición no se evaluó.
+     */
+    public static final int SIN_EVALUAR = -1;
+
+    /**
+     * Bit, tras los de {@link Motivo}, que marca un valor que la red confirma; no se guarda ni se cuenta.
+     */
+    private static final int CONFIRMADA_POR_RED = 1 << MOTIVOS.length;
+
+    /**
+     * Ventanas de una estación y su posición en los arreglos de la red (-1 si no hay lugar).
+     */
+    private static final class EstadoEstacion {
+        private final VentanaRobusta[] ventanas = new VentanaRobusta[CONTAMINANTES.length];
+        private final int posicion;
+
+        private EstadoEstacion(int tamano, int posicion) {
+            for (int i = 0; i < ventanas.length; i++) {
+                ventanas[i] = new VentanaRobusta(tamano);
+            }
+            this.posicion = posicion;
+        }
+    }
+
+    /**
+     * Último valor de cada estación para un contaminante, con su marca de tiempo.
+     */
+    private static final class Red {
+        private final double[] valores;
+        private final long[] marcas;
+        private final double[] trabajo;
+
+        private Red(int estaciones) {
+            valores = new double[estaciones];
+            marcas = new long[estaciones];
+            trabajo = new double[estaciones];
+            Arrays.fill(marcas, Long.MIN_VALUE);
+        }
+    }
+
+    @Autowired
+    private MedicionRepository medicionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.control-calidad.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.control-calidad.ventana:48}")
+    private int tamanoVentana;
+
+    @Value("${app.control-calidad.minimo-muestras:12}")
+    private int minimoMuestras;
+
+    @Value("${app.control-calidad.umbral-mad:6}")
+    private double umbralMad;
+
+    @Value("${app.control-calidad.razon-red:4}")
+    private double razonRed;
+
+    @Value("${app.control-calidad.minimo-red:3}")
+    private int minimoRed;
+
+    @Value("${app.control-calidad.vigencia-red:2h}")
+    private Duration vigenciaRed;
+
+    @Value("${app.control-calidad.max-estaciones:512}")
+    private int maxEstaciones;
+
+    @Value("${app.control-calidad.umbral-confiable:0.5}")
+    private double umbralConfiable;
+
+    private final Map<Long, EstadoEstacion> estados = new ConcurrentHashMap<>();
+    private final AtomicInteger posiciones = new AtomicInteger();
+
+    private Red[] redes;
+    private Counter confiables;
+    private Counter noConfiables;
+    private Counter[][] sospechas;
+
+    @PostConstruct
+    public void init() {
+        redes = new Red[CONTAMINANTES.length];
+        sospechas = new Counter[CONTAMINANTES.length][MOTIVOS.length];
+        for (Contaminante contaminante : CONTAMINANTES) {
+            redes[contaminante.ordinal()] = new Red(maxEstaciones);
+            for (Motivo motivo : MOTIVOS) {
+                sospechas[contaminante.ordinal()][motivo.ordinal()] = Counter.builder("app.calidad.sospechas")
+                        .description("Valores marcados por el control de calidad, por contaminante y motivo")
+                        .tag("contaminante", contaminante.name().toLowerCase())
+                        .tag("motivo", motivo.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        }
+        confiables = contadorMediciones("confiable");
+        noConfiables = contadorMediciones("no-confiable");
+    }
+
+    private Counter contadorMediciones(String resultado) {
+        return Counter.builder("app.calidad.mediciones")
+                .description("Mediciones evaluadas por el control de calidad, según superen el umbral de confiabilidad")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si una medición guardada alcanza la confiabilidad mínima para promedios; sin puntaje, sí.
+     */
+    public boolean esConfiable(Medicion medicion) {
+        Double confiabilidad = medicion.getConfiabilidad();
+        return confiabilidad == null || confiabilidad >= umbralConfiable;
+    }
+
+    /**
+     * Calcula la confiabilidad de una medición con su estación asignada, sin
+     * tocar las ventanas ni las métricas. Si el proveedor ya informó una
+     * confiabilidad menor, se conserva la suya. Devuelve los motivos de
+     * sospecha para {@link #contabilizar(Medicion, int)}, o {@link #SIN_EVALUAR}.
+     */
+    public int puntuar(Medicion medicion) {
+        if (!habilitado || medicion.getEstacion() == null || medicion.getFechaMedicion() == null) {
+            return SIN_EVALUAR;
+        }
+        EstadoEstacion estado = estado(medicion.getEstacion().getId());
+        long marca = medicion.getFechaMedicion().toEpochSecond(ZoneOffset.UTC);
+        Double puntaje = null;
+        int motivos = 0;
+        synchronized (estado) {
+            for (Contaminante contaminante : CONTAMINANTES) {
+                Double valor = contaminante.valor(medicion);
+                if (valor == null) {
+                    continue;
+                }
+                int sospechasValor = sospechas(estado, contaminante, valor, marca);
+                motivos |= (sospechasValor & ~CONFIRMADA_POR_RED) << (contaminante.ordinal() * MOTIVOS.length);
+                Double parcial = puntaje(sospechasValor);
+                if (puntaje == null || parcial < puntaje) {
+                    puntaje = parcial;
+                }
+            }
+        }
+        if (puntaje == null) {
+            return SIN_EVALUAR;
+        }
+        Double informada = medicion.getConfiabilidad();
+        if (informada == null || informada > puntaje) {
+            medicion.setConfiabilidad(puntaje);
+        }
+        return motivos;
+    }
+
+    /**
+     * Agrega los valores de una medición a las ventanas de su estación y a la
+     * red; los que no son posteriores al último de su ventana se ignoran.
+     */
+    public void incorporar(Medicion medicion) {
+        if (!habilitado || medicion.getEstacion() == null || medicion.getFechaMedicion() == null) {
+            return;
+        }
+        EstadoEstacion estado = estado(medicion.getEstacion().getId());
+        long marca = medicion.getFechaMedicion().toEpochSecond(ZoneOffset.UTC);
+        synchronized (estado) {
+            for (Contaminante contaminante : CONTAMINANTES) {
+                Double valor = contaminante.valor(medicion);
+                if (valor != null && valor >= 0 && valor <= contaminante.maximo) {
+                    agregar(estado, contaminante, valor, marca);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuenta el resultado y los motivos de sospecha ({@link #puntuar(Medicion)}) de una medición recién insertada.
+     */
+    public void contabilizar(Medicion medicion, int motivos) {
+        if (motivos == SIN_EVALUAR) {
+            return;
+        }
+        for (int bits = motivos; bits != 0; bits &= bits - 1) {
+            int bit = Integer.numberOfTrailingZeros(bits);
+            sospechas[bit / MOTIVOS.length][bit % MOTIVOS.length].increment();
+        }
+        (esConfiable(medicion) ? confiables : noConfiables).increment();
+    }
+
+    /**
+     * Motivos de sospecha de un valor, como bits indexados por {@link Motivo},
+     * más {@link #CONFIRMADA_POR_RED} si las demás estaciones lo respaldan.
+     */
+    private int sospechas(EstadoEstacion estado, Contaminante contaminante, double valor, long marca) {
+        if (valor < 0 || valor > contaminante.maximo || Double.isNaN(valor)) {
+            return bit(Motivo.RANGO);
+        }
+        VentanaRobusta ventana = estado.ventanas[contaminante.ordinal()];
+        int motivos = 0;
+        double mediana = ventana.mediana();
+        if (ventana.getCantidad() >= minimoMuestras) {
+            // 1.4826 escala la MAD a una desviación estándar; el ruido evita dividir por cero en series planas
+            double escala = 1.4826 * ventana.desviacionMediana(mediana) + contaminante.ruido;
+            if (Math.abs(valor - mediana) > umbralMad * escala) {
+                motivos |= bit(Motivo.DISPERSION);
+            }
+        }
+        // Solo cuenta el salto que se aleja de la mediana: volver al nivel habitual tras un pico no es una falla
+        if (marca > ventana.getUltimaMarca() && ventana.getCantidad() > 0
+                && Math.abs(valor - mediana) > Math.abs(ventana.getUltimoValor() - mediana)) {
+            double horas = Math.max((marca - ventana.getUltimaMarca()) / 3600.0, HORAS_MINIMAS);
+            if (Math.abs(valor - ventana.getUltimoValor()) > contaminante.tasaMaxima * horas + contaminante.ruido) {
+                motivos |= bit(Motivo.TASA);
+            }
+        }
+        int plausibleEnRed = plausibleEnRed(estado.posicion, contaminante, valor, marca);
+        if (plausibleEnRed == 0) {
+            motivos |= bit(Motivo.RED);
+        } else if (plausibleEnRed == 1) {
+            motivos |= CONFIRMADA_POR_RED;
+        }
+        return motivos;
+    }
+
+    private static Double puntaje(int motivos) {
+        if ((motivos & bit(Motivo.RANGO)) != 0) {
+            return FUERA_DE_RANGO;
+        }
+        boolean discrepaRed = (motivos & bit(Motivo.RED)) != 0;
+        if ((motivos & (bit(Motivo.DISPERSION) | bit(Motivo.TASA))) == 0) {
+            return discrepaRed ? DISCREPA_RED : CONFIABLE;
+        }
+        if (discrepaRed) {
+            return ANOMALA;
+        }
+        return (motivos & CONFIRMADA_POR_RED) != 0 ? EPISODIO_REGIONAL : SOSPECHOSA;
+    }
+
+    private static int bit(Motivo motivo) {
+        return 1 << motivo.ordinal();
+    }
+
+    /**
+     * Compara el valor con la mediana de las otras estaciones con lectura
+     * vigente: 1 si es plausible, 0 si no, -1 si hay pocas para decidir.
+     */
+    private int plausibleEnRed(int posicion, Contaminante contaminante, double valor, long marca) {
+        Red red = redes[contaminante.ordinal()];
+        long vigencia = vigenciaRed.toSeconds();
+        int limite = Math.min(posiciones.get(), red.valores.length);
+        synchronized (red) {
+            int n = 0;
+            for (int i = 0; i < limite; i++) {
+                if (i != posicion && red.marcas[i] != Long.MIN_VALUE && Math.abs(red.marcas[i] - marca) <= vigencia) {
+                    red.trabajo[n++] = red.valores[i];
+                }
+            }
+            if (n < minimoRed) {
+                return -1;
+            }
+            double mediana = VentanaRobusta.mediana(red.trabajo, n);
+            return valor <= razonRed * mediana + contaminante.ruido ? 1 : 0;
+        }
+    }
+
+    /**
+     * Agrega el valor a la ventana de la estación y a la red si es posterior al último; el que llega tarde se descarta.
+     */
+    private void agregar(EstadoEstacion estado, Contaminante contaminante, double valor, long marca) {
+        VentanaRobusta ventana = estado.ventanas[contaminante.ordinal()];
+        if (marca <= ventana.getUltimaMarca()) {
+            return;
+        }
+        ventana.agregar(valor, marca);
+        if (estado.posicion >= 0) {
+            Red red = redes[contaminante.ordinal()];
+            synchronized (red) {
+                red.valores[estado.posicion] = valor;
+                red.marcas[estado.posicion] = marca;
+            }
+        }
+    }
+
+    private EstadoEstacion estado(Long estacionId) {
+        EstadoEstacion estado = estados.get(estacionId);
+        if (estado != null) {
+            return estado;
+        }
+        return estados.computeIfAbsent(estacionId, id -> {
+            int posicion = posiciones.getAndIncrement();
+            if (posicion >= maxEstaciones) {
+                logger.warn("Control de calidad: la estación {} no entra en la red ({} estaciones); sin comparación entre estaciones",
+                        id, maxEstaciones);
+                posicion = -1;
+            }
+            return new EstadoEstacion(tamanoVentana, posicion);
+        });
+    }
+
+    /**
+     * Llena las ventanas con las mediciones recientes, sin puntuarlas; se ejecuta en el calentamiento.
+     */
+    public void cargarHistorial() {
+        if (!habilitado) {
+            return;
+        }
+        // Una lectura por hora alcanza para llenar la ventana en ese número de horas
+        List<Medicion> recientes = medicionRepository.findMedicionesRecientes(LocalDateTime.now().minusHours(tamanoVentana));
+        for (int i = recientes.size() - 1; i >= 0; i--) {
+            Medicion medicion = recientes.get(i);
+            EstadoEstacion estado = estado(medicion.getEstacion().getId());
+            long marca = medicion.getFechaMedicion().toEpochSecond(ZoneOffset.UTC);
+            synchronized (estado) {
+                for (Contaminante contaminante : CONTAMINANTES) {
+                    Double valor = contaminante.valor(medicion);
+                    if (valor != null && valor >= 0 && valor <= contaminante.maximo) {
+                        agregar(estado, contaminante, valor, marca);
+                    }
+                }
+            }
+        }
+        logger.info("Control de calidad cargado: {} mediciones de {} estaciones", recientes.size(), estados.size());
+    }
+}
@@ -0,0 +1,198 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.event.MedicionRegistradaEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Frescura de los datos por estación y retraso de ingesta.
+ *
+ * Todo se calcula desde el estado en memoria: las estaciones activas de
+ * {@link BusquedaService} y la última lectura de {@link LecturasActualesService}.
+ * Un resumen cuesta O(estaciones) y se reutiliza durante unos segundos, así que
+ * ni el scrape de Prometheus ni el health consultan la base de datos.
+ */
+@Service
+public class FrescuraDatosService {
+
+    private static final String SIN_DISTRITO = "sin-distrito";
+
+    /**
+     * Estado de una estación activa; sin lectura, la antigüedad y el retraso son nulos.
+     */
+    public record EstadoEstacion(Long estacionId, String nombre, String distrito,
+                                 LocalDateTime ultimaMedicion, Long antiguedadSegundos,
+                                 Long retrasoIngestaSegundos, boolean desactualizada) {}
+
+    /**
+     * Conteo de estaciones activas y desactualizadas de un distrito.
+     */
+    public record Distrito(int estaciones, int desactualizadas) {}
+
+    /**
+     * Foto del estado de todas las estaciones activas.
+     */
+    public record Resumen(long calculadoEn, Duration umbral, Map<Long, EstadoEstacion> estaciones,
+                          Map<String, Distrito> distritos, int desactualizadas) {}
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private LecturasActualesService lecturasActualesService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.frescura.umbral:2h}")
+    private Duration umbral;
+
+    @Value("${app.frescura.vigencia-resumen:5s}")
+    private Duration vigenciaResumen;
+
+    private volatile Resumen resumen;
+
+    private MultiGauge antiguedad;
+    private MultiGauge retrasoIngesta;
+    private MultiGauge desactualizadasPorDistrito;
+    private Timer retrasoIngestaTimer;
+
+    @PostConstruct
+    public void init() {
+        antiguedad = MultiGauge.builder("app.datos.antiguedad")
+                .description("Segundos desde la última medición de la estación")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        retrasoIngesta = MultiGauge.builder("app.datos.retraso.ingesta")
+                .description("Segundos entre la fecha del proveedor y el registro de la última medición")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        desactualizadasPorDistrito = MultiGauge.builder("app.datos.estaciones.desactualizadas")
+                .description("Estaciones activas sin mediciones dentro del umbral de frescura")
+                .register(meterRegistry);
+        retrasoIngestaTimer = Timer.builder("app.ingesta.retraso")
+                .description("Retraso entre la fecha del proveedor y el registro de cada medición")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el resumen vigente, recalculándolo si ya caducó.
+     */
+    public Resumen getResumen() {
+        Resumen actual = resumen;
+        if (actual == null || System.currentTimeMillis() - actual.calculadoEn() > vigenciaResumen.toMillis()) {
+            actual = calcular();
+            resumen = actual;
+        }
+        return actual;
+    }
+
+    private Resumen calcular() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Map<Long, EstadoEstacion> estados = new LinkedHashMap<>();
+        Map<String, int[]> conteos = new TreeMap<>();
+        int desactualizadas = 0;
+        for (Estacion estacion : busquedaService.getEstacionesActivas()) {
+            String distrito = estacion.getDistrito() != null ? estacion.getDistrito() : SIN_DISTRITO;
+            LecturasActualesService.LecturaActual lectura = lecturasActualesService.getLectura(estacion.getId()).orElse(null);
+            Long edad = null;
+            Long retraso = null;
+            LocalDateTime ultima = null;
+            if (lectura != null) {
+                ultima = lectura.getFechaMedicion();
+                edad = Duration.between(ultima, ahora).getSeconds();
+                if (lectura.getFechaCreacion() != null) {
+                    retraso = Duration.between(ultima, lectura.getFechaCreacion()).getSeconds();
+                }
+            }
+            boolean vieja = edad == null || edad > umbral.getSeconds();
+            estados.put(estacion.getId(), new EstadoEstacion(estacion.getId(), estacion.getNombre(), distrito, ultima, edad, retraso, vieja));
+            int[] conteo = conteos.computeIfAbsent(distrito, d -> new int[2]);
+            conteo[0]++;
+            if (vieja) {
+                conteo[1]++;
+                desactualizadas++;
+            }
+        }
+        Map<String, Distrito> distritos = new TreeMap<>();
+        conteos.forEach((distrito, conteo) -> distritos.put(distrito, new Distrito(conteo[0], conteo[1])));
+        return new Resumen(System.currentTimeMillis(), umbral, estados, distritos, desactualizadas);
+    }
+
+    /**
+     * Actualiza las series de los medidores con las estaciones y distritos
+     * actuales; los valores se leen del resumen en cada scrape.
+     */
+    @Scheduled(fixedDelayString = "${app.frescura.sincronizacion-ms:30000}",
+               initialDelayString = "${app.frescura.sincronizacion-ms:30000}")
+    public void sincronizarMedidores() {
+        Resumen actual = getResumen();
+        List<MultiGauge.Row<?>> filasAntiguedad = new ArrayList<>();
+        List<MultiGauge.Row<?>> filasRetraso = new ArrayList<>();
+        for (EstadoEstacion estado : actual.estaciones().values()) {
+            Long id = estado.estacionId();
+            Tags tags = Tags.of("estacion", String.valueOf(id), "distrito", estado.distrito());
+            filasAntiguedad.add(MultiGauge.Row.of(tags, () -> valor(id, EstadoEstacion::antiguedadSegundos)));
+            filasRetraso.add(MultiGauge.Row.of(tags, () -> valor(id, EstadoEstacion::retrasoIngestaSegundos)));
+        }
+        List<MultiGauge.Row<?>> filasDistrito = new ArrayList<>();
+        for (String distrito : actual.distritos().keySet()) {
+            filasDistrito.add(MultiGauge.Row.of(Tags.of("distrito", distrito), () -> {
+                Distrito conteo = getResumen().distritos().get(distrito);
+                return conteo != null ? conteo.desactualizadas() : 0;
+            }));
+        }
+        antiguedad.register(filasAntiguedad, true);
+        retrasoIngesta.register(filasRetraso, true);
+        desactualizadasPorDistrito.register(filasDistrito, true);
+    }
+
+    /**
+     * Primera sincronización, cuando el calentamiento ya cargó las estaciones y lecturas.
+     */
+    @EventListener
+    public void onDisponibilidad(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            resumen = null;
+            sincronizarMedidores();
+        }
+    }
+
+    private Number valor(Long estacionId, Function<EstadoEstacion, Long> campo) {
+        EstadoEstacion estado = getResumen().estaciones().get(estacionId);
+        Long valor = estado != null ? campo.apply(estado) : null;
+        return valor != null ? valor : Double.NaN;
+    }
+
+    @EventListener
+    public void onMedicionRegistrada(MedicionRegistradaEvent event) {
+        Medicion medicion = event.getMedicion();
+        if (!event.isCorreccion() && medicion.getFechaMedicion() != null && medicion.getFechaCreacion() != null) {
+            Duration retraso = Duration.between(medicion.getFechaMedicion(), medicion.getFechaCreacion());
+            if (!retraso.isNegative()) {
+                retrasoIngestaTimer.record(retraso);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.ServicioSaturadoException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hash y verificación de contraseñas fuera de los hilos de petición.
+ *
+ * BCrypt es deliberadamente costoso, así que se ejecuta en un pool propio de
+ * tamaño fijo con una cola acotada: una ráfaga de intentos de login ocupa como
+ * mucho esos hilos y, con la cola llena, las peticiones nuevas se rechazan con
+ * 503 en lugar de acumularse y agotar los hilos de Tomcat o la CPU.
+ */
+@Service
+public class HashContrasenasService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.hashing.hilos:0}")
+    private int hilos;
+
+    @Value("${app.auth.hashing.cola:64}")
+    private int capacidadCola;
+
+    @Value("${app.auth.hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    private PasswordEncoder passwordEncoder;
+
+    private ThreadPoolExecutor executor;
+
+    private String hashReferencia;
+
+    @PostConstruct
+    public void iniciar() {
+        passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        hashReferencia = passwordEncoder.encode(UUID.randomUUID().toString());
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger secuencia = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), r -> {
+                    Thread hilo = new Thread(r, "hash-contrasenas-" + secuencia.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("app.auth.hashing.cola", executor, e -> e.getQueue().size())
+                .description("Operaciones de hash de contraseñas en espera")
+                .register(meterRegistry);
+        Gauge.builder("app.auth.hashing.activos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operaciones de hash de contraseñas en curso")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void detener() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hash válido que no corresponde a ninguna contraseña. Verificar contra él
+     * cuesta lo mismo que contra un hash real, así el tiempo de un login con un
+     * usuario inexistente no lo delata.
+     */
+    public String getHashReferencia() {
+        return hashReferencia;
+    }
+
+    /**
+     * Calcula el hash de una contraseña.
+     */
+    public CompletableFuture<String> codificar(String contrasena) {
+        return ejecutar(() -> passwordEncoder.encode(contrasena));
+    }
+
+    /**
+     * Verifica una contraseña contra su hash.
+     */
+    public CompletableFuture<Boolean> verificar(String contrasena, String hash) {
+        return ejecutar(() -> passwordEncoder.matches(contrasena, hash));
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("El servicio de autenticación está saturado, intente nuevamente");
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.ServicioSaturadoException;
+import com.arequipa.aire.backend.repository.EstacionRepository;
+import com.arequipa.aire.backend.util.BitacoraEscritura;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingesta asíncrona de mediciones con escritura diferida.
+ *
+ * Una medición aceptada se agrega a la {@link BitacoraEscritura} local y se
+ * confirma al cliente (202) cuando está en disco; un hilo escritor agrupa las
+ * mediciones que llegan mientras hace el fsync anterior, así que un fsync cubre
+ * muchas peticiones. Un único hilo de drenaje lee la bitácora y guarda lotes
+ * grandes con {@link IngestaMedicionesService#registrarLote(List)}; la posición
+ * se confirma solo después de la transacción. Tras una caída, lo que quedó sin
+ * confirmar se vuelve a drenar al arrancar; la clave única hace que repetir un
+ * lote sea inocuo.
+ *
+ * Un lote que falla {@code max-intentos} veces seguidas se guarda medición por
+ * medición, y las que siguen fallando por un error que no es de conexión pasan
+ * a la bitácora de descartadas (subdirectorio {@code descartadas}) para que el
+ * drenaje avance. Ahí también van los registros ilegibles y las mediciones de
+ * estaciones que ya no existen.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.ingesta.asincrona", name = "habilitado", havingValue = "true")
+public class IngestaAsincronaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestaAsincronaService.class);
+
+    private static final byte VERSION_REGISTRO = 1;
+
+    /**
+     * Medición serializada esperando su fsync.
+     */
+    private record Pendiente(byte[] datos, CompletableFuture<Void> escrita) {}
+
+    @Autowired
+    private IngestaMedicionesService ingestaMedicionesService;
+
+    @Autowired
+    private EstacionRepository estacionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ingesta.asincrona.directorio:./data/bitacora-ingesta}")
+    private Path directorio;
+
+    @Value("${app.ingesta.asincrona.tamano-segmento:67108864}")
+    private long tamanoSegmento;
+
+    @Value("${app.ingesta.asincrona.cola:10000}")
+    private int capacidadCola;
+
+    @Value("${app.ingesta.asincrona.tamano-lote:2000}")
+    private int tamanoLote;
+
+    @Value("${app.ingesta.asincrona.espera-escritura:5s}")
+    private Duration esperaEscritura;
+
+    @Value("${app.ingesta.asincrona.intervalo-drenaje:200ms}")
+    private Duration intervaloDrenaje;
+
+    @Value("${app.ingesta.asincrona.max-intentos:5}")
+    private int maxIntentos;
+
+    private BitacoraEscritura bitacora;
+    private BitacoraEscritura descartadas;
+    private BlockingQueue<Pendiente> cola;
+    private Thread escritor;
+    private Thread drenaje;
+    private volatile boolean activo;
+
+    private Counter aceptadas;
+    private Counter drenadas;
+    private Counter descartadasContador;
+
+    @PostConstruct
+    public void init() throws IOException {
+        bitacora = new BitacoraEscritura(directorio, tamanoSegmento);
+        descartadas = new BitacoraEscritura(directorio.resolve("descartadas"), tamanoSegmento);
+        cola = new ArrayBlockingQueue<>(capacidadCola);
+        aceptadas = Counter.builder("app.ingesta.asincrona.aceptadas")
+                .description("Mediciones escritas en la bitácora y confirmadas con 202")
+                .register(meterRegistry);
+        drenadas = Counter.builder("app.ingesta.asincrona.drenadas")
+                .description("Mediciones de la bitácora guardadas en la base")
+                .register(meterRegistry);
+        descartadasContador = Counter.builder("app.ingesta.asincrona.descartadas")
+                .description("Registros de la bitácora movidos a la de descartadas")
+                .register(meterRegistry);
+        Gauge.builder("app.ingesta.asincrona.pendientes", bitacora, BitacoraEscritura::bytesPendientes)
+                .description("Bytes de la bitácora todavía sin guardar en la base")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        activo = true;
+        escritor = new Thread(this::escribirEnBitacora, "bitacora-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+        logger.info("Ingesta asíncrona habilitada: bitácora en {} ({} bytes pendientes)",
+                directorio.toAbsolutePath(), bitacora.bytesPendientes());
+    }
+
+    /**
+     * El drenaje empieza con la aplicación lista, incluido lo que quedó del arranque anterior.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarDrenaje() {
+        drenaje = new Thread(this::drenar, "bitacora-drenaje");
+        drenaje.setDaemon(true);
+        drenaje.start();
+    }
+
+    @PreDestroy
+    public void detener() throws IOException, InterruptedException {
+        activo = false;
+        if (drenaje != null) {
+            drenaje.interrupt();
+            drenaje.join(esperaEscritura.toMillis());
+        }
+        escritor.interrupt();
+        escritor.join(esperaEscritura.toMillis());
+        bitacora.close();
+        descartadas.close();
+    }
+
+    /**
+     * Escribe la medición en la bitácora y vuelve cuando está en disco.
+     */
+    public void aceptar(Medicion medicion) {
+        if (!activo) {
+            throw new ServicioSaturadoException("La ingesta asíncrona se está deteniendo");
+        }
+        Pendiente pendiente = new Pendiente(serializar(medicion), new CompletableFuture<>());
+        if (!cola.offer(pendiente)) {
+            throw new ServicioSaturadoException("La cola de ingesta está llena, intente nuevamente");
+        }
+        try {
+            pendiente.escrita().get(esperaEscritura.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServicioSaturadoException("La bitácora de ingesta no respondió a tiempo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Ingesta interrumpida");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo escribir en la bitácora de ingesta", e.getCause());
+        }
+        aceptadas.increment();
+    }
+
+    /**
+     * Toma lo que haya en la cola (al menos una medición) y lo escribe con un solo fsync.
+     */
+    private void escribirEnBitacora() {
+        List<Pendiente> grupo = new ArrayList<>();
+        while (activo || !cola.isEmpty()) {
+            try {
+                Pendiente primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                grupo.add(primera);
+                cola.drainTo(grupo, tamanoLote - 1);
+                try {
+                    bitacora.escribir(grupo.stream().map(Pendiente::datos).toList());
+                    grupo.forEach(p -> p.escrita().complete(null));
+                } catch (IOException | RuntimeException e) {
+                    logger.error("No se pudo escribir en la bitácora de ingesta: {}", e.getMessage());
+                    grupo.forEach(p -> p.escrita().completeExceptionally(e));
+                }
+                grupo.clear();
+            } catch (InterruptedException e) {
+                if (!activo && cola.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda en la base lotes leídos de la bitácora desde la última posición confirmada.
+     */
+    private void drenar() {
+        long espera = intervaloDrenaje.toMillis();
+        BitacoraEscritura.Posicion fallida = null;
+        int intentos = 0;
+        while (activo) {
+            BitacoraEscritura.Posicion desde = bitacora.getConfirmada();
+            try {
+                List<BitacoraEscritura.Entrada> entradas = bitacora.leer(desde, tamanoLote);
+                if (entradas.isEmpty()) {
+                    Thread.sleep(intervaloDrenaje.toMillis());
+                    continue;
+                }
+                if (desde.equals(fallida) && intentos >= maxIntentos) {
+                    guardarDeAUna(entradas);
+                } else {
+                    guardar(entradas);
+                }
+                bitacora.confirmar(entradas.get(entradas.size() - 1).fin());
+                drenadas.increment(entradas.size());
+                espera = intervaloDrenaje.toMillis();
+                fallida = null;
+                intentos = 0;
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                // Sin confirmar: el mismo lote se reintenta, con espera creciente
+                intentos = desde.equals(fallida) ? intentos + 1 : 1;
+                fallida = desde;
+                logger.warn("No se pudo drenar la bitácora de ingesta (intento {} en {}), se reintenta en {} ms: {}",
+                        intentos, desde, espera, e.getMessage());
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                espera = Math.min(espera * 2, 30_000);
+            }
+        }
+    }
+
+    /**
+     * Guarda un lote que ya falló varias veces medición por medición; las que
+     * fallan sin que la base esté caída se descartan.
+     */
+    private void guardarDeAUna(List<BitacoraEscritura.Entrada> entradas) {
+        for (BitacoraEscritura.Entrada entrada : entradas) {
+            try {
+                guardar(List.of(entrada));
+            } catch (RuntimeException e) {
+                if (esTransitorio(e)) {
+                    throw e;
+                }
+                descartar(List.of(entrada), List.of(e.getMessage()));
+            }
+        }
+    }
+
+    private void guardar(List<BitacoraEscritura.Entrada> entradas) {
+        List<Medicion> mediciones = new ArrayList<>(entradas.size());
+        List<BitacoraEscritura.Entrada> origen = new ArrayList<>(entradas.size());
+        List<BitacoraEscritura.Entrada> rechazadas = new ArrayList<>();
+        List<String> motivos = new ArrayList<>();
+        Set<Long> estacionIds = new HashSet<>();
+        for (BitacoraEscritura.Entrada entrada : entradas) {
+            try {
+                Medicion medicion = deserializar(entrada.datos());
+                mediciones.add(medicion);
+                origen.add(entrada);
+                estacionIds.add(medicion.getEstacion().getId());
+            } catch (RuntimeException e) {
+                rechazadas.add(entrada);
+                motivos.add("registro ilegible: " + e.getMessage());
+            }
+        }
+        Map<Long, Estacion> estaciones = estacionRepository.findAllById(estacionIds).stream()
+                .collect(Collectors.toMap(Estacion::getId, Function.identity()));
+        List<Medicion> validas = new ArrayList<>(mediciones.size());
+        for (int i = 0; i < mediciones.size(); i++) {
+            Medicion medicion = mediciones.get(i);
+            Estacion estacion = estaciones.get(medicion.getEstacion().getId());
+            if (estacion == null) {
+                rechazadas.add(origen.get(i));
+                motivos.add("la estación " + medicion.getEstacion().getId() + " ya no existe");
+                continue;
+            }
+            medicion.setEstacion(estacion);
+            validas.add(medicion);
+        }
+        if (!validas.isEmpty()) {
+            ingestaMedicionesService.registrarLote(validas);
+        }
+        descartar(rechazadas, motivos);
+    }
+
+    /**
+     * Pasa registros a la bitácora de descartadas; si no se puede, el lote no se confirma.
+     */
+    private void descartar(List<BitacoraEscritura.Entrada> entradas, List<String> motivos) {
+        if (entradas.isEmpty()) {
+            return;
+        }
+        try {
+            descartadas.escribir(entradas.stream().map(BitacoraEscritura.Entrada::datos).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int i = 0; i < entradas.size(); i++) {
+            logger.error("Registro de la bitácora hasta {} movido a descartadas: {}", entradas.get(i).fin(), motivos.get(i));
+        }
+        descartadasContador.increment(entradas.size());
+    }
+
+    /**
+     * Errores de conexión o de recursos de la base, que se resuelven solos reintentando.
+     */
+    private static boolean esTransitorio(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof TransientDataAccessException || causa instanceof RecoverableDataAccessException
+                    || causa instanceof DataAccessResourceFailureException || causa instanceof CannotCreateTransactionException
+                    || causa instanceof SQLTransientException || causa instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] serializar(Medicion medicion) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION_REGISTRO);
+            out.writeLong(medicion.getEstacion().getId());
+            LocalDateTime fecha = medicion.getFechaMedicion();
+            out.writeLong(fecha.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(fecha.getNano());
+            escribir(out, medicion.getPm25());
+            escribir(out, medicion.getPm10());
+            escribir(out, medicion.getNo2());
+            escribir(out, medicion.getO3());
+            escribir(out, medicion.getCo());
+            escribir(out, medicion.getSo2());
+            escribir(out, medicion.getTemperatura());
+            escribir(out, medicion.getHumedad());
+            escribir(out, medicion.getPresion());
+            escribir(out, medicion.getVelocidadViento());
+            escribir(out, medicion.getDireccionViento());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Medicion deserializar(byte[] datos) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(datos))) {
+            byte version = in.readByte();
+            if (version != VERSION_REGISTRO) {
+                throw new IllegalStateException("Versión de registro de bitácora desconocida: " + version);
+            }
+            Estacion estacion = new Estacion();
+            estacion.setId(in.readLong());
+            long segundos = in.readLong();
+            int nanos = in.readInt();
+            Medicion medicion = new Medicion();
+            medicion.setEstacion(estacion);
+            medicion.setFechaMedicion(LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC));
+            medicion.setPm25(leerDouble(in));
+            medicion.setPm10(leerDouble(in));
+            medicion.setNo2(leerDouble(in));
+            medicion.setO3(leerDouble(in));
+            medicion.setCo(leerDouble(in));
+            medicion.setSo2(leerDouble(in));
+            medicion.setTemperatura(leerDouble(in));
+            medicion.setHumedad(leerEntero(in));
+            medicion.setPresion(leerDouble(in));
+            medicion.setVelocidadViento(leerDouble(in));
+            medicion.setDireccionViento(leerEntero(in));
+            return medicion;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escribir(DataOutputStream out, Double valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeDouble(valor);
+        }
+    }
+
+    private static void escribir(DataOutputStream out, Integer valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeInt(valor);
+        }
+    }
+
+    private static Double leerDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static Integer leerEntero(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,425 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.event.MedicionRegistradaEvent;
+import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.util.AQICalculator;
+import com.arequipa.aire.backend.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingesta idempotente de mediciones.
+ *
+ * La clave única (estacion_id, fecha_medicion) garantiza que un reintento del
+ * proveedor o dos ventanas de recolección solapadas no dupliquen la medición:
+ * la repetición actualiza los valores o se ignora, según
+ * {@code app.ingesta.conflicto}. Un filtro de Bloom con las claves recientes
+ * evita verificar la base en el caso común: si la clave seguro no se vio, se
+ * inserta directamente. Si el filtro se equivoca (otra instancia insertó la
+ * misma clave, o la olvidó al rotar) el insert choca con la clave única y se
+ * cae al camino verificado.
+ */
+@Service
+public class IngestaMedicionesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestaMedicionesService.class);
+
+    private static final String INSERT = """
+        INSERT INTO mediciones (estacion_id, fecha_medicion, pm25, pm10, no2, o3, co, so2, aqi, categoria_aqi,
+                                color_aqi, contaminante_principal, temperatura, humedad, presion,
+                                velocidad_viento, direccion_viento, fuente_datos, confiabilidad, fecha_creacion)
+        VALUES """;
+
+    private static final String FILA = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int PARAMETROS_POR_FILA = 20;
+
+    private static final String ON_CONFLICT_ACTUALIZAR = """
+
+        ON CONFLICT (estacion_id, fecha_medicion) DO UPDATE SET
+            pm25 = EXCLUDED.pm25, pm10 = EXCLUDED.pm10, no2 = EXCLUDED.no2, o3 = EXCLUDED.o3,
+            co = EXCLUDED.co, so2 = EXCLUDED.so2, aqi = EXCLUDED.aqi, categoria_aqi = EXCLUDED.categoria_aqi,
+            color_aqi = EXCLUDED.color_aqi, contaminante_principal = EXCLUDED.contaminante_principal,
+            temperatura = EXCLUDED.temperatura, humedad = EXCLUDED.humedad,
+            presion = EXCLUDED.presion, velocidad_viento = EXCLUDED.velocidad_viento,
+            direccion_viento = EXCLUDED.direccion_viento, fuente_datos = EXCLUDED.fuente_datos,
+            confiabilidad = EXCLUDED.confiabilidad
+        RETURNING estacion_id, fecha_medicion, id, fecha_creacion, (xmax = 0) AS insertada
+        """;
+
+    private static final String ON_CONFLICT_IGNORAR = """
+
+        ON CONFLICT (estacion_id, fecha_medicion) DO NOTHING
+        RETURNING estacion_id, fecha_medicion, id, fecha_creacion, TRUE AS insertada
+        """;
+
+    /**
+     * Filas por sentencia en los lotes (PostgreSQL admite hasta 65535 parámetros).
+     */
+    private static final int FILAS_POR_SENTENCIA = 500;
+
+    /**
+     * Qué hacer cuando la medición ya existe.
+     */
+    public enum Conflicto { ACTUALIZAR, IGNORAR }
+
+    public enum Resultado { INSERTADA, ACTUALIZADA, IGNORADA }
+
+    /**
+     * Medición tal como quedó guardada y qué pasó con ella.
+     */
+    public record Registro(Medicion medicion, Resultado resultado) {}
+
+    private record ClaveMedicion(Long estacionId, LocalDateTime fechaMedicion) {}
+
+    @Autowired
+    private MedicionRepository medicionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ControlCalidadService controlCalidadService;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ingesta.conflicto:ACTUALIZAR}")
+    private Conflicto conflicto;
+
+    @Value("${app.ingesta.filtro.capacidad:1000000}")
+    private int capacidadFiltro;
+
+    @Value("${app.ingesta.filtro.probabilidad-falso-positivo:0.01}")
+    private double probabilidadFalsoPositivo;
+
+    @Value("${app.ingesta.filtro.ventana:7d}")
+    private Duration ventana;
+
+    private FiltroBloom filtro;
+
+    /**
+     * Fecha de medición desde la que el filtro conoce todas las claves; null hasta cargarlo.
+     */
+    private volatile LocalDateTime cubreDesde;
+
+    private volatile Boolean postgres;
+
+    private final Map<Resultado, Counter> rapidas = new EnumMap<>(Resultado.class);
+    private final Map<Resultado, Counter> verificadas = new EnumMap<>(Resultado.class);
+    private final Map<Resultado, Counter> lotes = new EnumMap<>(Resultado.class);
+
+    @PostConstruct
+    public void init() {
+        filtro = new FiltroBloom(capacidadFiltro, probabilidadFalsoPositivo);
+        for (Resultado resultado : Resultado.values()) {
+            rapidas.put(resultado, contador(resultado, "rapido"));
+            verificadas.put(resultado, contador(resultado, "verificado"));
+            lotes.put(resultado, contador(resultado, "lote"));
+        }
+    }
+
+    private Counter contador(Resultado resultado, String camino) {
+        return Counter.builder("app.ingesta.mediciones")
+                .description("Mediciones recibidas por resultado y por camino (rápido: sin verificar la base)")
+                .tag("resultado", resultado.name().toLowerCase())
+                .tag("camino", camino)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga en el filtro las claves de la ventana reciente; se ejecuta en el calentamiento.
+     */
+    public void cargarClavesRecientes() {
+        LocalDateTime desde = LocalDateTime.now().minus(ventana);
+        cubreDesde = null;
+        filtro.limpiar();
+        List<Object[]> claves = medicionRepository.findClavesDesde(desde);
+        for (Object[] fila : claves) {
+            filtro.agregar(clave((Long) fila[0], (LocalDateTime) fila[1]));
+        }
+        cubreDesde = desde;
+        logger.info("Filtro de ingesta cargado: {} claves desde {} ({} bits, {} funciones)",
+                claves.size(), desde, filtro.getBits(), filtro.getFunciones());
+    }
+
+    /**
+     * Guarda una medición con su estación asignada, con la confiabilidad que le
+     * asigne el control de calidad; si ya existe una para la misma estación y
+     * fecha, la actualiza o la ignora según la configuración. Solo una
+     * medición insertada se cuenta en las métricas del control de calidad.
+     */
+    public Registro registrar(Medicion medicion) {
+        normalizar(medicion);
+        int motivos = controlCalidadService.puntuar(medicion);
+        long clave = clave(medicion.getEstacion().getId(), medicion.getFechaMedicion());
+        LocalDateTime cubierta = cubreDesde;
+        Registro registro = null;
+        if (cubierta != null && !medicion.getFechaMedicion().isBefore(cubierta) && !filtro.puedeContener(clave)) {
+            try {
+                Medicion guardada = transactionTemplate.execute(status -> medicionRepository.save(medicion));
+                registro = new Registro(guardada, Resultado.INSERTADA);
+                rapidas.get(Resultado.INSERTADA).increment();
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Clave repetida no registrada en el filtro: estación {} en {}",
+                        medicion.getEstacion().getId(), medicion.getFechaMedicion());
+                medicion.setId(null);
+            }
+        }
+        if (registro == null) {
+            registro = registrarVerificado(medicion);
+            verificadas.get(registro.resultado()).increment();
+        }
+        filtro.agregar(clave);
+        if (registro.resultado() != Resultado.IGNORADA) {
+            controlCalidadService.incorporar(medicion);
+            if (registro.resultado() == Resultado.INSERTADA) {
+                controlCalidadService.contabilizar(medicion, motivos);
+            }
+            eventPublisher.publishEvent(new MedicionRegistradaEvent(
+                    registro.medicion(), registro.resultado() == Resultado.ACTUALIZADA));
+        }
+        return registro;
+    }
+
+    /**
+     * Guarda un lote de mediciones con su estación asignada, en una transacción.
+     *
+     * Si el lote repite una clave se queda la última. En PostgreSQL es un
+     * INSERT ... ON CONFLICT de varias filas por sentencia; en otras bases,
+     * búsqueda e insert o actualización por medición.
+     *
+     * Las mediciones se puntúan en orden cronológico y cada una entra a las
+     * ventanas antes de puntuar la siguiente; las métricas del control de
+     * calidad se cuentan tras el commit y solo para las insertadas.
+     */
+    public List<Registro> registrarLote(List<Medicion> mediciones) {
+        Map<ClaveMedicion, Medicion> unicas = new LinkedHashMap<>();
+        for (Medicion medicion : mediciones) {
+            normalizar(medicion);
+            unicas.put(new ClaveMedicion(medicion.getEstacion().getId(), medicion.getFechaMedicion()), medicion);
+        }
+        List<Medicion> lote = new ArrayList<>(unicas.values());
+        lote.sort(Comparator.comparing(Medicion::getFechaMedicion));
+        int[] motivos = new int[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            motivos[i] = controlCalidadService.puntuar(lote.get(i));
+            controlCalidadService.incorporar(lote.get(i));
+        }
+        List<Registro> registros = transactionTemplate.execute(status -> {
+            List<Registro> resultado = new ArrayList<>(lote.size());
+            if (esPostgres()) {
+                for (int i = 0; i < lote.size(); i += FILAS_POR_SENTENCIA) {
+                    resultado.addAll(upsertPostgres(lote.subList(i, Math.min(lote.size(), i + FILAS_POR_SENTENCIA))));
+                }
+            } else {
+                lote.forEach(medicion -> resultado.add(upsertPortable(medicion)));
+            }
+            return resultado;
+        });
+        unicas.keySet().forEach(clave -> filtro.agregar(clave(clave.estacionId(), clave.fechaMedicion())));
+        for (int i = 0; i < registros.size(); i++) {
+            Registro registro = registros.get(i);
+            lotes.get(registro.resultado()).increment();
+            if (registro.resultado() == Resultado.INSERTADA) {
+                controlCalidadService.contabilizar(lote.get(i), motivos[i]);
+            }
+            if (registro.resultado() != Resultado.IGNORADA) {
+                eventPublisher.publishEvent(new MedicionRegistradaEvent(
+                        registro.medicion(), registro.resultado() == Resultado.ACTUALIZADA));
+            }
+        }
+        return registros;
+    }
+
+    private Registro registrarVerificado(Medicion medicion) {
+        try {
+            return transactionTemplate.execute(status -> esPostgres() ? upsertPostgres(medicion) : upsertPortable(medicion));
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición insertó la misma clave entre la búsqueda y el insert
+            medicion.setId(null);
+            return transactionTemplate.execute(status -> upsertPortable(medicion));
+        }
+    }
+
+    /**
+     * Un solo INSERT ... ON CONFLICT; {@code xmax = 0} distingue la fila nueva de la actualizada.
+     */
+    private Registro upsertPostgres(Medicion medicion) {
+        Registro registro = upsertPostgres(List.of(medicion)).get(0);
+        if (registro.resultado() != Resultado.IGNORADA) {
+            return registro;
+        }
+        // DO NOTHING no devuelve filas: la medición ya existía
+        return medicionRepository.findFirstByEstacionIdAndFechaMedicion(
+                        medicion.getEstacion().getId(), medicion.getFechaMedicion())
+                .map(existente -> new Registro(existente, Resultado.IGNORADA))
+                .orElseThrow(() -> new IllegalStateException("Conflicto sin medición existente"));
+    }
+
+    /**
+     * INSERT ... ON CONFLICT de varias filas con claves distintas; las que no
+     * vuelven en el RETURNING (DO NOTHING) quedan como ignoradas.
+     */
+    private List<Registro> upsertPostgres(List<Medicion> mediciones) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Map<ClaveMedicion, Medicion> porClave = new HashMap<>();
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int i = 0; i < mediciones.size(); i++) {
+            Medicion medicion = mediciones.get(i);
+            if (medicion.getFechaCreacion() == null) {
+                medicion.setFechaCreacion(ahora);
+            }
+            porClave.put(new ClaveMedicion(medicion.getEstacion().getId(), medicion.getFechaMedicion()), medicion);
+            sql.append(i == 0 ? "" : ", ").append(FILA);
+        }
+        sql.append(conflicto == Conflicto.ACTUALIZAR ? ON_CONFLICT_ACTUALIZAR : ON_CONFLICT_IGNORAR);
+        Map<Medicion, Resultado> resultados = new IdentityHashMap<>();
+        jdbcTemplate.query(sql.toString(), ps -> {
+            int i = 1;
+            for (Medicion medicion : mediciones) {
+                bindear(ps, i, medicion);
+                i += PARAMETROS_POR_FILA;
+            }
+        }, (ResultSet rs) -> {
+            while (rs.next()) {
+                Medicion medicion = porClave.get(new ClaveMedicion(rs.getLong("estacion_id"),
+                        rs.getTimestamp("fecha_medicion").toLocalDateTime()));
+                if (medicion != null) {
+                    medicion.setId(rs.getLong("id"));
+                    medicion.setFechaCreacion(rs.getTimestamp("fecha_creacion").toLocalDateTime());
+                    resultados.put(medicion, rs.getBoolean("insertada") ? Resultado.INSERTADA : Resultado.ACTUALIZADA);
+                }
+            }
+            return null;
+        });
+        List<Registro> registros = new ArrayList<>(mediciones.size());
+        for (Medicion medicion : mediciones) {
+            registros.add(new Registro(medicion, resultados.getOrDefault(medicion, Resultado.IGNORADA)));
+        }
+        return registros;
+    }
+
+    private static void bindear(PreparedStatement ps, int desde, Medicion medicion) throws SQLException {
+        int i = desde;
+        ps.setLong(i++, medicion.getEstacion().getId());
+        ps.setTimestamp(i++, Timestamp.valueOf(medicion.getFechaMedicion()));
+        ps.setObject(i++, medicion.getPm25(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getPm10(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getNo2(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getO3(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getCo(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getSo2(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getAqi(), Types.INTEGER);
+        ps.setString(i++, medicion.getCategoriaAqi());
+        ps.setString(i++, medicion.getColorAqi());
+        ps.setString(i++, medicion.getContaminantePrincipal());
+        ps.setObject(i++, medicion.getTemperatura(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getHumedad(), Types.INTEGER);
+        ps.setObject(i++, medicion.getPresion(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getVelocidadViento(), Types.DOUBLE);
+        ps.setObject(i++, medicion.getDireccionViento(), Types.INTEGER);
+        ps.setString(i++, medicion.getFuenteDatos());
+        ps.setObject(i++, medicion.getConfiabilidad(), Types.DOUBLE);
+        ps.setTimestamp(i, Timestamp.valueOf(medicion.getFechaCreacion()));
+    }
+
+    /**
+     * Búsqueda por la clave única y luego insert o actualización, para bases sin ON CONFLICT (H2).
+     */
+    private Registro upsertPortable(Medicion medicion) {
+        return medicionRepository.findFirstByEstacionIdAndFechaMedicion(
+                        medicion.getEstacion().getId(), medicion.getFechaMedicion())
+                .map(existente -> {
+                    if (conflicto == Conflicto.IGNORAR) {
+                        return new Registro(existente, Resultado.IGNORADA);
+                    }
+                    copiarValores(medicion, existente);
+                    return new Registro(existente, Resultado.ACTUALIZADA);
+                })
+                .orElseGet(() -> new Registro(medicionRepository.saveAndFlush(medicion), Resultado.INSERTADA));
+    }
+
+    private static void copiarValores(Medicion origen, Medicion destino) {
+        destino.setPm25(origen.getPm25());
+        destino.setPm10(origen.getPm10());
+        destino.setNo2(origen.getNo2());
+        destino.setO3(origen.getO3());
+        destino.setCo(origen.getCo());
+        destino.setSo2(origen.getSo2());
+        destino.setAqi(origen.getAqi());
+        destino.setCategoriaAqi(origen.getCategoriaAqi());
+        destino.setColorAqi(origen.getColorAqi());
+        destino.setContaminantePrincipal(origen.getContaminantePrincipal());
+        destino.setTemperatura(origen.getTemperatura());
+        destino.setHumedad(origen.getHumedad());
+        destino.setPresion(origen.getPresion());
+        destino.setVelocidadViento(origen.getVelocidadViento());
+        destino.setDireccionViento(origen.getDireccionViento());
+        destino.setFuenteDatos(origen.getFuenteDatos());
+        destino.setConfiabilidad(origen.getConfiabilidad());
+    }
+
+    private boolean esPostgres() {
+        Boolean actual = postgres;
+        if (actual == null) {
+            String producto = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            actual = "PostgreSQL".equalsIgnoreCase(producto);
+            postgres = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Lleva la fecha a microsegundos, la precisión con que se guarda, para que la clave coincida con la de la base,
+     * y calcula el AQI con todos los contaminantes para guardarlo junto con la medición.
+     */
+    private void normalizar(Medicion medicion) {
+        medicion.setFechaMedicion(medicion.getFechaMedicion().truncatedTo(ChronoUnit.MICROS));
+        aqiCalculator.completar(medicion);
+    }
+
+    private static long clave(Long estacionId, LocalDateTime fechaMedicion) {
+        long segundos = fechaMedicion.toEpochSecond(ZoneOffset.UTC);
+        return estacionId * 0x9E3779B97F4A7C15L ^ (segundos * 1_000_000_000L + fechaMedicion.getNano());
+    }
+}
@@ -0,0 +1,215 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Estacion;
+import com.arequipa.aire.backend.entity.Medicion;
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
+import com.arequipa.aire.backend.event.MedicionRegistradaEvent;
+import com.arequipa.aire.backend.repository.MedicionRepository;
+import com.arequipa.aire.backend.util.AQICalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene en memoria la lectura más reciente de cada estación activa.
+ *
+ * Cada cambio incrementa una versión de datos que los consumidores
+ * (teselas del mapa, cachés de respuesta) usan para invalidar su estado.
+ */
+@Service
+public class LecturasActualesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LecturasActualesService.class);
+
+    /**
+     * Copia inmutable de la última lectura de una estación.
+     */
+    public static class LecturaActual {
+        private final Long estacionId;
+        private final String estacionNombre;
+        private final String distrito;
+        private final double latitud;
+        private final double longitud;
+        private final Long medicionId;
+        private final LocalDateTime fechaMedicion;
+        private final LocalDateTime fechaCreacion;
+        private final Double pm25;
+        private final Double pm10;
+        private final Double no2;
+        private final Double o3;
+        private final Double co;
+        private final Double so2;
+        private final Integer aqi;
+
+        public LecturaActual(Estacion estacion, Medicion medicion, Integer aqi) {
+            this.estacionId = estacion.getId();
+            this.estacionNombre = estacion.getNombre();
+            this.distrito = estacion.getDistrito();
+            this.latitud = estacion.getLatitud();
+            this.longitud = estacion.getLongitud();
+            this.medicionId = medicion.getId();
+            this.fechaMedicion = medicion.getFechaMedicion();
+            this.fechaCreacion = medicion.getFechaCreacion();
+            this.pm25 = medicion.getPm25();
+            this.pm10 = medicion.getPm10();
+            this.no2 = medicion.getNo2();
+            this.o3 = medicion.getO3();
+            this.co = medicion.getCo();
+            this.so2 = medicion.getSo2();
+            this.aqi = aqi;
+        }
+
+        private LecturaActual(LecturaActual base, Estacion estacion) {
+            this.estacionId = base.estacionId;
+            this.estacionNombre = estacion.getNombre();
+            this.distrito = estacion.getDistrito();
+            this.latitud = estacion.getLatitud();
+            this.longitud = estacion.getLongitud();
+            this.medicionId = base.medicionId;
+            this.fechaMedicion = base.fechaMedicion;
+            this.fechaCreacion = base.fechaCreacion;
+            this.pm25 = base.pm25;
+            this.pm10 = base.pm10;
+            this.no2 = base.no2;
+            this.o3 = base.o3;
+            this.co = base.co;
+            this.so2 = base.so2;
+            this.aqi = base.aqi;
+        }
+
+        public Long getEstacionId() { return estacionId; }
+        public String getEstacionNombre() { return estacionNombre; }
+        public String getDistrito() { return distrito; }
+        public double getLatitud() { return latitud; }
+        public double getLongitud() { return longitud; }
+        public Long getMedicionId() { return medicionId; }
+        public LocalDateTime getFechaMedicion() { return fechaMedicion; }
+        public LocalDateTime getFechaCreacion() { return fechaCreacion; }
+        public Double getPm25() { return pm25; }
+        public Double getPm10() { return pm10; }
+        public Double getNo2() { return no2; }
+        public Double getO3() { return o3; }
+        public Double getCo() { return co; }
+        public Double getSo2() { return so2; }
+        public Integer getAqi() { return aqi; }
+    }
+
+    @Autowired
+    private MedicionRepository medicionRepository;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    private final Map<Long, LecturaActual> lecturas = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Versión actual de los datos; cambia con cada lectura o estación modificada.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Devuelve las lecturas actuales de todas las estaciones activas.
+     */
+    public Collection<LecturaActual> getLecturas() {
+        return lecturas.values();
+    }
+
+    /**
+     * Devuelve la lectura actual de una estación.
+     */
+    public Optional<LecturaActual> getLectura(Long estacionId) {
+        return Optional.ofNullable(lecturas.get(estacionId));
+    }
+
+    /**
+     * Recarga el estado completo desde la base de datos.
+     *
+     * Se combina por estación quedándose con la lectura más reciente, y solo se
+     * quitan estaciones cuya lectura es anterior a la consulta: una medición que
+     * llega por evento mientras la consulta corre no se pisa con la fila vieja.
+     */
+    public void recargar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        List<Medicion> mediciones = medicionRepository.findLatestMedicionesConEstacion();
+        Map<Long, LecturaActual> nuevas = new HashMap<>();
+        for (Medicion medicion : mediciones) {
+            LecturaActual lectura = crearLectura(medicion.getEstacion(), medicion);
+            nuevas.merge(lectura.getEstacionId(), lectura, LecturasActualesService::masReciente);
+        }
+        boolean cambios = lecturas.values().removeIf(lectura -> !nuevas.containsKey(lectura.getEstacionId())
+                && (lectura.getFechaCreacion() == null || lectura.getFechaCreacion().isBefore(inicio)));
+        for (LecturaActual lectura : nuevas.values()) {
+            LecturaActual anterior = lecturas.get(lectura.getEstacionId());
+            LecturaActual resultado = lecturas.merge(lectura.getEstacionId(), lectura, LecturasActualesService::masReciente);
+            cambios |= anterior == null || !Objects.equals(anterior.getMedicionId(), resultado.getMedicionId());
+        }
+        if (cambios) {
+            version.incrementAndGet();
+        }
+        logger.info("Lecturas actuales recargadas: {} estaciones", nuevas.size());
+    }
+
+    /**
+     * Reconciliación periódica con la base de datos.
+     */
+    @Scheduled(fixedDelayString = "${app.lecturas-actuales.recarga-ms:600000}",
+               initialDelayString = "${app.lecturas-actuales.recarga-ms:600000}")
+    public void reconciliar() {
+        try {
+            recargar();
+        } catch (Exception e) {
+            logger.warn("No se pudo reconciliar las lecturas actuales: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onMedicionRegistrada(MedicionRegistradaEvent event) {
+        Medicion medicion = event.getMedicion();
+        Estacion estacion = medicion.getEstacion();
+        if (estacion == null || !Boolean.TRUE.equals(estacion.getActiva())) {
+            return;
+        }
+        LecturaActual lectura = crearLectura(estacion, medicion);
+        LecturaActual anterior = lecturas.get(lectura.getEstacionId());
+        LecturaActual resultado = lecturas.merge(lectura.getEstacionId(), lectura, LecturasActualesService::masReciente);
+        if (resultado != anterior) {
+            version.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onEstacionModificada(EstacionModificadaEvent event) {
+        Estacion estacion = event.getEstacion();
+        if (!Boolean.TRUE.equals(estacion.getActiva())) {
+            lecturas.remove(estacion.getId());
+        } else {
+            lecturas.computeIfPresent(estacion.getId(), (id, lectura) -> new LecturaActual(lectura, estacion));
+        }
+        version.incrementAndGet();
+    }
+
+    private LecturaActual crearLectura(Estacion estacion, Medicion medicion) {
+        return new LecturaActual(estacion, medicion, aqiCalculator.calcularAQI(medicion));
+    }
+
+    private static LecturaActual masReciente(LecturaActual actual, LecturaActual nueva) {
+        return nueva.getFechaMedicion().isBefore(actual.getFechaMedicion()) ? actual : nueva;
+    }
+}
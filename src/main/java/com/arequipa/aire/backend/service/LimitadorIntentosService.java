@@ -0,0 +1,83 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.exception.GlobalExceptionHandler.DemasiadosIntentosException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita los intentos de autenticación por IP y por usuario.
+ *
+ * Cada intento cuenta al entrar, antes del hash, de modo que una ráfaga
+ * concurrente desde la misma IP o contra el mismo usuario se corta sin llegar
+ * al pool de hashing. Un login correcto descuenta el intento de la IP y
+ * reinicia el contador del usuario. Los contadores caducan tras la ventana y
+ * el número de claves está acotado.
+ */
+@Service
+public class LimitadorIntentosService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.intentos.max-por-ip:20}")
+    private int maxPorIp;
+
+    @Value("${app.auth.intentos.max-por-usuario:5}")
+    private int maxPorUsuario;
+
+    @Value("${app.auth.intentos.ventana:15m}")
+    private Duration ventana;
+
+    private Cache<String, AtomicInteger> porIp;
+
+    private Cache<String, AtomicInteger> porUsuario;
+
+    private Counter bloqueados;
+
+    @PostConstruct
+    public void iniciar() {
+        porIp = Caffeine.newBuilder().expireAfterWrite(ventana).maximumSize(100_000).build();
+        porUsuario = Caffeine.newBuilder().expireAfterWrite(ventana).maximumSize(100_000).build();
+        bloqueados = Counter.builder("app.auth.intentos.bloqueados")
+                .description("Intentos de autenticación rechazados por el limitador")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un intento; lanza {@link DemasiadosIntentosException} si la IP o el usuario superaron su límite.
+     */
+    public void registrarIntento(String ip, String usuario) {
+        AtomicInteger intentosIp = porIp.get(ip, k -> new AtomicInteger());
+        AtomicInteger intentosUsuario = porUsuario.get(clave(usuario), k -> new AtomicInteger());
+        if (intentosIp.incrementAndGet() > maxPorIp | intentosUsuario.incrementAndGet() > maxPorUsuario) {
+            bloqueados.increment();
+            throw new DemasiadosIntentosException(
+                    "Demasiados intentos de autenticación, intente nuevamente más tarde", ventana.toSeconds());
+        }
+    }
+
+    /**
+     * Libera el intento tras una autenticación correcta.
+     */
+    public void registrarExito(String ip, String usuario) {
+        AtomicInteger intentosIp = porIp.getIfPresent(ip);
+        if (intentosIp != null) {
+            intentosIp.updateAndGet(n -> Math.max(0, n - 1));
+        }
+        porUsuario.invalidate(clave(usuario));
+    }
+
+    private static String clave(String usuario) {
+        return usuario == null ? "" : usuario.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,350 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.service.LecturasActualesService.LecturaActual;
+import com.arequipa.aire.backend.util.AQICalculator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renderiza teselas raster (PNG, esquema z/x/y de Web Mercator) con la superficie
+ * de AQI interpolada a partir de las lecturas actuales de las estaciones.
+ *
+ * Las teselas se guardan en una caché LRU acotada en bytes y se indexan por la
+ * versión de datos de {@link LecturasActualesService}, de modo que una nueva
+ * lectura invalida todas las teselas anteriores. Las teselas vacías y las de un
+ * único color comparten el mismo arreglo de bytes.
+ */
+@Service
+public class MapaTileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapaTileService.class);
+
+    private static final int TAMANO_TESELA = 256;
+    private static final int TAMANO_CELDA = 4;
+    private static final int CELDAS = TAMANO_TESELA / TAMANO_CELDA;
+    private static final double KM_POR_GRADO_LATITUD = 110.574;
+    private static final double KM_POR_GRADO_LONGITUD = 111.320;
+
+    private record TeselaKey(long version, int z, int x, int y) {}
+
+    /**
+     * Tesela PNG junto con la versión de datos con la que se renderizó.
+     */
+    public record Tesela(long version, byte[] bytes) {}
+
+    @Autowired
+    private LecturasActualesService lecturasActualesService;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    @Value("${app.mapa.tiles.cache-max-bytes:67108864}")
+    private long cacheMaxBytes;
+
+    @Value("${app.mapa.tiles.zoom-maximo:16}")
+    private int zoomMaximo;
+
+    @Value("${app.mapa.tiles.zoom-precarga:10,11,12,13}")
+    private int[] zoomPrecarga;
+
+    @Value("${app.mapa.tiles.radio-influencia-km:12}")
+    private double radioInfluenciaKm;
+
+    @Value("${app.mapa.tiles.opacidad:0.6}")
+    private double opacidad;
+
+    @Value("${app.mapa.tiles.limites.latitud-min:-16.55}")
+    private double latitudMin;
+
+    @Value("${app.mapa.tiles.limites.latitud-max:-16.25}")
+    private double latitudMax;
+
+    @Value("${app.mapa.tiles.limites.longitud-min:-71.70}")
+    private double longitudMin;
+
+    @Value("${app.mapa.tiles.limites.longitud-max:-71.40}")
+    private double longitudMax;
+
+    private Cache<TeselaKey, byte[]> cache;
+
+    private ExecutorService precargaExecutor;
+
+    private volatile long versionPrecargada = -1;
+
+    private volatile byte[] teselaVacia;
+
+    private final Map<Integer, byte[]> teselasUniformes = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> coloresAqi = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<ByteArrayOutputStream> buffers =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(16 * 1024));
+
+    private final ThreadLocal<BufferedImage> imagenes =
+            ThreadLocal.withInitial(() -> new BufferedImage(TAMANO_TESELA, TAMANO_TESELA, BufferedImage.TYPE_INT_ARGB));
+
+    @PostConstruct
+    public void init() {
+        // Evita que ImageIO use archivos temporales al codificar
+        ImageIO.setUseCache(false);
+        cache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((TeselaKey key, byte[] bytes) -> bytes.length)
+                .build();
+        AtomicInteger contador = new AtomicInteger();
+        precargaExecutor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "mapa-tiles-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        precargaExecutor.shutdownNow();
+    }
+
+    /**
+     * Versión de datos con la que se renderizan las teselas.
+     */
+    public long getVersion() {
+        return lecturasActualesService.getVersion();
+    }
+
+    /**
+     * Devuelve la tesela PNG para las coordenadas indicadas con su versión.
+     *
+     * La versión se lee una sola vez y es la misma con la que se busca la
+     * tesela en la caché, así que los bytes nunca son más viejos que la
+     * versión informada.
+     */
+    public Tesela getTesela(int z, int x, int y) {
+        if (z < 0 || z > zoomMaximo) {
+            throw new IllegalArgumentException("Nivel de zoom fuera de rango: " + z);
+        }
+        int limite = 1 << z;
+        if (x < 0 || x >= limite || y < 0 || y >= limite) {
+            throw new IllegalArgumentException("Coordenadas de tesela fuera de rango: " + z + "/" + x + "/" + y);
+        }
+        long version = getVersion();
+        return new Tesela(version, cache.get(new TeselaKey(version, z, x, y), this::renderizar));
+    }
+
+    /**
+     * Pre-renderiza en segundo plano los niveles de zoom más consultados cuando cambian los datos.
+     */
+    @Scheduled(fixedDelayString = "${app.mapa.tiles.precarga-intervalo-ms:30000}")
+    public void precargar() {
+        long version = getVersion();
+        if (version == versionPrecargada) {
+            return;
+        }
+        versionPrecargada = version;
+        cache.asMap().keySet().removeIf(key -> key.version() != version);
+
+        int total = 0;
+        for (int z : zoomPrecarga) {
+            int xMin = (int) Math.floor(longitudATesela(longitudMin, z));
+            int xMax = (int) Math.floor(longitudATesela(longitudMax, z));
+            int yMin = (int) Math.floor(latitudATesela(latitudMax, z));
+            int yMax = (int) Math.floor(latitudATesela(latitudMin, z));
+            for (int x = xMin; x <= xMax; x++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    TeselaKey key = new TeselaKey(version, z, x, y);
+                    precargaExecutor.execute(() -> {
+                        if (getVersion() == version) {
+                            cache.get(key, this::renderizar);
+                        }
+                    });
+                    total++;
+                }
+            }
+        }
+        logger.debug("Precarga de {} teselas programada para la versión {}", total, version);
+    }
+
+    private byte[] renderizar(TeselaKey key) {
+        Collection<LecturaActual> lecturas = lecturasActualesService.getLecturas();
+        int n = 0;
+        double[] latitudes = new double[lecturas.size()];
+        double[] longitudes = new double[lecturas.size()];
+        double[] valores = new double[lecturas.size()];
+        for (LecturaActual lectura : lecturas) {
+            if (lectura.getAqi() != null && n < valores.length) {
+                latitudes[n] = lectura.getLatitud();
+                longitudes[n] = lectura.getLongitud();
+                valores[n] = lectura.getAqi();
+                n++;
+            }
+        }
+
+        double lonOeste = teselaALongitud(key.x(), key.z());
+        double lonEste = teselaALongitud(key.x() + 1, key.z());
+        double latNorte = teselaALatitud(key.y(), key.z());
+        double latSur = teselaALatitud(key.y() + 1, key.z());
+        if (!hayEstacionCercana(latitudes, longitudes, n, latSur, latNorte, lonOeste, lonEste)) {
+            return getTeselaVacia();
+        }
+
+        int[] colores = new int[CELDAS * CELDAS];
+        boolean uniforme = true;
+        double paso = (double) TAMANO_CELDA / TAMANO_TESELA;
+        for (int cy = 0; cy < CELDAS; cy++) {
+            double lat = teselaALatitud(key.y() + (cy + 0.5) * paso, key.z());
+            for (int cx = 0; cx < CELDAS; cx++) {
+                double lon = teselaALongitud(key.x() + (cx + 0.5) * paso, key.z());
+                int color = colorInterpolado(lat, lon, latitudes, longitudes, valores, n);
+                colores[cy * CELDAS + cx] = color;
+                uniforme &= color == colores[0];
+            }
+        }
+
+        if (uniforme) {
+            return colores[0] == 0 ? getTeselaVacia() : teselasUniformes.computeIfAbsent(colores[0], this::codificarUniforme);
+        }
+
+        BufferedImage imagen = imagenes.get();
+        Graphics2D g = imagen.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            Map<Integer, Color> paleta = new HashMap<>();
+            for (int cy = 0; cy < CELDAS; cy++) {
+                for (int cx = 0; cx < CELDAS; cx++) {
+                    int argb = colores[cy * CELDAS + cx];
+                    g.setColor(paleta.computeIfAbsent(argb, c -> new Color(c, true)));
+                    g.fillRect(cx * TAMANO_CELDA, cy * TAMANO_CELDA, TAMANO_CELDA, TAMANO_CELDA);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return codificar(imagen);
+    }
+
+    /**
+     * Interpolación por distancia inversa ponderada (IDW) dentro del radio de influencia.
+     */
+    private int colorInterpolado(double lat, double lon, double[] latitudes, double[] longitudes,
+                                 double[] valores, int n) {
+        double sumaPesos = 0;
+        double sumaValores = 0;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        for (int i = 0; i < n; i++) {
+            double dy = (latitudes[i] - lat) * KM_POR_GRADO_LATITUD;
+            double dx = (longitudes[i] - lon) * KM_POR_GRADO_LONGITUD * cosLat;
+            double distancia2 = dx * dx + dy * dy;
+            if (distancia2 > radioInfluenciaKm * radioInfluenciaKm) {
+                continue;
+            }
+            if (distancia2 < 1e-4) {
+                sumaPesos = 1;
+                sumaValores = valores[i];
+                break;
+            }
+            double peso = 1.0 / distancia2;
+            sumaPesos += peso;
+            sumaValores += peso * valores[i];
+        }
+        if (sumaPesos == 0) {
+            return 0;
+        }
+        int aqi = (int) Math.round(sumaValores / sumaPesos);
+        return coloresAqi.computeIfAbsent(aqiCalculator.getColor(aqi), this::colorArgb);
+    }
+
+    private boolean hayEstacionCercana(double[] latitudes, double[] longitudes, int n,
+                                       double latSur, double latNorte, double lonOeste, double lonEste) {
+        for (int i = 0; i < n; i++) {
+            double lat = Math.max(latSur, Math.min(latNorte, latitudes[i]));
+            double lon = Math.max(lonOeste, Math.min(lonEste, longitudes[i]));
+            double dy = (latitudes[i] - lat) * KM_POR_GRADO_LATITUD;
+            double dx = (longitudes[i] - lon) * KM_POR_GRADO_LONGITUD * Math.cos(Math.toRadians(latitudes[i]));
+            if (dx * dx + dy * dy <= radioInfluenciaKm * radioInfluenciaKm) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int colorArgb(String hex) {
+        int alfa = (int) Math.round(Math.max(0, Math.min(1, opacidad)) * 255);
+        return (alfa << 24) | Integer.parseInt(hex.substring(1), 16);
+    }
+
+    private byte[] getTeselaVacia() {
+        byte[] vacia = teselaVacia;
+        if (vacia == null) {
+            vacia = codificarUniforme(0);
+            teselaVacia = vacia;
+        }
+        return vacia;
+    }
+
+    private byte[] codificarUniforme(int argb) {
+        BufferedImage imagen = new BufferedImage(TAMANO_TESELA, TAMANO_TESELA, BufferedImage.TYPE_INT_ARGB);
+        if (argb != 0) {
+            Graphics2D g = imagen.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setColor(new Color(argb, true));
+                g.fillRect(0, 0, TAMANO_TESELA, TAMANO_TESELA);
+            } finally {
+                g.dispose();
+            }
+        }
+        return codificar(imagen);
+    }
+
+    private byte[] codificar(BufferedImage imagen) {
+        ByteArrayOutputStream buffer = buffers.get();
+        buffer.reset();
+        try {
+            ImageIO.write(imagen, "png", buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error codificando tesela PNG", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static double teselaALongitud(double x, int z) {
+        return x / (1 << z) * 360.0 - 180.0;
+    }
+
+    private static double teselaALatitud(double y, int z) {
+        double n = Math.PI * (1 - 2 * y / (1 << z));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static double longitudATesela(double lon, int z) {
+        return (lon + 180.0) / 360.0 * (1 << z);
+    }
+
+    private static double latitudATesela(double lat, int z) {
+        double rad = Math.toRadians(lat);
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * (1 << z);
+    }
+}
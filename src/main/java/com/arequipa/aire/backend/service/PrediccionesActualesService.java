@@ -0,0 +1,122 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.entity.Prediccion;
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
+import com.arequipa.aire.backend.repository.PrediccionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene en memoria las predicciones vigentes (la más lejana completada de
+ * cada estación activa, con todos sus horizontes).
+ *
+ * Se carga en el calentamiento y se recarga con el TTL de predicciones.
+ */
+@Service
+public class PrediccionesActualesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrediccionesActualesService.class);
+
+    /**
+     * Copia inmutable de una predicción vigente.
+     */
+    public static class PrediccionActual {
+        private final Long estacionId;
+        private final String estacionNombre;
+        private final LocalDateTime fechaPrediccion;
+        private final Integer horizonteHoras;
+        private final Double pm25;
+        private final Double pm10;
+        private final Integer aqi;
+        private final String categoria;
+        private final Double confianza;
+
+        public PrediccionActual(Prediccion prediccion) {
+            this.estacionId = prediccion.getEstacion().getId();
+            this.estacionNombre = prediccion.getEstacion().getNombre();
+            this.fechaPrediccion = prediccion.getFechaPrediccion();
+            this.horizonteHoras = prediccion.getHorizonteHoras();
+            this.pm25 = prediccion.getPm25Predicho();
+            this.pm10 = prediccion.getPm10Predicho();
+            this.aqi = prediccion.getAqiPredicho();
+            this.categoria = prediccion.getCategoriaAqiPredicha();
+            this.confianza = prediccion.getConfianzaGlobal();
+        }
+
+        public Long getEstacionId() { return estacionId; }
+        public String getEstacionNombre() { return estacionNombre; }
+        public LocalDateTime getFechaPrediccion() { return fechaPrediccion; }
+        public Integer getHorizonteHoras() { return horizonteHoras; }
+        public Double getPm25() { return pm25; }
+        public Double getPm10() { return pm10; }
+        public Integer getAqi() { return aqi; }
+        public String getCategoria() { return categoria; }
+        public Double getConfianza() { return confianza; }
+    }
+
+    @Autowired
+    private PrediccionRepository prediccionRepository;
+
+    private volatile Map<Long, List<PrediccionActual>> predicciones = Map.of();
+
+    /**
+     * Devuelve las predicciones vigentes de todas las estaciones activas.
+     */
+    public List<PrediccionActual> getPredicciones() {
+        List<PrediccionActual> todas = new ArrayList<>();
+        predicciones.values().forEach(todas::addAll);
+        return todas;
+    }
+
+    /**
+     * Devuelve las predicciones vigentes de una estación, por horizonte.
+     */
+    public List<PrediccionActual> getPredicciones(Long estacionId) {
+        return predicciones.getOrDefault(estacionId, List.of());
+    }
+
+    /**
+     * Recarga las predicciones desde la base de datos.
+     */
+    public void recargar() {
+        List<Prediccion> filas = prediccionRepository.findPrediccionesParaMapa(LocalDateTime.now());
+        predicciones = filas.stream()
+                .map(PrediccionActual::new)
+                .sorted(Comparator.comparing(PrediccionActual::getHorizonteHoras,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.groupingBy(PrediccionActual::getEstacionId, Collectors.toUnmodifiableList()));
+        logger.info("Predicciones actuales recargadas: {} estaciones, {} predicciones", predicciones.size(), filas.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.ttl.predicciones:3600}",
+               initialDelayString = "${app.cache.ttl.predicciones:3600}", timeUnit = TimeUnit.SECONDS)
+    public void reconciliar() {
+        try {
+            recargar();
+        } catch (Exception e) {
+            logger.warn("No se pudo recargar las predicciones actuales: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onEstacionModificada(EstacionModificadaEvent event) {
+        if (!Boolean.TRUE.equals(event.getEstacion().getActiva()) && predicciones.containsKey(event.getEstacion().getId())) {
+            Map<Long, List<PrediccionActual>> copia = new HashMap<>(predicciones);
+            copia.remove(event.getEstacion().getId());
+            predicciones = Map.copyOf(copia);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.util.AQICalculator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recálculo del AQI guardado de las mediciones históricas.
+ *
+ * Las mediciones nuevas llegan con AQI, categoría, color y contaminante
+ * principal calculados en la ingesta; las anteriores pueden no tenerlos. Al
+ * arrancar, en segundo plano, se divide el rango de ids pendiente en bloques
+ * que se procesan en paralelo, cada uno en su transacción con un UPDATE por
+ * lotes. Solo se tocan filas sin contaminante principal, así que el trabajo se
+ * puede interrumpir y retomar, y nunca pisa una medición que la ingesta acaba
+ * de guardar.
+ */
+@Service
+public class RecalculoAqiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecalculoAqiService.class);
+
+    private static final String PENDIENTE = """
+        contaminante_principal IS NULL
+        AND (pm25 IS NOT NULL OR pm10 IS NOT NULL OR no2 IS NOT NULL OR o3 IS NOT NULL OR co IS NOT NULL OR so2 IS NOT NULL)
+        """;
+
+    private static final String RANGO = "SELECT MIN(id), MAX(id) FROM mediciones WHERE " + PENDIENTE;
+
+    private static final String SELECT_BLOQUE =
+            "SELECT id, pm25, pm10, no2, o3, co, so2 FROM mediciones WHERE id BETWEEN ? AND ? AND " + PENDIENTE;
+
+    private static final String UPDATE = """
+        UPDATE mediciones SET aqi = ?, categoria_aqi = ?, color_aqi = ?, contaminante_principal = ?
+        WHERE id = ? AND contaminante_principal IS NULL
+        """;
+
+    /**
+     * Fila pendiente con sus concentraciones.
+     */
+    private record Fila(long id, Double pm25, Double pm10, Double no2, Double o3, Double co, Double so2) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AQICalculator aqiCalculator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.aqi.recalculo.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.aqi.recalculo.tamano-bloque:10000}")
+    private int tamanoBloque;
+
+    @Value("${app.aqi.recalculo.hilos:0}")
+    private int hilos;
+
+    private Counter actualizadas;
+
+    @PostConstruct
+    public void init() {
+        actualizadas = Counter.builder("app.aqi.recalculo.filas")
+                .description("Mediciones históricas a las que se guardó el AQI")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        Thread thread = new Thread(this::recalcular, "recalculo-aqi");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Completa el AQI de todas las mediciones pendientes y devuelve cuántas se actualizaron.
+     */
+    public long recalcular() {
+        long[] rango;
+        try {
+            rango = jdbcTemplate.queryForObject(RANGO, (rs, i) -> {
+                long minimo = rs.getLong(1);
+                return rs.wasNull() ? null : new long[] {minimo, rs.getLong(2)};
+            });
+        } catch (Exception e) {
+            logger.warn("Recálculo de AQI: no se pudo obtener el rango pendiente: {}", e.getMessage());
+            return 0;
+        }
+        if (rango == null) {
+            logger.info("Recálculo de AQI: no hay mediciones pendientes");
+            return 0;
+        }
+
+        long inicio = System.nanoTime();
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(tamano, r -> {
+            Thread thread = new Thread(r, "recalculo-aqi-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Integer>> bloques = new ArrayList<>();
+        for (long desde = rango[0]; desde <= rango[1]; desde += tamanoBloque) {
+            long hasta = Math.min(rango[1], desde + tamanoBloque - 1);
+            long bloqueDesde = desde;
+            bloques.add(executor.submit(() -> recalcularBloque(bloqueDesde, hasta)));
+        }
+        logger.info("Recálculo de AQI iniciado: ids {} a {} en {} bloques con {} hilos",
+                rango[0], rango[1], bloques.size(), tamano);
+
+        long total = 0;
+        int fallidos = 0;
+        try {
+            for (Future<Integer> bloque : bloques) {
+                try {
+                    total += bloque.get();
+                } catch (ExecutionException e) {
+                    fallidos++;
+                    logger.warn("Recálculo de AQI: falló un bloque: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+        logger.info("Recálculo de AQI completado: {} mediciones en {} ms ({} bloques fallidos)",
+                total, (System.nanoTime() - inicio) / 1_000_000, fallidos);
+        return total;
+    }
+
+    private int recalcularBloque(long desde, long hasta) {
+        Integer filas = transactionTemplate.execute(status -> {
+            List<Fila> pendientes = jdbcTemplate.query(SELECT_BLOQUE, (rs, i) -> new Fila(rs.getLong("id"),
+                    leerDouble(rs, "pm25"), leerDouble(rs, "pm10"), leerDouble(rs, "no2"),
+                    leerDouble(rs, "o3"), leerDouble(rs, "co"), leerDouble(rs, "so2")), desde, hasta);
+            if (pendientes.isEmpty()) {
+                return 0;
+            }
+            int[][] resultados = jdbcTemplate.batchUpdate(UPDATE, pendientes, pendientes.size(), (ps, fila) -> {
+                AQICalculator.AQIInfo info = aqiCalculator.calcularAQI(
+                        fila.pm25(), fila.pm10(), fila.no2(), fila.o3(), fila.co(), fila.so2());
+                ps.setInt(1, info.getAqi());
+                ps.setString(2, info.getCategoria());
+                ps.setString(3, info.getColor());
+                ps.setObject(4, info.getContaminantePrincipal(), Types.VARCHAR);
+                ps.setLong(5, fila.id());
+            });
+            int actualizadasBloque = 0;
+            for (int[] lote : resultados) {
+                for (int filasLote : lote) {
+                    // Algunos drivers informan SUCCESS_NO_INFO en lugar de la cantidad
+                    actualizadasBloque += filasLote > 0 ? filasLote : filasLote == Statement.SUCCESS_NO_INFO ? 1 : 0;
+                }
+            }
+            return actualizadasBloque;
+        });
+        int resultado = filas != null ? filas : 0;
+        actualizadas.increment(resultado);
+        return resultado;
+    }
+
+    private static Double leerDouble(ResultSet rs, String columna) throws SQLException {
+        double valor = rs.getDouble(columna);
+        return rs.wasNull() ? null : valor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.arequipa.aire.backend.service;
+
+import com.arequipa.aire.backend.event.EstacionModificadaEvent;
+import com.arequipa.aire.backend.event.MedicionRegistradaEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión global de los datos de lectura pública.
+ *
+ * Aumenta con cada medición registrada y cada estación modificada; las cachés
+ * de respuestas la usan como parte de la clave, de modo que un cambio invalida
+ * todas las respuestas anteriores sin recorrerlas.
+ */
+@Service
+public class VersionDatosService {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @EventListener
+    public void onMedicionRegistrada(MedicionRegistradaEvent event) {
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onEstacionModificada(EstacionModificadaEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -1,5 +1,6 @@
 package com.arequipa.aire.backend.util;
 
+import com.arequipa.aire.backend.entity.Medicion;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,30 +17,44 @@ public class AQICalculator {
         private final String categoria;
         private final String color;
         private final String recomendacion;
+        private final String contaminantePrincipal;
 
         public AQIInfo(int aqi, String categoria, String color, String recomendacion) {
+            this(aqi, categoria, color, recomendacion, null);
+        }
+
+        public AQIInfo(int aqi, String categoria, String color, String recomendacion, String contaminantePrincipal) {
             this.aqi = aqi;
             this.categoria = categoria;
             this.color = color;
             this.recomendacion = recomendacion;
+            this.contaminantePrincipal = contaminantePrincipal;
         }
 
         public int getAqi() { return aqi; }
         public String getCategoria() { return categoria; }
         public String getColor() { return color; }
         public String getRecomendacion() { return recomendacion; }
+        public String getContaminantePrincipal() { return contaminantePrincipal; }
     }
 
     /**
      * Calcula el AQI basado en las concentraciones de contaminantes.
      */
     public AQIInfo calcularAQI(Double pm25, Double pm10, Double no2, Double o3, Double co) {
+        return calcularAQI(pm25, pm10, no2, o3, co, null);
+    }
+
+    /**
+     * Calcula el AQI basado en las concentraciones de contaminantes, incluido el SO₂.
+     */
+    public AQIInfo calcularAQI(Double pm25, Double pm10, Double no2, Double o3, Double co, Double so2) {
         int maxAqi = 0;
         String contaminantePrincipal = "";
 
         if (pm25 != null) {
             int aqiPm25 = calcularAQIPM25(pm25);
-            if (aqiPm25 > maxAqi) {
+            if (aqiPm25 > maxAqi || contaminantePrincipal.isEmpty()) {
                 maxAqi = aqiPm25;
                 contaminantePrincipal = "PM2.5";
             }
@@ -47,7 +62,7 @@ public class AQICalculator {
 
         if (pm10 != null) {
             int aqiPm10 = calcularAQIPM10(pm10);
-            if (aqiPm10 > maxAqi) {
+            if (aqiPm10 > maxAqi || contaminantePrincipal.isEmpty()) {
                 maxAqi = aqiPm10;
                 contaminantePrincipal = "PM10";
             }
@@ -55,7 +70,7 @@ public class AQICalculator {
 
         if (no2 != null) {
             int aqiNo2 = calcularAQINO2(no2);
-            if (aqiNo2 > maxAqi) {
+            if (aqiNo2 > maxAqi || contaminantePrincipal.isEmpty()) {
                 maxAqi = aqiNo2;
                 contaminantePrincipal = "NO₂";
             }
@@ -63,7 +78,7 @@ public class AQICalculator {
 
         if (o3 != null) {
             int aqiO3 = calcularAQIO3(o3);
-            if (aqiO3 > maxAqi) {
+            if (aqiO3 > maxAqi || contaminantePrincipal.isEmpty()) {
                 maxAqi = aqiO3;
                 contaminantePrincipal = "O₃";
             }
@@ -71,14 +86,80 @@ public class AQICalculator {
 
         if (co != null) {
             int aqiCo = calcularAQICO(co);
-            if (aqiCo > maxAqi) {
+            if (aqiCo > maxAqi || contaminantePrincipal.isEmpty()) {
                 maxAqi = aqiCo;
                 contaminantePrincipal = "CO";
             }
         }
 
+        if (so2 != null) {
+            int aqiSo2 = calcularAQISO2(so2);
+            if (aqiSo2 > maxAqi || contaminantePrincipal.isEmpty()) {
+                maxAqi = aqiSo2;
+                contaminantePrincipal = "SO₂";
+            }
+        }
+
         return new AQIInfo(maxAqi, getCategoria(maxAqi), getColor(maxAqi), 
-                          getRecomendacion(maxAqi, contaminantePrincipal));
+                          getRecomendacion(maxAqi, contaminantePrincipal),
+                          contaminantePrincipal.isEmpty() ? null : contaminantePrincipal);
+    }
+
+    /**
+     * Devuelve el AQI almacenado de una medición o lo calcula a partir de sus contaminantes.
+     */
+    public Integer calcularAQI(Medicion medicion) {
+        return calcularAQI(medicion.getAqi(), medicion.getPm25(), medicion.getPm10(), medicion.getNo2(),
+                medicion.getO3(), medicion.getCo(), medicion.getSo2());
+    }
+
+    /**
+     * Devuelve el AQI almacenado o, si falta, el calculado con las concentraciones; null sin contaminantes.
+     */
+    public Integer calcularAQI(Integer aqiGuardado, Double pm25, Double pm10, Double no2,
+                               Double o3, Double co, Double so2) {
+        if (aqiGuardado != null) {
+            return aqiGuardado;
+        }
+        if (pm25 == null && pm10 == null && no2 == null && o3 == null && co == null && so2 == null) {
+            return null;
+        }
+        return calcularAQI(pm25, pm10, no2, o3, co, so2).getAqi();
+    }
+
+    /**
+     * Devuelve la categoría almacenada o, si falta, la del AQI indicado; "Sin datos" sin AQI.
+     */
+    public String obtenerCategoria(String categoriaGuardada, Integer aqi) {
+        if (categoriaGuardada != null) {
+            return categoriaGuardada;
+        }
+        return aqi != null ? getCategoria(aqi) : "Sin datos";
+    }
+
+    /**
+     * Calcula y guarda en la medición el AQI, su categoría, su color y el
+     * contaminante principal; sin contaminantes los deja vacíos.
+     */
+    public void completar(Medicion medicion) {
+        if (!tieneContaminantes(medicion)) {
+            medicion.setAqi(null);
+            medicion.setCategoriaAqi(null);
+            medicion.setColorAqi(null);
+            medicion.setContaminantePrincipal(null);
+            return;
+        }
+        AQIInfo info = calcularAQI(medicion.getPm25(), medicion.getPm10(), medicion.getNo2(),
+                medicion.getO3(), medicion.getCo(), medicion.getSo2());
+        medicion.setAqi(info.getAqi());
+        medicion.setCategoriaAqi(info.getCategoria());
+        medicion.setColorAqi(info.getColor());
+        medicion.setContaminantePrincipal(info.getContaminantePrincipal());
+    }
+
+    private static boolean tieneContaminantes(Medicion medicion) {
+        return medicion.getPm25() != null || medicion.getPm10() != null || medicion.getNo2() != null
+                || medicion.getO3() != null || medicion.getCo() != null || medicion.getSo2() != null;
     }
 
     /**
@@ -150,6 +231,21 @@ public class AQICalculator {
         return calcularIndice(ppm, 301, 500, 30.5, 50.4);
     }
 
+    /**
+     * Calcula AQI para SO₂ (μg/m³), con los cortes de 1 hora.
+     */
+    private int calcularAQISO2(double concentracion) {
+        // Convertir de μg/m³ a ppb (aproximación: ppb = μg/m³ * 0.382)
+        double ppb = concentracion * 0.382;
+
+        if (ppb <= 35) return calcularIndice(ppb, 0, 50, 0, 35);
+        if (ppb <= 75) return calcularIndice(ppb, 51, 100, 36, 75);
+        if (ppb <= 185) return calcularIndice(ppb, 101, 150, 76, 185);
+        if (ppb <= 304) return calcularIndice(ppb, 151, 200, 186, 304);
+        if (ppb <= 604) return calcularIndice(ppb, 201, 300, 305, 604);
+        return calcularIndice(ppb, 301, 500, 605, 1004);
+    }
+
     /**
      * Fórmula para calcular el índice AQI.
      */
@@ -162,7 +258,7 @@ public class AQICalculator {
     /**
      * Obtiene la categoría basada en el valor AQI.
      */
-    private String getCategoria(int aqi) {
+    public String getCategoria(int aqi) {
         if (aqi <= 50) return "Buena";
         if (aqi <= 100) return "Moderada";
         if (aqi <= 150) return "Insalubre para grupos sensibles";
@@ -174,7 +270,7 @@ public class AQICalculator {
     /**
      * Obtiene el color asociado al AQI.
      */
-    private String getColor(int aqi) {
+    public String getColor(int aqi) {
         if (aqi <= 50) return "#00E400";      // Verde
         if (aqi <= 100) return "#FFFF00";     // Amarillo
         if (aqi <= 150) return "#FF7E00";     // Naranja
@@ -0,0 +1,334 @@
+package com.arequipa.aire.backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Bitácora de escritura anticipada en disco local.
+ *
+ * Los registros se agregan a segmentos {@code <secuencia>.wal} con el formato
+ * [largo][crc32][datos]; {@link #escribir(List)} escribe un lote y hace un solo
+ * fsync. El consumidor lee desde la última posición confirmada y, una vez que
+ * los registros están a salvo en otro lado, llama a {@link #confirmar(Posicion)}:
+ * la posición se guarda en {@code checkpoint} y se borran los segmentos ya
+ * consumidos. Cada apertura empieza un segmento nuevo, así que una cola
+ * incompleta por una caída queda al final de un segmento anterior y se salta.
+ * Tras crear un segmento o renombrar el checkpoint también se sincroniza el
+ * directorio, para que la entrada nueva sobreviva a una caída.
+ */
+public class BitacoraEscritura implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BitacoraEscritura.class);
+
+    private static final String EXTENSION = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int CABECERA = 8;
+    private static final int LARGO_MAXIMO = 1 << 20;
+
+    /**
+     * Posición en la bitácora: segmento y desplazamiento dentro de él.
+     */
+    public record Posicion(long segmento, long desplazamiento) implements Comparable<Posicion> {
+        @Override
+        public int compareTo(Posicion otra) {
+            int porSegmento = Long.compare(segmento, otra.segmento);
+            return porSegmento != 0 ? porSegmento : Long.compare(desplazamiento, otra.desplazamiento);
+        }
+    }
+
+    /**
+     * Registro leído y la posición siguiente a él.
+     */
+    public record Entrada(byte[] datos, Posicion fin) {}
+
+    private final Path directorio;
+    private final long tamanoSegmento;
+
+    private FileChannel canal;
+    private long segmentoActual;
+    private long desplazamientoActual;
+
+    private volatile Posicion finDurable;
+    private volatile Posicion confirmada;
+
+    private final Set<Long> segmentosSaltados = ConcurrentHashMap.newKeySet();
+
+    private boolean directorioSinSincronizar;
+
+    public BitacoraEscritura(Path directorio, long tamanoSegmento) throws IOException {
+        this.directorio = directorio;
+        this.tamanoSegmento = tamanoSegmento;
+        Files.createDirectories(directorio);
+        confirmada = leerCheckpoint();
+        TreeSet<Long> segmentos = segmentos();
+        for (Long segmento : List.copyOf(segmentos)) {
+            // Segmentos vacíos de arranques anteriores
+            if (Files.size(archivo(segmento)) == 0) {
+                Files.delete(archivo(segmento));
+                segmentos.remove(segmento);
+            }
+        }
+        long ultimo = segmentos.isEmpty() ? confirmada.segmento() : Math.max(segmentos.last(), confirmada.segmento());
+        abrirSegmento(ultimo + 1);
+        if (!segmentos.isEmpty() && segmentos.first() > confirmada.segmento()) {
+            confirmada = new Posicion(segmentos.first(), 0);
+        }
+    }
+
+    /**
+     * Agrega los registros al segmento actual y los fuerza a disco con un solo fsync.
+     */
+    public synchronized void escribir(List<byte[]> registros) throws IOException {
+        int total = 0;
+        for (byte[] datos : registros) {
+            if (datos.length > LARGO_MAXIMO) {
+                throw new IllegalArgumentException("Registro de bitácora demasiado grande: " + datos.length);
+            }
+            total += CABECERA + datos.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        CRC32 crc = new CRC32();
+        for (byte[] datos : registros) {
+            crc.reset();
+            crc.update(datos);
+            buffer.putInt(datos.length).putInt((int) crc.getValue()).put(datos);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        } catch (IOException e) {
+            descartarEscrituraFallida(e);
+            throw e;
+        }
+        desplazamientoActual += total;
+        finDurable = new Posicion(segmentoActual, desplazamientoActual);
+        if (desplazamientoActual >= tamanoSegmento) {
+            canal.close();
+            abrirSegmento(segmentoActual + 1);
+        }
+    }
+
+    /**
+     * Deja el segmento como estaba antes de un lote fallido, para que el
+     * siguiente no quede detrás de bytes a medias que el lector saltaría junto
+     * con él. Si no se puede truncar, continúa en un segmento nuevo: la cola a
+     * medias queda al final del anterior, después de todo lo confirmado.
+     */
+    private void descartarEscrituraFallida(IOException causa) {
+        try {
+            canal.truncate(desplazamientoActual);
+            canal.force(false);
+            return;
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+        }
+        try {
+            abrirSegmento(segmentoActual + 1);
+            logger.warn("Bitácora: no se pudo truncar el segmento {} tras un error de escritura; se continúa en el siguiente",
+                    segmentoActual - 1);
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Lee hasta {@code maximo} registros durables a partir de una posición.
+     */
+    public List<Entrada> leer(Posicion desde, int maximo) throws IOException {
+        List<Entrada> entradas = new ArrayList<>();
+        Posicion fin = finDurable;
+        long segmento = desde.segmento();
+        long desplazamiento = desde.desplazamiento();
+        while (entradas.size() < maximo && segmento <= fin.segmento()) {
+            Path archivo = archivo(segmento);
+            if (!Files.exists(archivo)) {
+                segmento = siguienteSegmento(segmento, fin.segmento());
+                desplazamiento = 0;
+                continue;
+            }
+            long limite = segmento == fin.segmento() ? fin.desplazamiento() : Files.size(archivo);
+            boolean completo = true;
+            try (FileChannel lectura = FileChannel.open(archivo, StandardOpenOption.READ)) {
+                ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+                while (entradas.size() < maximo && desplazamiento + CABECERA <= limite) {
+                    cabecera.clear();
+                    leerCompleto(lectura, cabecera, desplazamiento);
+                    cabecera.flip();
+                    int largo = cabecera.getInt();
+                    int crcEsperado = cabecera.getInt();
+                    if (largo < 0 || largo > LARGO_MAXIMO || desplazamiento + CABECERA + largo > limite) {
+                        completo = false;
+                        break;
+                    }
+                    ByteBuffer datos = ByteBuffer.allocate(largo);
+                    leerCompleto(lectura, datos, desplazamiento + CABECERA);
+                    CRC32 crc = new CRC32();
+                    crc.update(datos.array());
+                    if ((int) crc.getValue() != crcEsperado) {
+                        completo = false;
+                        break;
+                    }
+                    desplazamiento += CABECERA + largo;
+                    entradas.add(new Entrada(datos.array(), new Posicion(segmento, desplazamiento)));
+                }
+                if (entradas.size() >= maximo) {
+                    break;
+                }
+                completo &= desplazamiento == limite;
+            }
+            if (segmento == fin.segmento()) {
+                break;
+            }
+            if (!completo && segmentosSaltados.add(segmento)) {
+                logger.warn("Bitácora: cola incompleta en el segmento {} desde el byte {}; se salta", segmento, desplazamiento);
+            }
+            segmento = siguienteSegmento(segmento, fin.segmento());
+            desplazamiento = 0;
+        }
+        return entradas;
+    }
+
+    /**
+     * Guarda la posición hasta la que los registros ya se consumieron y borra los segmentos anteriores.
+     */
+    public synchronized void confirmar(Posicion posicion) throws IOException {
+        Path temporal = directorio.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(16).putLong(posicion.segmento()).putLong(posicion.desplazamiento());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                salida.write(buffer);
+            }
+            salida.force(true);
+        }
+        Files.move(temporal, directorio.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forzarDirectorio();
+        confirmada = posicion;
+        for (long segmento : segmentos()) {
+            if (segmento < posicion.segmento()) {
+                Files.deleteIfExists(archivo(segmento));
+            }
+        }
+    }
+
+    /**
+     * Última posición confirmada.
+     */
+    public Posicion getConfirmada() {
+        return confirmada;
+    }
+
+    /**
+     * Bytes escritos y todavía sin confirmar.
+     */
+    public long bytesPendientes() {
+        Posicion desde = confirmada;
+        Posicion fin = finDurable;
+        long total = 0;
+        try {
+            for (long segmento : segmentos()) {
+                if (segmento < desde.segmento() || segmento > fin.segmento()) {
+                    continue;
+                }
+                long tamano = segmento == fin.segmento() ? fin.desplazamiento() : Files.size(archivo(segmento));
+                total += tamano - (segmento == desde.segmento() ? desde.desplazamiento() : 0);
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return Math.max(0, total);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        canal.close();
+    }
+
+    private void abrirSegmento(long segmento) throws IOException {
+        canal = FileChannel.open(archivo(segmento), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forzarDirectorio();
+        segmentoActual = segmento;
+        desplazamientoActual = 0;
+        finDurable = new Posicion(segmento, 0);
+    }
+
+    /**
+     * Fuerza a disco la entrada de directorio de un segmento nuevo o del checkpoint renombrado.
+     */
+    private void forzarDirectorio() throws IOException {
+        try (FileChannel entradas = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            entradas.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows no permite abrir directorios; ahí el sistema de archivos ya registra la entrada
+            if (!directorioSinSincronizar) {
+                directorioSinSincronizar = true;
+                logger.warn("Bitácora: el sistema no permite sincronizar el directorio {}", directorio);
+            }
+        }
+    }
+
+    private Posicion leerCheckpoint() throws IOException {
+        Path archivo = directorio.resolve(CHECKPOINT);
+        if (!Files.exists(archivo)) {
+            return new Posicion(0, 0);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(archivo));
+        return new Posicion(buffer.getLong(), buffer.getLong());
+    }
+
+    private long siguienteSegmento(long segmento, long ultimo) throws IOException {
+        Long siguiente = segmentos().higher(segmento);
+        return siguiente != null ? siguiente : ultimo + 1;
+    }
+
+    private TreeSet<Long> segmentos() throws IOException {
+        TreeSet<Long> segmentos = new TreeSet<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.map(p -> p.getFileName().toString())
+                    .filter(nombre -> nombre.endsWith(EXTENSION))
+                    .forEach(nombre -> segmentos.add(Long.parseLong(nombre.substring(0, nombre.length() - EXTENSION.length()))));
+        }
+        return segmentos;
+    }
+
+    private Path archivo(long segmento) {
+        return directorio.resolve(String.format("%020d%s", segmento, EXTENSION));
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        long actual = posicion;
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, actual);
+            if (leidos < 0) {
+                throw new IOException("Fin de archivo inesperado en la bitácora");
+            }
+            actual += leidos;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.arequipa.aire.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Filtro de Bloom de claves {@code long} con dos generaciones.
+ *
+ * Las claves se agregan a la generación actual; cuando esta llega a su
+ * capacidad pasa a ser la anterior y se descarta la que había, así que el
+ * filtro recuerda entre una y dos capacidades de claves recientes con la
+ * probabilidad de falso positivo configurada. Un {@code false} de
+ * {@link #puedeContener(long)} es seguro; un {@code true} hay que verificarlo.
+ */
+public class FiltroBloom {
+
+    private final int capacidad;
+    private final int bits;
+    private final int funciones;
+
+    private long[] actual;
+    private long[] anterior;
+    private int agregadas;
+
+    public FiltroBloom(int capacidad, double probabilidadFalsoPositivo) {
+        if (capacidad <= 0 || probabilidadFalsoPositivo <= 0 || probabilidadFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidad o probabilidad de falso positivo inválida");
+        }
+        double ln2 = Math.log(2);
+        long tamano = (long) Math.ceil(-capacidad * Math.log(probabilidadFalsoPositivo) / (ln2 * ln2));
+        this.capacidad = capacidad;
+        this.bits = (int) Math.min(Math.max(tamano, 64), Integer.MAX_VALUE - 63);
+        this.funciones = Math.max(1, (int) Math.round((double) bits / capacidad * ln2));
+        this.actual = new long[(bits + 63) / 64];
+        this.anterior = new long[actual.length];
+    }
+
+    /**
+     * Agrega una clave a la generación actual, rotando si está llena.
+     */
+    public synchronized void agregar(long clave) {
+        if (agregadas >= capacidad) {
+            long[] libre = anterior;
+            Arrays.fill(libre, 0L);
+            anterior = actual;
+            actual = libre;
+            agregadas = 0;
+        }
+        long h = mezclar(clave);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < funciones; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            actual[bit >>> 6] |= 1L << bit;
+        }
+        agregadas++;
+    }
+
+    /**
+     * {@code false} si la clave seguro no se agregó desde las dos últimas rotaciones.
+     */
+    public synchronized boolean puedeContener(long clave) {
+        long h = mezclar(clave);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        return contiene(actual, h1, h2) || contiene(anterior, h1, h2);
+    }
+
+    /**
+     * Vacía ambas generaciones.
+     */
+    public synchronized void limpiar() {
+        Arrays.fill(actual, 0L);
+        Arrays.fill(anterior, 0L);
+        agregadas = 0;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getFunciones() {
+        return funciones;
+    }
+
+    private boolean contiene(long[] generacion, int h1, int h2) {
+        for (int i = 0; i < funciones; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((generacion[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finalizador de MurmurHash3 (fmix64).
+     */
+    private static long mezclar(long clave) {
+        long h = clave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
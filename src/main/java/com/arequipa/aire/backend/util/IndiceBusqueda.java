@@ -0,0 +1,217 @@
+package com.arequipa.aire.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de búsqueda inmutable en memoria para autocompletado.
+ *
+ * Combina un arreglo ordenado de palabras (búsqueda por prefijo con búsqueda
+ * binaria, equivalente a un trie compacto) y listas invertidas de trigramas
+ * para coincidencias por subcadena y aproximadas. Los textos se normalizan a
+ * minúsculas sin tildes, de modo que "yanahuara" encuentra "Yanahuara" y
+ * "jose luis" encuentra "José Luis".
+ */
+public final class IndiceBusqueda<T> {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Similitud mínima de trigramas (Jaccard) para una coincidencia aproximada.
+     */
+    private static final double SIMILITUD_MINIMA = 0.3;
+
+    private final List<T> elementos;
+    private final String[] textos;
+    private final String[] palabras;
+    private final int[][] elementosPorPalabra;
+    private final int[] trigramasPorPalabra;
+    private final Map<String, int[]> palabrasPorTrigrama;
+
+    /**
+     * Construye el índice sobre los textos que devuelve {@code textos} para cada elemento.
+     */
+    public IndiceBusqueda(List<T> elementos, Function<T, List<String>> textos) {
+        this.elementos = List.copyOf(elementos);
+        this.textos = new String[this.elementos.size()];
+
+        Map<String, Set<Integer>> palabrasTmp = new HashMap<>();
+        for (int i = 0; i < this.elementos.size(); i++) {
+            StringBuilder texto = new StringBuilder();
+            for (String campo : textos.apply(this.elementos.get(i))) {
+                String normalizado = normalizar(campo);
+                if (!normalizado.isEmpty()) {
+                    texto.append(texto.length() > 0 ? " " : "").append(normalizado);
+                }
+            }
+            this.textos[i] = texto.toString();
+            for (String palabra : palabras(this.textos[i])) {
+                palabrasTmp.computeIfAbsent(palabra, p -> new LinkedHashSet<>()).add(i);
+            }
+        }
+
+        this.palabras = palabrasTmp.keySet().toArray(new String[0]);
+        Arrays.sort(this.palabras);
+        this.elementosPorPalabra = new int[palabras.length][];
+        this.trigramasPorPalabra = new int[palabras.length];
+        Map<String, Set<Integer>> trigramasTmp = new HashMap<>();
+        for (int p = 0; p < palabras.length; p++) {
+            elementosPorPalabra[p] = aArreglo(palabrasTmp.get(palabras[p]));
+            Set<String> trigramas = trigramas(palabras[p]);
+            trigramasPorPalabra[p] = trigramas.size();
+            for (String trigrama : trigramas) {
+                trigramasTmp.computeIfAbsent(trigrama, t -> new LinkedHashSet<>()).add(p);
+            }
+        }
+        this.palabrasPorTrigrama = new HashMap<>(trigramasTmp.size() * 2);
+        trigramasTmp.forEach((trigrama, ids) -> palabrasPorTrigrama.put(trigrama, aArreglo(ids)));
+    }
+
+    /**
+     * Cantidad de elementos indexados.
+     */
+    public int size() {
+        return elementos.size();
+    }
+
+    /**
+     * Devuelve hasta {@code limite} elementos ordenados por relevancia.
+     *
+     * Orden: texto que empieza por la consulta, palabra que empieza por la
+     * consulta, subcadena y finalmente coincidencias aproximadas por trigramas.
+     */
+    public List<T> buscar(String consulta, int limite) {
+        String q = normalizar(consulta);
+        if (q.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        double[] puntajes = new double[elementos.size()];
+
+        String[] terminos = palabras(q);
+        String ultimo = terminos[terminos.length - 1];
+        int desde = Arrays.binarySearch(palabras, ultimo);
+        for (int p = desde >= 0 ? desde : -desde - 1; p < palabras.length && palabras[p].startsWith(ultimo); p++) {
+            for (int i : elementosPorPalabra[p]) {
+                if (puntajes[i] < 2 && contieneTerminos(textos[i], terminos)) {
+                    puntajes[i] = textos[i].startsWith(q) ? 3 : 2;
+                }
+            }
+        }
+
+        double[] aproximado = similitudAproximada(terminos);
+        for (int i = 0; i < puntajes.length; i++) {
+            if (puntajes[i] >= 2) {
+                continue;
+            }
+            if (textos[i].contains(q)) {
+                puntajes[i] = 1.5;
+            } else if (aproximado[i] >= SIMILITUD_MINIMA) {
+                puntajes[i] = aproximado[i];
+            }
+        }
+
+        List<Integer> candidatos = new ArrayList<>();
+        for (int i = 0; i < puntajes.length; i++) {
+            if (puntajes[i] > 0) {
+                candidatos.add(i);
+            }
+        }
+        candidatos.sort(Comparator.<Integer>comparingDouble(i -> -puntajes[i]).thenComparing(i -> textos[i]));
+        List<T> resultado = new ArrayList<>(Math.min(limite, candidatos.size()));
+        for (int k = 0; k < candidatos.size() && k < limite; k++) {
+            resultado.add(elementos.get(candidatos.get(k)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Similitud de cada elemento con la consulta: para cada término, la mejor
+     * similitud de trigramas con alguna palabra del elemento; el elemento toma
+     * la peor de ellas, así todos los términos deben parecerse a algo.
+     */
+    private double[] similitudAproximada(String[] terminos) {
+        double[] resultado = null;
+        int[] comunes = new int[palabras.length];
+        for (String termino : terminos) {
+            Set<String> trigramasTermino = trigramas(termino);
+            Arrays.fill(comunes, 0);
+            for (String trigrama : trigramasTermino) {
+                int[] ids = palabrasPorTrigrama.get(trigrama);
+                if (ids != null) {
+                    for (int p : ids) {
+                        comunes[p]++;
+                    }
+                }
+            }
+            double[] mejor = new double[elementos.size()];
+            for (int p = 0; p < palabras.length; p++) {
+                if (comunes[p] == 0) {
+                    continue;
+                }
+                double similitud = (double) comunes[p] / (trigramasTermino.size() + trigramasPorPalabra[p] - comunes[p]);
+                for (int i : elementosPorPalabra[p]) {
+                    mejor[i] = Math.max(mejor[i], similitud);
+                }
+            }
+            if (resultado == null) {
+                resultado = mejor;
+            } else {
+                for (int i = 0; i < resultado.length; i++) {
+                    resultado[i] = Math.min(resultado[i], mejor[i]);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Minúsculas, sin tildes y con separadores colapsados a un espacio.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(sinMarcas.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String[] palabras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    private static boolean contieneTerminos(String texto, String[] terminos) {
+        for (int t = 0; t < terminos.length - 1; t++) {
+            if (!texto.contains(terminos[t])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trigramas de una palabra con relleno, al estilo de pg_trgm ("  ab", " ab", "abc", "bc ").
+     */
+    private static Set<String> trigramas(String palabra) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        String rellena = "  " + palabra + " ";
+        for (int i = 0; i + 3 <= rellena.length(); i++) {
+            trigramas.add(rellena.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    private static int[] aArreglo(Set<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,28 @@
+package com.arequipa.aire.backend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Páginas de los endpoints paginados, con el tamaño acotado.
+ *
+ * Un {@code size} sin límite convierte una consulta paginada en una lectura
+ * completa de la tabla; se recorta a {@link #TAMANO_MAXIMO} y la página
+ * negativa se toma como la primera.
+ */
+public final class Paginacion {
+
+    public static final int TAMANO_MAXIMO = 100;
+
+    private Paginacion() {
+    }
+
+    public static Pageable de(int page, int size) {
+        return de(page, size, Sort.unsorted());
+    }
+
+    public static Pageable de(int page, int size, Sort sort) {
+        return PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), TAMANO_MAXIMO), sort);
+    }
+}
@@ -0,0 +1,131 @@
+package com.arequipa.aire.backend.util;
+
+/**
+ * Ventana deslizante de valores {@code double} con mediana y MAD.
+ *
+ * Los valores se guardan en un anillo preasignado y la mediana se calcula
+ * con selección rápida sobre un arreglo de trabajo también preasignado, así
+ * que agregar y consultar no crean objetos. Guarda además el último valor y
+ * su marca de tiempo para la verificación de tasa de cambio. No es segura
+ * entre hilos: el llamador sincroniza.
+ */
+public class VentanaRobusta {
+
+    private final double[] valores;
+    private final double[] trabajo;
+    private int cantidad;
+    private int siguiente;
+
+    private long ultimaMarca = Long.MIN_VALUE;
+    private double ultimoValor;
+
+    public VentanaRobusta(int tamano) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("Tamaño de ventana inválido: " + tamano);
+        }
+        this.valores = new double[tamano];
+        this.trabajo = new double[tamano];
+    }
+
+    /**
+     * Agrega un valor con su marca de tiempo (segundos), pisando el más antiguo si la ventana está llena.
+     */
+    public void agregar(double valor, long marca) {
+        valores[siguiente] = valor;
+        siguiente = siguiente + 1 == valores.length ? 0 : siguiente + 1;
+        if (cantidad < valores.length) {
+            cantidad++;
+        }
+        ultimoValor = valor;
+        ultimaMarca = marca;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Marca del último valor agregado; {@link Long#MIN_VALUE} si la ventana está vacía.
+     */
+    public long getUltimaMarca() {
+        return ultimaMarca;
+    }
+
+    public double getUltimoValor() {
+        return ultimoValor;
+    }
+
+    /**
+     * Mediana de los valores de la ventana; {@code NaN} si está vacía.
+     */
+    public double mediana() {
+        System.arraycopy(valores, 0, trabajo, 0, cantidad);
+        return mediana(trabajo, cantidad);
+    }
+
+    /**
+     * Mediana de las desviaciones absolutas respecto de {@code centro} (MAD).
+     */
+    public double desviacionMediana(double centro) {
+        for (int i = 0; i < cantidad; i++) {
+            trabajo[i] = Math.abs(valores[i] - centro);
+        }
+        return mediana(trabajo, cantidad);
+    }
+
+    /**
+     * Mediana de los primeros {@code n} elementos; los reordena.
+     */
+    public static double mediana(double[] datos, int n) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        int medio = n >>> 1;
+        double alto = seleccionar(datos, n, medio);
+        if ((n & 1) == 1) {
+            return alto;
+        }
+        // Tras la selección, los elementos anteriores a la posición media no son mayores
+        double bajo = datos[0];
+        for (int i = 1; i < medio; i++) {
+            bajo = Math.max(bajo, datos[i]);
+        }
+        return (bajo + alto) / 2;
+    }
+
+    /**
+     * Selección rápida (Hoare): deja en {@code datos[k]} el k-ésimo menor de los primeros {@code n}.
+     */
+    private static double seleccionar(double[] datos, int n, int k) {
+        int izquierda = 0;
+        int derecha = n - 1;
+        while (izquierda < derecha) {
+            double pivote = datos[(izquierda + derecha) >>> 1];
+            int i = izquierda;
+            int j = derecha;
+            while (i <= j) {
+                while (datos[i] < pivote) {
+                    i++;
+                }
+                while (datos[j] > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    double temporal = datos[i];
+                    datos[i] = datos[j];
+                    datos[j] = temporal;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                derecha = j;
+            } else if (k >= i) {
+                izquierda = i;
+            } else {
+                break;
+            }
+        }
+        return datos[k];
+    }
+}
@@ -0,0 +1,17 @@
+-- Índice de trigramas para la búsqueda de usuarios (solo PostgreSQL).
+--
+-- La aplicación no ejecuta este script: lo aplica quien administra la base,
+-- con un rol que pueda crear extensiones, y fuera de una transacción porque
+-- CREATE INDEX CONCURRENTLY no admite una (psql en modo autocommit):
+--
+--   psql "$DB_URL" -f src/main/resources/db/busqueda-usuarios-trgm.sql
+--
+-- CONCURRENTLY construye el índice sin bloquear escrituras en usuarios. Si se
+-- interrumpe deja un índice INVALID: hay que borrarlo y volver a ejecutar.
+-- Al arrancar, BusquedaService usa los trigramas si encuentra la extensión;
+-- sin ella la búsqueda cae a un LIKE limitado.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_usuario_busqueda_trgm ON usuarios
+    USING gin (lower(username || ' ' || coalesce(nombre_completo, '')) gin_trgm_ops);